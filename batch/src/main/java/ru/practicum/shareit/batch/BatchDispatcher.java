@@ -0,0 +1,126 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.batch.servlet.BatchSubRequest;
+import ru.practicum.shareit.batch.servlet.BatchSubResponse;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Выполняет подзапросы пакета через контроллеры своего приложения (servlet forward), без сетевых вызовов.
+ * Идущие подряд GET-подзапросы независимы и выполняются параллельно на executor; изменяющий подзапрос
+ * дожидается всех предыдущих и сам выполняется до начала следующих, так что порядок записей сохраняется.
+ * Forward из других потоков безопасен, пока поток /batch ждет результатов: исходный запрос остается активным,
+ * а {@link BatchSubRequest} и {@link BatchSubResponse} у каждого подзапроса свои, поверх объектов контейнера.
+ */
+@Slf4j
+public class BatchDispatcher {
+
+    private final BatchValidator validator;
+
+    private final ObjectMapper mapper;
+
+    private final Function<String, Object> errorBody;
+
+    private final Executor executor;
+
+    /**
+     * @param errorBody тело ответа об ошибке подзапроса в формате обработчика ошибок приложения.
+     * @param executor  пул для параллельных GET-подзапросов; при переполнении он должен выполнять задачу
+     *                  в вызывающем потоке, а не отклонять ее.
+     */
+    public BatchDispatcher(BatchProperties properties, ObjectMapper mapper, Function<String, Object> errorBody,
+                           Executor executor) {
+        this.validator = new BatchValidator(properties);
+        this.mapper = mapper;
+        this.errorBody = errorBody;
+        this.executor = executor;
+    }
+
+    public List<BatchResponseDto> execute(List<BatchRequestDto> requests,
+                                          HttpServletRequest request,
+                                          HttpServletResponse response) {
+        validator.validate(requests);
+        // Параметры исходного запроса разбираются лениво; разбираем их до того, как к нему обратятся несколько потоков.
+        request.getParameterMap();
+
+        BatchResponseDto[] results = new BatchResponseDto[requests.size()];
+        List<CompletableFuture<Void>> reads = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BatchRequestDto sub = requests.get(i);
+            int index = i;
+            if (HttpMethod.GET.matches(sub.getMethod().toUpperCase())) {
+                reads.add(CompletableFuture.runAsync(() -> results[index] = dispatch(sub, request, response), executor));
+            } else {
+                awaitAll(reads);
+                results[index] = dispatch(sub, request, response);
+            }
+        }
+        awaitAll(reads);
+        return Arrays.asList(results);
+    }
+
+    private void awaitAll(List<CompletableFuture<Void>> futures) {
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        futures.clear();
+    }
+
+    private BatchResponseDto dispatch(BatchRequestDto sub, HttpServletRequest request, HttpServletResponse response) {
+        try {
+            byte[] body = sub.getBody() == null || sub.getBody().isNull()
+                    ? null : mapper.writeValueAsBytes(sub.getBody());
+            BatchSubRequest subRequest = new BatchSubRequest(request, sub.getMethod().toUpperCase(), body);
+            BatchSubResponse subResponse = new BatchSubResponse(response);
+            RequestDispatcher dispatcher = request.getServletContext().getRequestDispatcher(sub.getPath());
+            if (dispatcher == null) {
+                return error(HttpStatus.NOT_FOUND, String.format("Path %s was not found!", sub.getPath()));
+            }
+            dispatcher.forward(subRequest, subResponse);
+            return new BatchResponseDto(subResponse.getStatus(), toJson(subResponse));
+        } catch (ServletException | IOException | RuntimeException ex) {
+            log.info("[BATCH ERROR]: {} {} - {}", sub.getMethod(), sub.getPath(), ex.getMessage());
+            return error(HttpStatus.INTERNAL_SERVER_ERROR, "Произошла не предвиденная ошибка. " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Тело JSON-ответа контроллера вставляется в результат как есть, остальное — как JSON-строка.
+     */
+    private String toJson(BatchSubResponse subResponse) throws JsonProcessingException {
+        byte[] content = subResponse.getContentAsByteArray();
+        if (content.length == 0) {
+            return null;
+        }
+        String text = new String(content, subResponse.getCharset());
+        String contentType = subResponse.getContentType();
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return text;
+        }
+        return mapper.writeValueAsString(text);
+    }
+
+    private BatchResponseDto error(HttpStatus status, String message) {
+        try {
+            return new BatchResponseDto(status.value(), mapper.writeValueAsString(errorBody.apply(message)));
+        } catch (JsonProcessingException ex) {
+            return new BatchResponseDto(status.value(), null);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Настройки эндпоинта POST /batch. Каждый модуль связывает их со своим префиксом свойств.
+ */
+@Getter
+@Setter
+public class BatchProperties {
+
+    /**
+     * Максимальное число подзапросов в одном пакете.
+     */
+    private int maxSize = 20;
+
+    /**
+     * Сколько GET-подзапросов одного пакета и всех пакетов вместе выполняются параллельно.
+     * Используется там, где пакет выполняется ({@link BatchDispatcher}).
+     */
+    private int parallelism = 8;
+
+    /**
+     * Длина очереди подзапросов; при переполнении подзапрос выполняется в потоке самого пакета.
+     */
+    private int queueCapacity = 100;
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Проверка пакета до выполнения: размер, методы и пути подзапросов.
+ */
+@RequiredArgsConstructor
+public class BatchValidator {
+
+    private static final String BATCH_PATH = "/batch";
+
+    private static final Set<HttpMethod> SUPPORTED_METHODS =
+            Set.of(HttpMethod.GET, HttpMethod.POST, HttpMethod.PATCH, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final BatchProperties properties;
+
+    public void validate(List<BatchRequestDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidBatchException("Batch must contain at least one request.");
+        }
+        if (requests.size() > properties.getMaxSize()) {
+            throw new InvalidBatchException(String.format("Batch must not contain more than %d requests.",
+                    properties.getMaxSize()));
+        }
+        for (BatchRequestDto sub : requests) {
+            HttpMethod method = sub.getMethod() == null ? null : HttpMethod.resolve(sub.getMethod().toUpperCase());
+            if (method == null || !SUPPORTED_METHODS.contains(method)) {
+                throw new InvalidBatchException(String.format("Unsupported batch method: %s.", sub.getMethod()));
+            }
+            String path = sub.getPath();
+            if (path == null || !path.startsWith("/") || path.equals(BATCH_PATH) || path.startsWith(BATCH_PATH + "?")
+                    || path.startsWith(BATCH_PATH + "/")) {
+                throw new InvalidBatchException(String.format("Invalid batch path: %s.", path));
+            }
+        }
+    }
+
+    /**
+     * Пакет только из GET-подзапросов ничего не меняет.
+     */
+    public static boolean isReadOnly(List<BatchRequestDto> requests) {
+        return requests.stream().allMatch(sub -> HttpMethod.GET.matches(sub.getMethod().toUpperCase()));
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.batch;
+
+/**
+ * Пакет отклоняется целиком, ни один подзапрос не выполняется.
+ */
+public class InvalidBatchException extends RuntimeException {
+
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Один подзапрос пакета: метод, путь (вместе с query-строкой) и необязательное тело.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchRequestDto {
+
+    private String method;
+
+    private String path;
+
+    private JsonNode body;
+}
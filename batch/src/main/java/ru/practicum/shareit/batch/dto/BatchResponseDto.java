@@ -0,0 +1,20 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат одного подзапроса пакета. Тело ответа контроллера вставляется в JSON как есть.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResponseDto {
+
+    private int status;
+
+    @JsonRawValue
+    private String body;
+}
@@ -0,0 +1,201 @@
+package ru.practicum.shareit.batch.servlet;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Подзапрос пакета поверх исходного запроса /batch.
+ * Заголовки берутся из исходного запроса, а метод, тело и атрибуты у каждого подзапроса свои:
+ * подзапрос не должен видеть атрибуты, оставленные предыдущими.
+ * Путь и параметры подставляет контейнер при forward: Tomcat (ApplicationDispatcher.wrapRequest) вставляет
+ * их под самую внутреннюю обертку цепочки. Поэтому подзапрос оборачивает сам запрос контейнера, а не обертки
+ * фильтров исходного запроса, которые относятся к /batch целиком.
+ * Accept-Encoding скрыт: тело подответа встраивается в общий JSON и должно остаться несжатым.
+ */
+public class BatchSubRequest extends HttpServletRequestWrapper {
+
+    private final String method;
+
+    private final byte[] body;
+
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    private final Set<String> removedAttributes = new HashSet<>();
+
+    public BatchSubRequest(HttpServletRequest request, String method, @Nullable byte[] body) {
+        super(unwrap(request));
+        this.method = method;
+        this.body = body;
+    }
+
+    private static HttpServletRequest unwrap(HttpServletRequest request) {
+        HttpServletRequest unwrapped = request;
+        while (unwrapped instanceof HttpServletRequestWrapper) {
+            unwrapped = (HttpServletRequest) ((HttpServletRequestWrapper) unwrapped).getRequest();
+        }
+        return unwrapped;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getContentType() {
+        return body == null ? null : MediaType.APPLICATION_JSON_VALUE;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public int getContentLength() {
+        return body == null ? 0 : body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return getContentLength();
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            return getContentType();
+        }
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            return body == null ? null : String.valueOf(body.length);
+        }
+        if (HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(name)) {
+            return null;
+        }
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                || HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(name)) {
+            String value = getHeader(name);
+            return value == null ? Collections.emptyEnumeration() : Collections.enumeration(Set.of(value));
+        }
+        return super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (Enumeration<String> e = super.getHeaderNames(); e.hasMoreElements(); ) {
+            String name = e.nextElement();
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                    && !HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(name)) {
+                names.add(name);
+            }
+        }
+        if (body != null) {
+            names.add(HttpHeaders.CONTENT_TYPE);
+            names.add(HttpHeaders.CONTENT_LENGTH);
+        }
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body == null ? new byte[0] : body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Отметки once-per-request фильтров исходного запроса подзапросу не видны:
+     * для фильтров каждый подзапрос — отдельный запрос.
+     */
+    @Override
+    public Object getAttribute(String name) {
+        if (attributes.containsKey(name)) {
+            return attributes.get(name);
+        }
+        if (removedAttributes.contains(name) || name.endsWith(OncePerRequestFilter.ALREADY_FILTERED_SUFFIX)) {
+            return null;
+        }
+        return super.getAttribute(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (Enumeration<String> e = super.getAttributeNames(); e.hasMoreElements(); ) {
+            names.add(e.nextElement());
+        }
+        names.removeIf(name -> removedAttributes.contains(name)
+                || name.endsWith(OncePerRequestFilter.ALREADY_FILTERED_SUFFIX));
+        names.addAll(attributes.keySet());
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            removeAttribute(name);
+            return;
+        }
+        removedAttributes.remove(name);
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+        removedAttributes.add(name);
+    }
+}
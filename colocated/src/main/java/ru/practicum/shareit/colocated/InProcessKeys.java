@@ -0,0 +1,45 @@
+package ru.practicum.shareit.colocated;
+
+/**
+ * Ключи Map запроса и ответа при вызове shareit-server в процессе gateway.
+ * Запрос: {@link #OPERATION} - {@link InProcessOperation#name()}, {@link #USER_ID}, {@link #BODY} (JSON в byte[])
+ * и аргументы операции. Ответ: {@link #STATUS}, {@link #HEADERS} и {@link #BODY}.
+ */
+public final class InProcessKeys {
+
+    /**
+     * Класс сервера, который gateway загружает через отражение.
+     */
+    public static final String ENDPOINT_CLASS = "ru.practicum.shareit.colocated.InProcessEndpoint";
+
+    public static final String OPERATION = "operation";
+
+    public static final String USER_ID = "userId";
+
+    public static final String BODY = "body";
+
+    public static final String STATUS = "status";
+
+    public static final String HEADERS = "headers";
+
+    public static final String ITEM_ID = "itemId";
+
+    public static final String REQUEST_ID = "requestId";
+
+    public static final String BOOKING_ID = "bookingId";
+
+    public static final String APPROVED = "approved";
+
+    public static final String TEXT = "text";
+
+    public static final String STATE = "state";
+
+    public static final String FROM = "from";
+
+    public static final String SIZE = "size";
+
+    public static final String CURSOR = "cursor";
+
+    private InProcessKeys() {
+    }
+}
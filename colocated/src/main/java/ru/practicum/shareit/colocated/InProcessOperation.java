@@ -0,0 +1,33 @@
+package ru.practicum.shareit.colocated;
+
+/**
+ * Операции shareit-server, которые gateway вызывает в том же процессе (профиль colocated):
+ * по одной на метод *Operations gateway. Через границу загрузчиков классов передается {@link #name()},
+ * у gateway и сервера свои копии этого enum.
+ */
+public enum InProcessOperation {
+
+    CREATE_USER,
+    UPDATE_USER,
+    GET_USER_BY_ID,
+    GET_ALL_USERS,
+    DELETE_USER,
+
+    ADD_NEW_ITEM,
+    ADD_NEW_COMMENT,
+    UPDATE_ITEM,
+    GET_ITEM_BY_ID,
+    GET_ITEM_BY_SEARCH,
+    GET_ITEM_BY_USER_ID,
+
+    CREATE_ITEM_REQUEST,
+    GET_ITEM_REQUEST_BY_OWNER_ID,
+    GET_ALL_ITEM_REQUESTS,
+    GET_ITEM_REQUEST_BY_ID,
+
+    BOOK_ITEM,
+    GET_BOOKING,
+    APPROVE,
+    GET_BOOKINGS,
+    GET_BOOKINGS_BY_OWNER
+}
@@ -1,23 +1,51 @@
 package ru.practicum.shareit.base_client;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
-
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Основа клиентов shareit-server. Без разбора проходят только ответы: байты тела и заголовки
+ * из {@link #PASSTHROUGH_HEADERS} отдаются клиенту как есть.
+ * Тела запросов так не передаются. Тело клиента Spring MVC разбирает в DTO gateway ради валидации,
+ * а RestTemplate заново сериализует DTO в JSON. DTO отбрасывают поля, которые сервер получать не должен,
+ * поэтому сырые байты клиента не пересылаются. Отсюда ограничения для запросов:
+ * двоичный формат (shareit-server.wire-format) получается перекодированием уже сериализованного JSON,
+ * а тело запроса к серверу никогда не сжимается. Gzip передается без распаковки только в ответах.
+ */
 public abstract class BaseClient {
 
+    private static final List<String> PASSTHROUGH_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.VARY, HttpHeaders.ETAG, ClientHeaders.IDEMPOTENT_REPLAYED);
+
     protected final RestTemplate rest;
 
+    private final List<String> passthroughHeaders;
+
     protected BaseClient(RestTemplate rest) {
+        this(rest, List.of());
+    }
+
+    /**
+     * @param resourceHeaders заголовки ответа, которые кроме общих передаются клиенту только для этого ресурса.
+     */
+    protected BaseClient(RestTemplate rest, List<String> resourceHeaders) {
         this.rest = rest;
+        this.passthroughHeaders = passthroughHeaders(resourceHeaders);
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -29,7 +57,16 @@ public abstract class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, true);
+    }
+
+    /**
+     * GET для ответов, которые кладутся в кэш gateway: If-None-Match клиента не пересылается,
+     * чтобы в кэш попал полный ответ. Условный запрос затем проверяет Spring MVC по ETag
+     * закэшированного ответа и отвечает 304 без обращения к shareit-server.
+     */
+    protected ResponseEntity<Object> getUnconditional(String path, @Nullable Long userId) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, null, null, false);
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -72,8 +109,8 @@ public abstract class BaseClient {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected void delete(String path) {
-        delete(path, null, null);
+    protected ResponseEntity<Object> delete(String path) {
+        return delete(path, null, null);
     }
 
     protected ResponseEntity<Object> delete(String path, long userId) {
@@ -85,40 +122,102 @@ public abstract class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return makeAndSendRequest(method, path, userId, parameters, body, false);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, boolean conditional) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (conditional) {
+            String ifNoneMatch = inboundIfNoneMatch();
+            if (ifNoneMatch != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+        }
+        if (method == HttpMethod.POST) {
+            String idempotencyKey = inboundHeader(ClientHeaders.IDEMPOTENCY_KEY);
+            if (idempotencyKey != null) {
+                headers.set(ClientHeaders.IDEMPOTENCY_KEY, idempotencyKey);
+            }
+        }
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray(),
+                    passthroughHeaders);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return prepareGatewayResponse(
+                shareitServerResponse.getStatusCode(),
+                shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody(),
+                passthroughHeaders);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    /**
+     * If-None-Match запроса, который сейчас обрабатывает gateway: shareit-server сравнит его
+     * со своим ETag и при совпадении ответит 304, который уходит клиенту без изменений.
+     */
+    @Nullable
+    static String inboundIfNoneMatch() {
+        return inboundHeader(HttpHeaders.IF_NONE_MATCH);
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    @Nullable
+    static String inboundHeader(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getHeader(name);
+        }
+        return null;
+    }
+
+    /**
+     * Общие заголовки ответа, которые описывают само тело, и заголовки ресурса.
+     */
+    static List<String> passthroughHeaders(List<String> resourceHeaders) {
+        List<String> headers = new ArrayList<>(PASSTHROUGH_HEADERS);
+        headers.addAll(resourceHeaders);
+        return Collections.unmodifiableList(headers);
+    }
+
+    /**
+     * Ответ сервера отдается клиенту как есть: тело в виде байтов без разбора JSON и без распаковки gzip
+     * и только заголовки из passthroughHeaders.
+     */
+    static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status,
+                                                         @Nullable HttpHeaders serverHeaders,
+                                                         @Nullable byte[] body,
+                                                         List<String> passthroughHeaders) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+
+        if (serverHeaders != null) {
+            for (String header : passthroughHeaders) {
+                List<String> values = serverHeaders.get(header);
+                if (values != null) {
+                    responseBuilder.header(header, values.toArray(new String[0]));
+                }
+            }
+        }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.base_client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Полностью прочитанный ответ сервера. Тело хранится в памяти, поэтому один и тот же ответ
+ * можно безопасно отдать нескольким потребителям.
+ */
+public class BufferedClientHttpResponse implements ClientHttpResponse {
+
+    private final int rawStatusCode;
+
+    private final String statusText;
+
+    private final HttpHeaders headers;
+
+    private final byte[] body;
+
+    private BufferedClientHttpResponse(int rawStatusCode, String statusText, HttpHeaders headers, byte[] body) {
+        this.rawStatusCode = rawStatusCode;
+        this.statusText = statusText;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Читает ответ целиком и закрывает исходное соединение.
+     */
+    public static BufferedClientHttpResponse of(ClientHttpResponse response) throws IOException {
+        try (response) {
+            return new BufferedClientHttpResponse(
+                    response.getRawStatusCode(),
+                    response.getStatusText(),
+                    HttpHeaders.readOnlyHttpHeaders(response.getHeaders()),
+                    StreamUtils.copyToByteArray(response.getBody()));
+        }
+    }
+
+    /**
+     * Ответ, тело которого уже прочитано, например из WebClient.
+     */
+    public static BufferedClientHttpResponse of(int rawStatusCode, HttpHeaders headers, byte[] body) {
+        HttpStatus status = HttpStatus.resolve(rawStatusCode);
+        return new BufferedClientHttpResponse(rawStatusCode, status != null ? status.getReasonPhrase() : "",
+                HttpHeaders.readOnlyHttpHeaders(headers), body);
+    }
+
+    /**
+     * Копия ответа с дополнительным заголовком; тело не копируется.
+     */
+    public BufferedClientHttpResponse withHeader(String name, String value) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        copy.set(name, value);
+        return with(copy, body);
+    }
+
+    /**
+     * Ответ с тем же статусом, но другими заголовками и телом.
+     */
+    public BufferedClientHttpResponse with(HttpHeaders headers, byte[] body) {
+        return new BufferedClientHttpResponse(rawStatusCode, statusText, HttpHeaders.readOnlyHttpHeaders(headers), body);
+    }
+
+    public byte[] getBodyAsByteArray() {
+        return body;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return HttpStatus.valueOf(rawStatusCode);
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return rawStatusCode;
+    }
+
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.base_client;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Нестандартные заголовки, общие для всех клиентов shareit-server. Заголовки отдельного ресурса
+ * объявляет его клиент и передает в конструктор {@link BaseClient} или {@link ReactiveBaseClient}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ClientHeaders {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /**
+     * Помечает ответ, который отдан из хранилища идемпотентности, а не выполнен заново.
+     */
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.base_client;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Порядок перехватчиков RestTemplate клиентов shareit-server: чем меньше значение,
+ * тем раньше перехватчик видит запрос. Метрики Spring Boot всегда стоят первыми.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ClientInterceptorOrder {
+
+    public static final int DEADLINE = 50;
+
+    /**
+     * Повтор по Idempotency-Key отвечает раньше circuit breaker и не расходует его разрешения.
+     */
+    public static final int IDEMPOTENCY = 75;
+
+    /**
+     * Схлопывание раньше circuit breaker и bulkhead: разрешение берет только ведущий запрос,
+     * который действительно идет к shareit-server, а ожидающие его ответа permit не занимают.
+     */
+    public static final int SINGLE_FLIGHT = 100;
+
+    public static final int RESILIENCE = 200;
+
+    /**
+     * Зеркалирование видит только запросы, дошедшие до shareit-server, и сравнивает ответы уже в JSON.
+     */
+    public static final int SHADOW = 800;
+
+    /**
+     * Перекодирование тел в двоичный формат и обратно: внешние перехватчики видят только JSON.
+     */
+    public static final int WIRE_FORMAT = 900;
+
+    /**
+     * Выбор экземпляра shareit-server всегда последний: перед ним запрос уже прошел все проверки.
+     */
+    public static final int ROUTING = 1000;
+}
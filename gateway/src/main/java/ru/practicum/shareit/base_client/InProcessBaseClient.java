@@ -0,0 +1,72 @@
+package ru.practicum.shareit.base_client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.base_client.colocated.ColocatedServer;
+import ru.practicum.shareit.colocated.InProcessKeys;
+import ru.practicum.shareit.colocated.InProcessOperation;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Аналог {@link BaseClient} для профиля colocated: shareit-server работает в том же процессе
+ * ({@link ColocatedServer}), и вызов выполняют его сервисы, без HTTP. Тело запроса так же сериализуется
+ * из DTO gateway в JSON, ответ отдается клиенту как есть и с теми же заголовками, что у {@link BaseClient}.
+ * Перехватчики RestTemplate (кэш, идемпотентность, circuit breaker, маршрутизация) к этим вызовам
+ * не применяются: у них нет сетевого перехода, который они защищают.
+ */
+public abstract class InProcessBaseClient {
+
+    private final ColocatedServer server;
+
+    private final ObjectMapper mapper;
+
+    private final List<String> passthroughHeaders;
+
+    protected InProcessBaseClient(ColocatedServer server, ObjectMapper mapper) {
+        this(server, mapper, List.of());
+    }
+
+    /**
+     * @param resourceHeaders заголовки ответа, которые кроме общих передаются клиенту только для этого ресурса.
+     */
+    protected InProcessBaseClient(ColocatedServer server, ObjectMapper mapper, List<String> resourceHeaders) {
+        this.server = server;
+        this.mapper = mapper;
+        this.passthroughHeaders = BaseClient.passthroughHeaders(resourceHeaders);
+    }
+
+    protected ResponseEntity<Object> call(InProcessOperation operation, @Nullable Long userId) {
+        return call(operation, userId, Map.of(), null);
+    }
+
+    protected ResponseEntity<Object> call(InProcessOperation operation, @Nullable Long userId, Map<String, Object> arguments) {
+        return call(operation, userId, arguments, null);
+    }
+
+    /**
+     * @param arguments аргументы операции по ключам {@link InProcessKeys}.
+     */
+    protected ResponseEntity<Object> call(InProcessOperation operation, @Nullable Long userId, Map<String, Object> arguments,
+                                          @Nullable Object body) {
+        BufferedClientHttpResponse response = server.call(operation, userId, arguments, serialize(body));
+        return BaseClient.prepareGatewayResponse(response.getStatusCode(), response.getHeaders(),
+                response.getBodyAsByteArray(), passthroughHeaders);
+    }
+
+    @Nullable
+    private byte[] serialize(@Nullable Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return mapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.base_client;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.base_client.idempotency.IdempotencyExchangeFilter;
+
+/**
+ * Неблокирующий аналог {@link BaseClient}: запрос к shareit-server не занимает поток Tomcat,
+ * а ответ возвращается как {@link Mono}. Используется при shareit-gateway.mode=reactive.
+ * Заголовки запроса к серверу и ответа клиенту те же, что у {@link BaseClient}.
+ */
+public abstract class ReactiveBaseClient {
+
+    protected final WebClient webClient;
+
+    private final List<String> passthroughHeaders;
+
+    protected ReactiveBaseClient(WebClient webClient) {
+        this(webClient, List.of());
+    }
+
+    /**
+     * @param resourceHeaders заголовки ответа, которые кроме общих передаются клиенту только для этого ресурса.
+     */
+    protected ReactiveBaseClient(WebClient webClient, List<String> resourceHeaders) {
+        this.webClient = webClient;
+        this.passthroughHeaders = BaseClient.passthroughHeaders(resourceHeaders);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return post(path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return post(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return patch(path, null, null, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> patch(String path, long userId, @Nullable Map<String, Object> parameters) {
+        return patch(path, userId, parameters, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return delete(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> defaultHeaders(headers, userId));
+        if (method == HttpMethod.GET) {
+            String ifNoneMatch = BaseClient.inboundIfNoneMatch();
+            if (ifNoneMatch != null) {
+                request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            }
+        }
+        if (method == HttpMethod.POST) {
+            String idempotencyKey = BaseClient.inboundHeader(ClientHeaders.IDEMPOTENCY_KEY);
+            if (idempotencyKey != null) {
+                request.header(ClientHeaders.IDEMPOTENCY_KEY, idempotencyKey);
+                if (body != null) {
+                    request.attribute(IdempotencyExchangeFilter.BODY_ATTRIBUTE, body);
+                }
+            }
+        }
+
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(this::prepareGatewayResponse);
+    }
+
+    private static void defaultHeaders(HttpHeaders headers, Long userId) {
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    private Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        return response.toEntity(byte[].class)
+                .map(entity -> BaseClient.prepareGatewayResponse(
+                        entity.getStatusCode(),
+                        entity.getHeaders(),
+                        entity.getBody(),
+                        passthroughHeaders));
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.base_client.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AsyncClientProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "async")
+public class AsyncClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public ClientExecutors clientExecutors(AsyncClientProperties properties, MeterRegistry meterRegistry) {
+        return new ClientExecutors(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.base_client.async;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Пулы потоков, на которых в режиме shareit-gateway.mode=async выполняются запросы к shareit-server.
+ * У каждого клиента (bookings, items, users, requests) свой пул, поэтому медленный сервис
+ * не занимает потоки остальных.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.async")
+public class AsyncClientProperties {
+
+    private Map<String, Pool> executors = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        /**
+         * Число потоков пула. ThreadPoolExecutor добавляет потоки сверх core-size только при заполненной
+         * очереди, поэтому отдельный max-size при очереди в сотни запросов почти не срабатывает:
+         * пул сразу создается нужного размера, а простаивающие потоки завершаются через keep-alive.
+         */
+        private int size = 32;
+
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        /**
+         * Сколько запросов может ждать свободного потока; сверх этого запрос отклоняется с 503.
+         */
+        private int queueCapacity = 200;
+    }
+}
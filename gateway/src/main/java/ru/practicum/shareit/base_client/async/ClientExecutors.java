@@ -0,0 +1,85 @@
+package ru.practicum.shareit.base_client.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Выполняет вызовы клиентов shareit-server на пуле потоков клиента, освобождая поток Tomcat
+ * на время ожидания ответа. Атрибуты текущего запроса и MDC переносятся в поток пула,
+ * поэтому BaseClient видит заголовки входящего запроса так же, как в блокирующем режиме.
+ * Состояние пулов публикуется метриками executor.* с тегом name=gateway-client-{клиент}:
+ * executor.queued — глубина очереди, executor.active — занятые потоки.
+ */
+public class ClientExecutors implements AutoCloseable {
+
+    private final Map<String, ThreadPoolTaskExecutor> executors = new HashMap<>();
+
+    public ClientExecutors(AsyncClientProperties properties, MeterRegistry meterRegistry) {
+        properties.getExecutors().forEach((client, pool) -> {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setThreadNamePrefix(client + "-client-");
+            executor.setCorePoolSize(pool.getSize());
+            executor.setMaxPoolSize(pool.getSize());
+            executor.setKeepAliveSeconds((int) pool.getKeepAlive().toSeconds());
+            executor.setAllowCoreThreadTimeOut(true);
+            executor.setQueueCapacity(pool.getQueueCapacity());
+            executor.setTaskDecorator(ClientExecutors::withRequestContext);
+            executor.initialize();
+            new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "gateway-client-" + client, Tags.empty())
+                    .bindTo(meterRegistry);
+            executors.put(client, executor);
+        });
+    }
+
+    /**
+     * Запускает вызов клиента на его пуле. Если очередь пула заполнена, бросает
+     * TaskRejectedException, которую ErrorHandler превращает в 503.
+     */
+    public <T> CompletableFuture<T> supply(String client, Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executorFor(client));
+    }
+
+    public CompletableFuture<Void> run(String client, Runnable call) {
+        return CompletableFuture.runAsync(call, executorFor(client));
+    }
+
+    @Override
+    public void close() {
+        executors.values().forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    private ThreadPoolTaskExecutor executorFor(String client) {
+        ThreadPoolTaskExecutor executor = executors.get(client);
+        if (executor == null) {
+            throw new IllegalStateException("No executor configured for client " + client);
+        }
+        return executor;
+    }
+
+    private static Runnable withRequestContext(Runnable task) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return () -> {
+            RequestContextHolder.setRequestAttributes(attributes);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                task.run();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+                MDC.clear();
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.base_client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш успешных GET-ответов shareit-server с ключом (ресурс, X-Sharer-User-Id).
+ * Все изменения проходят через тот же gateway, поэтому клиенты сбрасывают
+ * затронутые ресурсы сразу после записи. Hit/miss/eviction публикуются как метрики cache.*.
+ */
+public class ResponseCache {
+
+    private final boolean enabled;
+
+    private final Cache<Key, ResponseEntity<Object>> cache;
+
+    /**
+     * Увеличивается при каждом сбросе. Ответ, загруженный во время сброса, в кэш не попадает,
+     * иначе GET, начатый до записи, мог бы сохранить устаревшие данные.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "shareit-server.responses");
+    }
+
+    public ResponseEntity<Object> get(String resource, @Nullable Long userId, Supplier<ResponseEntity<Object>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Key key = new Key(resource, userId);
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadedAt = generation.get();
+        ResponseEntity<Object> response = loader.get();
+        if (response.getStatusCode().is2xxSuccessful() && generation.get() == loadedAt) {
+            cache.put(key, response);
+            if (generation.get() != loadedAt) {
+                cache.asMap().remove(key, response);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Сбрасывает ответы по ресурсу для всех пользователей, например "/items/1".
+     */
+    public void evict(String resource) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.getResource().equals(resource));
+    }
+
+    /**
+     * Сбрасывает все ресурсы с указанным префиксом, например "/items/".
+     */
+    public void evictAll(String resourcePrefix) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.getResource().startsWith(resourcePrefix));
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Value
+    private static class Key {
+
+        String resource;
+
+        Long userId;
+    }
+}
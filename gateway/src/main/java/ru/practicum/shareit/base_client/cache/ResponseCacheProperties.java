@@ -0,0 +1,28 @@
+package ru.practicum.shareit.base_client.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша GET-ответов shareit-server в gateway.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Сколько ответ живет в кэше после записи.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Максимальное число закэшированных ответов.
+     */
+    private long maxSize = 10_000;
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.base_client.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import ru.practicum.shareit.base_client.ClientInterceptorOrder;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.single-flight.enabled", havingValue = "true", matchIfMissing = true)
+public class SingleFlightConfig {
+
+    @Bean
+    @Order(ClientInterceptorOrder.SINGLE_FLIGHT)
+    public RestTemplateCustomizer singleFlightCustomizer(MeterRegistry meterRegistry) {
+        SingleFlightInterceptor interceptor = new SingleFlightInterceptor(meterRegistry);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+}
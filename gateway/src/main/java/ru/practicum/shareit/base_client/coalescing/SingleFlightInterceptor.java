@@ -0,0 +1,85 @@
+package ru.practicum.shareit.base_client.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.base_client.BufferedClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Схлопывает одинаковые одновременные GET-запросы (URI с параметрами, X-Sharer-User-Id и If-None-Match)
+ * в один запрос к shareit-server: первый поток выполняет запрос, остальные ждут его ответ.
+ */
+public class SingleFlightInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ConcurrentMap<String, CompletableFuture<BufferedClientHttpResponse>> inFlight =
+            new ConcurrentHashMap<>();
+
+    private final Counter executed;
+
+    private final Counter coalesced;
+
+    public SingleFlightInterceptor(MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("gateway.singleflight.requests")
+                .description("GET requests sent to shareit-server by the single-flight leader")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("gateway.singleflight.requests")
+                .description("GET requests answered by an identical in-flight request")
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        String key = request.getURI() + "|" + request.getHeaders().getFirst("X-Sharer-User-Id")
+                + "|" + request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        CompletableFuture<BufferedClientHttpResponse> call = new CompletableFuture<>();
+        CompletableFuture<BufferedClientHttpResponse> leaderCall = inFlight.putIfAbsent(key, call);
+        if (leaderCall != null) {
+            coalesced.increment();
+            return await(leaderCall);
+        }
+
+        executed.increment();
+        try {
+            BufferedClientHttpResponse response = BufferedClientHttpResponse.of(execution.execute(request, body));
+            call.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static ClientHttpResponse await(CompletableFuture<BufferedClientHttpResponse> call) throws IOException {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
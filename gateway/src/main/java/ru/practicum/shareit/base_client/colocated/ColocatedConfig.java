@@ -0,0 +1,22 @@
+package ru.practicum.shareit.base_client.colocated;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Профиль colocated: клиенты InProcess* вызывают сервисы shareit-server в том же процессе вместо HTTP.
+ * Работает в режимах blocking и async: реактивные клиенты обращаются к серверу по HTTP, а POST /batch
+ * в этом профиле недоступен (подзапросы пакета сервер выполняет через servlet forward).
+ */
+@Configuration
+@Profile("colocated")
+@EnableConfigurationProperties(ColocatedProperties.class)
+public class ColocatedConfig {
+
+    @Bean(destroyMethod = "close")
+    public ColocatedServer colocatedServer(ColocatedProperties properties) {
+        return ColocatedServer.start(properties);
+    }
+}
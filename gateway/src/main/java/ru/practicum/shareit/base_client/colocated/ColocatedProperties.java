@@ -0,0 +1,27 @@
+package ru.practicum.shareit.base_client.colocated;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * shareit-server в процессе gateway (профиль colocated).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.colocated")
+public class ColocatedProperties {
+
+    /**
+     * Исполняемый jar shareit-server (spring-boot-maven-plugin repackage).
+     */
+    private String serverJar;
+
+    /**
+     * Аргументы командной строки сервера, например --spring.datasource.url=jdbc:postgresql://db:5432/shareit.
+     */
+    private List<String> serverArgs = new ArrayList<>();
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.base_client.colocated;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.loader.LaunchedURLClassLoader;
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.JarFileArchive;
+import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.base_client.BufferedClientHttpResponse;
+import ru.practicum.shareit.colocated.InProcessKeys;
+import ru.practicum.shareit.colocated.InProcessOperation;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * shareit-server, запущенный в процессе gateway. Сервер загружается из своего исполняемого jar в отдельном
+ * загрузчике классов: у gateway и сервера есть разные классы с одинаковыми именами, поэтому общими остаются
+ * только классы JDK. Вызовы передаются в ru.practicum.shareit.colocated.InProcessEndpoint сервера:
+ * запрос и ответ - Map, тела - JSON в byte[]; операции и ключи общие с сервером ({@link InProcessOperation},
+ * {@link InProcessKeys}).
+ */
+@Slf4j
+public class ColocatedServer implements Closeable {
+
+    private static final String BOOT_INF = "BOOT-INF/";
+
+    private final Function<Map<String, Object>, Map<String, Object>> endpoint;
+
+    private final Closeable[] resources;
+
+    ColocatedServer(Function<Map<String, Object>, Map<String, Object>> endpoint, Closeable... resources) {
+        this.endpoint = endpoint;
+        this.resources = resources;
+    }
+
+    /**
+     * Загружает сервер из properties.serverJar и запускает его без веб-сервера.
+     */
+    public static ColocatedServer start(ColocatedProperties properties) {
+        if (properties.getServerJar() == null) {
+            throw new IllegalStateException("shareit-gateway.colocated.server-jar is not set.");
+        }
+        File jar = new File(properties.getServerJar());
+        log.info("[COLOCATED]: starting shareit-server from {}", jar.getAbsolutePath());
+        JarFile.registerUrlProtocolHandler();
+        JarFileArchive archive;
+        try {
+            archive = new JarFileArchive(jar);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open shareit-server jar " + jar + ": " + e.getMessage(), e);
+        }
+        URL[] classpath;
+        try {
+            classpath = classpath(archive);
+        } catch (IOException e) {
+            closeQuietly(archive::close);
+            throw new IllegalStateException("Cannot read shareit-server jar " + jar + ": " + e.getMessage(), e);
+        }
+        try {
+            return start(classpath, properties.getServerArgs(), archive::close);
+        } catch (RuntimeException e) {
+            closeQuietly(archive::close);
+            throw e;
+        }
+    }
+
+    /**
+     * Запускает сервер из классов classpath в отдельном загрузчике.
+     * @param resources закрываются вместе с сервером.
+     */
+    @SuppressWarnings("unchecked")
+    static ColocatedServer start(URL[] classpath, List<String> args, Closeable... resources) {
+        LaunchedURLClassLoader classLoader = new LaunchedURLClassLoader(classpath, ClassLoader.getPlatformClassLoader());
+        Thread thread = Thread.currentThread();
+        ClassLoader gatewayClassLoader = thread.getContextClassLoader();
+        try {
+            thread.setContextClassLoader(classLoader);
+            Object endpoint = classLoader.loadClass(InProcessKeys.ENDPOINT_CLASS)
+                    .getMethod("start", String[].class)
+                    .invoke(null, (Object) args.toArray(new String[0]));
+            Closeable[] all = new Closeable[resources.length + 2];
+            all[0] = (Closeable) endpoint;
+            all[1] = classLoader;
+            System.arraycopy(resources, 0, all, 2, resources.length);
+            return new ColocatedServer((Function<Map<String, Object>, Map<String, Object>>) endpoint, all);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            closeQuietly(classLoader);
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            throw new IllegalStateException("shareit-server failed to start in process: " + cause.getMessage(), cause);
+        } finally {
+            thread.setContextClassLoader(gatewayClassLoader);
+        }
+    }
+
+    /**
+     * Выполняет операцию сервера.
+     * @param arguments аргументы операции по ключам {@link InProcessKeys}.
+     */
+    @SuppressWarnings("unchecked")
+    public BufferedClientHttpResponse call(InProcessOperation operation, @Nullable Long userId,
+                                           Map<String, Object> arguments, @Nullable byte[] body) {
+        Map<String, Object> request = new HashMap<>(arguments);
+        request.put(InProcessKeys.OPERATION, operation.name());
+        request.put(InProcessKeys.USER_ID, userId);
+        request.put(InProcessKeys.BODY, body);
+
+        Map<String, Object> response = endpoint.apply(request);
+        HttpHeaders headers = new HttpHeaders();
+        ((Map<String, List<String>>) response.get(InProcessKeys.HEADERS)).forEach(headers::addAll);
+        byte[] responseBody = (byte[]) response.get(InProcessKeys.BODY);
+        return BufferedClientHttpResponse.of((Integer) response.get(InProcessKeys.STATUS), headers,
+                responseBody != null ? responseBody : new byte[0]);
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(resources);
+    }
+
+    /**
+     * Те же BOOT-INF/classes и BOOT-INF/lib/*.jar, что собирает JarLauncher.
+     */
+    private static URL[] classpath(JarFileArchive archive) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        Iterator<Archive> nested = archive.getNestedArchives(
+                entry -> entry.getName().startsWith(BOOT_INF),
+                entry -> entry.isDirectory()
+                        ? entry.getName().equals(BOOT_INF + "classes/")
+                        : entry.getName().startsWith(BOOT_INF + "lib/"));
+        while (nested.hasNext()) {
+            urls.add(nested.next().getUrl());
+        }
+        return urls.toArray(new URL[0]);
+    }
+
+    /**
+     * Закрывает все ресурсы, даже если какой-то из них закрыть не удалось.
+     */
+    private static void closeQuietly(Closeable... resources) {
+        for (Closeable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (IOException e) {
+                log.warn("[COLOCATED]: failed to close {}: {}", resource, e.getMessage());
+            }
+        }
+    }
+}
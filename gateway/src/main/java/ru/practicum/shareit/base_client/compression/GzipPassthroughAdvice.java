@@ -0,0 +1,90 @@
+package ru.practicum.shareit.base_client.compression;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Gateway запрашивает у shareit-server gzip и хранит ответы сжатыми (в том числе в кэше и хранилище
+ * идемпотентности), а клиенту отдает их без повторного сжатия. Распаковка нужна только клиентам,
+ * которые не указали gzip в Accept-Encoding.
+ */
+@ControllerAdvice
+public class GzipPassthroughAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String GZIP = "gzip";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return ByteArrayHttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        if (!(body instanceof byte[]) || !GZIP.equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING))
+                || acceptsGzip(request.getHeaders().get(HttpHeaders.ACCEPT_ENCODING))) {
+            return body;
+        }
+        headers.remove(HttpHeaders.CONTENT_ENCODING);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream((byte[]) body))) {
+            return StreamUtils.copyToByteArray(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static boolean acceptsGzip(List<String> acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String header : acceptEncoding) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim();
+                if (!GZIP.equalsIgnoreCase(name) && !"*".equals(name)) {
+                    continue;
+                }
+                boolean rejected = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        rejected = !isPositiveQuality(parameter.substring(2));
+                    }
+                }
+                if (!rejected) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Нечитаемый q считается отказом от кодирования: распаковать ответ дешевле, чем отдать gzip
+     * клиенту, который его, возможно, не понимает.
+     */
+    private static boolean isPositiveQuality(String quality) {
+        try {
+            return Double.parseDouble(quality.trim()) > 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.base_client.deadline;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import ru.practicum.shareit.base_client.ClientInterceptorOrder;
+
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.deadline.enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig {
+
+    @Bean
+    public RouteDeadlines routeDeadlines(DeadlineProperties properties) {
+        return new RouteDeadlines(properties);
+    }
+
+    @Bean
+    @Order(ClientInterceptorOrder.DEADLINE)
+    public RestTemplateCustomizer deadlineCustomizer(RouteDeadlines routeDeadlines) {
+        DeadlineInterceptor interceptor = new DeadlineInterceptor(routeDeadlines);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @Order(ClientInterceptorOrder.DEADLINE)
+    public WebClientCustomizer deadlineWebClientCustomizer(RouteDeadlines routeDeadlines) {
+        DeadlineExchangeFilter filter = new DeadlineExchangeFilter(routeDeadlines);
+        return builder -> builder.filter(filter);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.base_client.deadline;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * То же, что {@link DeadlineInterceptor}, для WebClient реактивного режима:
+ * заголовок с таймаутом и отмена запроса, если ответ не пришел вовремя.
+ */
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+
+    private final RouteDeadlines routeDeadlines;
+
+    public DeadlineExchangeFilter(RouteDeadlines routeDeadlines) {
+        this.routeDeadlines = routeDeadlines;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Duration timeout = routeDeadlines.timeoutFor(request.method(), request.url());
+        ClientRequest withDeadline = ClientRequest.from(request)
+                .header(DeadlineInterceptor.TIMEOUT_HEADER, String.valueOf(timeout.toMillis()))
+                .build();
+        return next.exchange(withDeadline).timeout(timeout);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.base_client.deadline;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Сообщает shareit-server, сколько миллисекунд gateway готов ждать ответа.
+ * Сам таймаут чтения для маршрута выставляет фабрика запросов (см. HttpClientConfig):
+ * после него gateway закрывает соединение, а сервер по заголовку прекращает работу с БД.
+ */
+public class DeadlineInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final RouteDeadlines routeDeadlines;
+
+    public DeadlineInterceptor(RouteDeadlines routeDeadlines) {
+        this.routeDeadlines = routeDeadlines;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long timeoutMillis = routeDeadlines.timeoutFor(request.getMethod(), request.getURI()).toMillis();
+        request.getHeaders().set(TIMEOUT_HEADER, String.valueOf(timeoutMillis));
+        return execution.execute(request, body);
+    }
+}
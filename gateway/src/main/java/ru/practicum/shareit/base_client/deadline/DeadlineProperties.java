@@ -0,0 +1,49 @@
+package ru.practicum.shareit.base_client.deadline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сколько gateway ждет ответа shareit-server на разных маршрутах.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Таймаут для запросов, не попавших ни в один маршрут.
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Маршруты проверяются по порядку, запрос получает таймаут первого подходящего.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+
+        private String name;
+
+        /**
+         * Ant-шаблоны путей shareit-server, например /items/search или /bookings/**.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * HTTP-метод маршрута; если не задан, подходит любой.
+         */
+        private String method;
+
+        private Duration timeout;
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.base_client.deadline;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Определяет таймаут запроса к shareit-server по его методу и пути.
+ */
+public class RouteDeadlines {
+
+    private final DeadlineProperties properties;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    public RouteDeadlines(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    public Duration timeoutFor(HttpMethod method, URI uri) {
+        for (DeadlineProperties.Route route : properties.getRoutes()) {
+            if (route.getMethod() != null && !route.getMethod().equalsIgnoreCase(method.name())) {
+                continue;
+            }
+            for (String path : route.getPaths()) {
+                if (pathMatcher.match(path, uri.getPath())) {
+                    return route.getTimeout();
+                }
+            }
+        }
+        return properties.getDefaultTimeout();
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.base_client.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import ru.practicum.shareit.base_client.ClientInterceptorOrder;
+
+/**
+ * Оба режима клиентов, RestTemplate (blocking, async) и WebClient (reactive), хранят ответы в одном
+ * {@link IdempotencyStore}.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        return new IdempotencyStore(properties, meterRegistry);
+    }
+
+    @Bean
+    @Order(ClientInterceptorOrder.IDEMPOTENCY)
+    public RestTemplateCustomizer idempotencyCustomizer(IdempotencyStore idempotencyStore) {
+        IdempotencyInterceptor interceptor = new IdempotencyInterceptor(idempotencyStore);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @Order(ClientInterceptorOrder.IDEMPOTENCY)
+    public WebClientCustomizer idempotencyWebClientCustomizer(IdempotencyStore idempotencyStore,
+                                                              ObjectMapper objectMapper) {
+        IdempotencyExchangeFilter filter = new IdempotencyExchangeFilter(idempotencyStore, objectMapper);
+        return builder -> builder.filter(filter);
+    }
+}
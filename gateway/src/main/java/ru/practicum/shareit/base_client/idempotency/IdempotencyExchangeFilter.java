@@ -0,0 +1,86 @@
+package ru.practicum.shareit.base_client.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.base_client.BufferedClientHttpResponse;
+import ru.practicum.shareit.base_client.ClientHeaders;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+
+/**
+ * То же, что {@link IdempotencyInterceptor}, для WebClient реактивного режима и с тем же {@link IdempotencyStore}.
+ * Тело запроса WebClient сериализует только при отправке, поэтому отпечаток считается по объекту тела,
+ * который {@link ru.practicum.shareit.base_client.ReactiveBaseClient} кладет в атрибут {@link #BODY_ATTRIBUTE},
+ * тем же ObjectMapper. Повторы ждут первый ответ без блокировки потока.
+ */
+public class IdempotencyExchangeFilter implements ExchangeFilterFunction {
+
+    public static final String BODY_ATTRIBUTE = IdempotencyExchangeFilter.class.getName() + ".body";
+
+    private static final byte[] NO_BODY = new byte[0];
+
+    private final IdempotencyStore store;
+
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyExchangeFilter(IdempotencyStore store, ObjectMapper objectMapper) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            IdempotencyStore.Attempt attempt = store.attempt(request.method(), request.url().getPath(),
+                    request.headers().getFirst(ClientHeaders.IDEMPOTENCY_KEY),
+                    request.headers().getFirst("X-Sharer-User-Id"), body(request));
+            if (attempt == null) {
+                return next.exchange(request);
+            }
+            if (attempt.isReplay()) {
+                return Mono.fromFuture(attempt.response())
+                        .map(response -> toClientResponse(
+                                response.withHeader(ClientHeaders.IDEMPOTENT_REPLAYED, "true")));
+            }
+
+            return next.exchange(request)
+                    .flatMap(response -> response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(NO_BODY)
+                            .map(body -> BufferedClientHttpResponse.of(response.rawStatusCode(),
+                                    response.headers().asHttpHeaders(), body)))
+                    .doOnNext(attempt::complete)
+                    .doOnError(attempt::fail)
+                    .doOnCancel(() -> attempt.fail(new CancellationException("Idempotent request was cancelled.")))
+                    .map(IdempotencyExchangeFilter::toClientResponse);
+        });
+    }
+
+    private byte[] body(ClientRequest request) {
+        Object body = request.attribute(BODY_ATTRIBUTE).orElse(null);
+        if (body == null) {
+            return NO_BODY;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ClientResponse toClientResponse(BufferedClientHttpResponse response) {
+        return ClientResponse.create(HttpStatus.OK)
+                .rawStatusCode(response.getRawStatusCode())
+                .headers(headers -> headers.addAll(response.getHeaders()))
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(response.getBodyAsByteArray())))
+                .build();
+    }
+}
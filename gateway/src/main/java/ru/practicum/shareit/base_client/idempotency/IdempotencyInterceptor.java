@@ -0,0 +1,64 @@
+package ru.practicum.shareit.base_client.idempotency;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.base_client.BufferedClientHttpResponse;
+import ru.practicum.shareit.base_client.ClientHeaders;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Выполняет POST с заголовком Idempotency-Key не более одного раза. Первый ответ shareit-server
+ * сохраняется в {@link IdempotencyStore} и возвращается на повторы с тем же ключом,
+ * пользователем и телом без обращения к серверу. Одновременные повторы ждут результат первого запроса.
+ */
+public class IdempotencyInterceptor implements ClientHttpRequestInterceptor {
+
+    private final IdempotencyStore store;
+
+    public IdempotencyInterceptor(IdempotencyStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        IdempotencyStore.Attempt attempt = store.attempt(request.getMethod(), request.getURI().getPath(),
+                request.getHeaders().getFirst(ClientHeaders.IDEMPOTENCY_KEY),
+                request.getHeaders().getFirst("X-Sharer-User-Id"), body);
+        if (attempt == null) {
+            return execution.execute(request, body);
+        }
+        if (attempt.isReplay()) {
+            return await(attempt.response()).withHeader(ClientHeaders.IDEMPOTENT_REPLAYED, "true");
+        }
+
+        try {
+            BufferedClientHttpResponse response = BufferedClientHttpResponse.of(execution.execute(request, body));
+            attempt.complete(response);
+            return response;
+        } catch (IOException | RuntimeException e) {
+            attempt.fail(e);
+            throw e;
+        }
+    }
+
+    private static BufferedClientHttpResponse await(CompletableFuture<BufferedClientHttpResponse> response)
+            throws IOException {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
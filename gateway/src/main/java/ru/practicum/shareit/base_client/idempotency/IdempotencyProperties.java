@@ -0,0 +1,34 @@
+package ru.practicum.shareit.base_client.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Настройки повторов POST-запросов с заголовком Idempotency-Key.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Пути shareit-server, для которых POST с Idempotency-Key выполняется не более одного раза.
+     */
+    private List<String> paths = List.of("/bookings", "/items");
+
+    /**
+     * Сколько ответ хранится для повторов после первого выполнения.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Максимальное число хранимых ответов, при превышении вытесняются самые старые.
+     */
+    private long maxSize = 100_000;
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.base_client.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.base_client.BufferedClientHttpResponse;
+import ru.practicum.shareit.base_client.ClientHeaders;
+import ru.practicum.shareit.exceptions.IdempotencyKeyReusedException;
+import ru.practicum.shareit.exceptions.InvalidDataException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Первые ответы на POST с заголовком Idempotency-Key, общие для {@link IdempotencyInterceptor}
+ * (RestTemplate) и {@link IdempotencyExchangeFilter} (WebClient). Ответ хранится в памяти gateway
+ * (ограниченный размер, TTL) по ключу, пользователю и пути вместе с отпечатком тела запроса.
+ * Ответы 5xx и ошибки не сохраняются: следующий повтор выполнится заново.
+ */
+public class IdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final List<String> paths;
+
+    private final Cache<Key, Execution> executions;
+
+    private final Counter executed;
+
+    private final Counter replayed;
+
+    public IdempotencyStore(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.paths = properties.getPaths();
+        this.executions = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, executions, "shareit-server.idempotency");
+        this.executed = Counter.builder("gateway.idempotency.requests")
+                .description("Requests with an Idempotency-Key sent to shareit-server")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.replayed = Counter.builder("gateway.idempotency.requests")
+                .description("Requests with an Idempotency-Key answered with a stored or in-flight response")
+                .tag("outcome", "replayed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Начинает выполнение запроса или находит уже начатое с тем же ключом.
+     *
+     * @return null, если запрос выполняется без учета идемпотентности: не POST, нет ключа или путь не настроен.
+     */
+    @Nullable
+    Attempt attempt(HttpMethod method, String path, @Nullable String idempotencyKey, @Nullable String userId,
+                    byte[] body) {
+        if (method != HttpMethod.POST || idempotencyKey == null || !matches(path)) {
+            return null;
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidDataException(
+                    ClientHeaders.IDEMPOTENCY_KEY + " must contain 1 to " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        Key key = new Key(idempotencyKey, userId, path);
+        Execution current = new Execution(DigestUtils.md5DigestAsHex(body));
+        Execution first = executions.asMap().putIfAbsent(key, current);
+        if (first == null) {
+            executed.increment();
+            return new Attempt(key, current, false);
+        }
+        if (!first.getFingerprint().equals(current.getFingerprint())) {
+            throw new IdempotencyKeyReusedException(ClientHeaders.IDEMPOTENCY_KEY + " " + idempotencyKey
+                    + " was already used with a different request body.");
+        }
+        replayed.increment();
+        return new Attempt(key, first, true);
+    }
+
+    private boolean matches(String path) {
+        return paths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    /**
+     * Выполнение запроса с ключом: первое, результат которого надо сохранить, или повтор, который его ждет.
+     */
+    final class Attempt {
+
+        private final Key key;
+
+        private final Execution execution;
+
+        private final boolean replay;
+
+        private Attempt(Key key, Execution execution, boolean replay) {
+            this.key = key;
+            this.execution = execution;
+            this.replay = replay;
+        }
+
+        boolean isReplay() {
+            return replay;
+        }
+
+        CompletableFuture<BufferedClientHttpResponse> response() {
+            return execution.getResponse();
+        }
+
+        void complete(BufferedClientHttpResponse response) {
+            if (response.getRawStatusCode() >= 500) {
+                executions.asMap().remove(key, execution);
+            }
+            execution.getResponse().complete(response);
+        }
+
+        /**
+         * Ничего не делает, если ответ уже получен: отмена после ответа не удаляет его из хранилища.
+         */
+        void fail(Throwable e) {
+            if (execution.getResponse().isDone()) {
+                return;
+            }
+            executions.asMap().remove(key, execution);
+            execution.getResponse().completeExceptionally(e);
+        }
+    }
+
+    @Value
+    private static class Key {
+
+        String idempotencyKey;
+
+        String userId;
+
+        String path;
+    }
+
+    @Value
+    private static class Execution {
+
+        String fingerprint;
+
+        CompletableFuture<BufferedClientHttpResponse> response = new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.base_client.pool;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула HTTP-соединений между gateway и shareit-server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+
+    /**
+     * Максимальное число соединений в пуле.
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Максимальное число соединений на один маршрут (host:port сервера).
+     */
+    private int maxConnectionsPerRoute = 100;
+
+    /**
+     * Время жизни keep-alive соединения, если сервер не прислал заголовок Keep-Alive.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Соединения, простаивающие дольше этого времени, закрываются фоновым потоком.
+     */
+    private Duration idleEviction = Duration.ofSeconds(10);
+
+    /**
+     * Проверять соединение перед выдачей из пула, если оно простаивало дольше этого времени.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /**
+     * Таймаут установки TCP-соединения.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Таймаут ожидания данных от сервера.
+     */
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Сколько запрос может ждать свободное соединение в пуле.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+}
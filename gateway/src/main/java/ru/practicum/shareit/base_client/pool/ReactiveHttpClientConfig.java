@@ -0,0 +1,35 @@
+package ru.practicum.shareit.base_client.pool;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Неблокирующий HTTP-клиент для {@link ru.practicum.shareit.base_client.ReactiveBaseClient}.
+ * Использует те же настройки пула и таймаутов, что и блокирующий клиент.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "reactive")
+public class ReactiveHttpClientConfig {
+
+    @Bean
+    public ReactorClientHttpConnector shareitServerClientConnector(HttpClientProperties properties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxConnectionsPerRoute())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getKeepAlive())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout());
+
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
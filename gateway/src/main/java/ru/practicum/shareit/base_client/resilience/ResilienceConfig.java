@@ -0,0 +1,37 @@
+package ru.practicum.shareit.base_client.resilience;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import ru.practicum.shareit.base_client.ClientInterceptorOrder;
+
+/**
+ * Пороги задаются свойствами resilience4j.circuitbreaker.* и resilience4j.bulkhead.*,
+ * состояние доступно в /actuator/circuitbreakers и /actuator/bulkheads.
+ * Защищены оба режима клиентов: RestTemplate (blocking, async) и WebClient (reactive).
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class ResilienceConfig {
+
+    @Bean
+    @Order(ClientInterceptorOrder.RESILIENCE)
+    public RestTemplateCustomizer resilienceCustomizer(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                       BulkheadRegistry bulkheadRegistry) {
+        ResilienceInterceptor interceptor = new ResilienceInterceptor(circuitBreakerRegistry, bulkheadRegistry);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @Order(ClientInterceptorOrder.RESILIENCE)
+    public WebClientCustomizer resilienceWebClientCustomizer(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                             BulkheadRegistry bulkheadRegistry) {
+        ResilienceExchangeFilter filter = new ResilienceExchangeFilter(circuitBreakerRegistry, bulkheadRegistry);
+        return builder -> builder.filter(filter);
+    }
+}
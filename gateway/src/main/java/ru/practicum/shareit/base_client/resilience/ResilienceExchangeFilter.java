@@ -0,0 +1,69 @@
+package ru.practicum.shareit.base_client.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * То же, что {@link ResilienceInterceptor}, для WebClient реактивного режима, на операторах resilience4j-reactor.
+ * Bulkhead внешний: отказ bulkhead не засчитывается circuit breaker как ошибка сервера.
+ * Тело ответа читается внутри операторов, поэтому разрешение bulkhead возвращается после него.
+ */
+public class ResilienceExchangeFilter implements ExchangeFilterFunction {
+
+    private static final byte[] NO_BODY = new byte[0];
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ResilienceExchangeFilter(CircuitBreakerRegistry circuitBreakerRegistry,
+                                    BulkheadRegistry bulkheadRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String clientName = ResilienceInterceptor.clientName(request.url());
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(clientName);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(clientName);
+        // 5xx проходит через circuit breaker как ошибка, а клиенту возвращается как обычный ответ
+        return next.exchange(request)
+                .flatMap(ResilienceExchangeFilter::buffered)
+                .flatMap(response -> response.rawStatusCode() >= 500
+                        ? Mono.<ClientResponse>error(new ServerErrorResponse(response))
+                        : Mono.just(response))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .onErrorResume(ServerErrorResponse.class, e -> Mono.just(e.response));
+    }
+
+    private static Mono<ClientResponse> buffered(ClientResponse response) {
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(NO_BODY)
+                .map(body -> response.mutate()
+                        .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                        .build());
+    }
+
+    private static final class ServerErrorResponse extends RuntimeException {
+
+        private final transient ClientResponse response;
+
+        private ServerErrorResponse(ClientResponse response) {
+            super("shareit-server responded " + response.rawStatusCode(), null, false, false);
+            this.response = response;
+        }
+    }
+}
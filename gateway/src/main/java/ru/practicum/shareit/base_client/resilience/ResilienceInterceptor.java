@@ -0,0 +1,81 @@
+package ru.practicum.shareit.base_client.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+import ru.practicum.shareit.base_client.BufferedClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead и circuit breaker на каждый клиент shareit-server. Экземпляр выбирается
+ * по первому сегменту пути запроса: bookings, items, users, requests.
+ * При открытом circuit breaker или исчерпанном bulkhead запрос сразу отклоняется,
+ * а не ждет в очереди медленного сервера. Ответ читается целиком до возврата разрешения bulkhead.
+ */
+public class ResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public ResilienceInterceptor(CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String clientName = clientName(request.getURI());
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(clientName);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(clientName);
+
+        circuitBreaker.acquirePermission();
+        try {
+            bulkhead.acquirePermission();
+        } catch (RuntimeException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+
+        long start = System.nanoTime();
+        try {
+            // тело читается под разрешением bulkhead: его передача входит в длительность вызова,
+            // а таймаут чтения тела засчитывается circuit breaker как ошибка
+            BufferedClientHttpResponse response = BufferedClientHttpResponse.of(execution.execute(request, body));
+            long duration = System.nanoTime() - start;
+            int rawStatus = response.getRawStatusCode();
+            if (rawStatus >= 500) {
+                // нестандартный код 5xx не должен превращаться в IllegalArgumentException внутри circuit breaker
+                HttpStatus status = HttpStatus.resolve(rawStatus);
+                circuitBreaker.onError(duration, TimeUnit.NANOSECONDS, new HttpServerErrorException(
+                        status != null ? status : HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusText()));
+            } else {
+                circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+            throw e;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    static String clientName(URI uri) {
+        String path = uri.getPath();
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.base_client.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import ru.practicum.shareit.base_client.ClientInterceptorOrder;
+
+/**
+ * Метрики экземпляров: gateway.routing.requests (задержка по экземпляру и исходу),
+ * gateway.routing.outstanding, gateway.routing.available и gateway.routing.ejections.
+ */
+@Configuration
+@EnableConfigurationProperties(RoutingProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.routing.enabled", havingValue = "true")
+public class RoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ServerPool serverPool(RoutingProperties properties, MeterRegistry meterRegistry) {
+        return new ServerPool(properties, meterRegistry);
+    }
+
+    @Bean
+    @Order(ClientInterceptorOrder.ROUTING)
+    public RestTemplateCustomizer routingCustomizer(ServerPool serverPool) {
+        RoutingInterceptor interceptor = new RoutingInterceptor(serverPool);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    /**
+     * Выполняется после фильтра таймаутов, поэтому таймаут включает и выбор экземпляра.
+     */
+    @Bean
+    @Order(ClientInterceptorOrder.ROUTING)
+    public WebClientCustomizer routingWebClientCustomizer(ServerPool serverPool) {
+        RoutingExchangeFilter filter = new RoutingExchangeFilter(serverPool);
+        return builder -> builder.filter(filter);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.base_client.routing;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * То же, что {@link RoutingInterceptor}, для WebClient реактивного режима.
+ */
+public class RoutingExchangeFilter implements ExchangeFilterFunction {
+
+    private final ServerPool serverPool;
+
+    public RoutingExchangeFilter(ServerPool serverPool) {
+        this.serverPool = serverPool;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            ServerInstance instance = serverPool.acquire(request.headers().getFirst("X-Sharer-User-Id"));
+            ClientRequest routed = ClientRequest.from(request)
+                    .url(RoutingInterceptor.rewrite(request.url(), instance.getUri()))
+                    .build();
+            long start = System.nanoTime();
+            AtomicBoolean released = new AtomicBoolean();
+            Consumer<Boolean> release = failed -> {
+                if (released.compareAndSet(false, true)) {
+                    serverPool.release(instance, System.nanoTime() - start, failed);
+                }
+            };
+            return next.exchange(routed)
+                    .doOnSuccess(response -> release.accept(
+                            response == null || response.statusCode().is5xxServerError()))
+                    .doOnError(e -> release.accept(true))
+                    .doOnCancel(() -> release.accept(true));
+        });
+    }
+}
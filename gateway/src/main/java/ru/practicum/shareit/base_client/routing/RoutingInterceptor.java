@@ -0,0 +1,56 @@
+package ru.practicum.shareit.base_client.routing;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Отправляет запрос клиента shareit-server на экземпляр, выбранный {@link ServerPool}:
+ * заменяет схему, хост и порт, сохраняя путь и параметры. Стоит последним в цепочке,
+ * поэтому задержка экземпляра не включает ожидание в bulkhead и single-flight.
+ */
+public class RoutingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ServerPool serverPool;
+
+    public RoutingInterceptor(ServerPool serverPool) {
+        this.serverPool = serverPool;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ServerInstance instance = serverPool.acquire(request.getHeaders().getFirst("X-Sharer-User-Id"));
+        URI uri = rewrite(request.getURI(), instance.getUri());
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            ClientHttpResponse response = execution.execute(new HttpRequestWrapper(request) {
+                @Override
+                public URI getURI() {
+                    return uri;
+                }
+            }, body);
+            failed = response.getRawStatusCode() >= 500;
+            return response;
+        } finally {
+            serverPool.release(instance, System.nanoTime() - start, failed);
+        }
+    }
+
+    static URI rewrite(URI requestUri, URI instanceUri) {
+        return UriComponentsBuilder.fromUri(requestUri)
+                .scheme(instanceUri.getScheme())
+                .host(instanceUri.getHost())
+                .port(instanceUri.getPort())
+                .build(true)
+                .toUri();
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.base_client.routing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Распределение запросов gateway между несколькими экземплярами shareit-server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.routing")
+public class RoutingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Базовые URL экземпляров, например http://server-1:9090. Запросы клиентов строятся
+     * от shareit-server.url, а перед отправкой хост и порт заменяются на выбранный экземпляр.
+     */
+    private List<String> instances = new ArrayList<>();
+
+    private Strategy strategy = Strategy.CONSISTENT_HASH;
+
+    /**
+     * Число точек каждого экземпляра на кольце consistent hashing.
+     */
+    private int virtualNodes = 100;
+
+    private HealthCheck healthCheck = new HealthCheck();
+
+    private Ejection ejection = new Ejection();
+
+    public enum Strategy {
+
+        /**
+         * Экземпляр с наименьшим числом запросов, ожидающих ответа.
+         */
+        LEAST_OUTSTANDING,
+
+        /**
+         * Экземпляр по X-Sharer-User-Id, чтобы кэши пользователя на сервере оставались теплыми.
+         * Запросы без пользователя распределяются как LEAST_OUTSTANDING.
+         */
+        CONSISTENT_HASH
+    }
+
+    @Getter
+    @Setter
+    public static class HealthCheck {
+
+        private String path = "/actuator/health";
+
+        private Duration interval = Duration.ofSeconds(5);
+
+        private Duration timeout = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Ejection {
+
+        /**
+         * Подряд идущие ошибки (I/O или 5xx), после которых экземпляр исключается.
+         */
+        private int consecutiveFailures = 5;
+
+        /**
+         * Экземпляр исключается, если его сглаженная задержка ответа выше этого порога.
+         */
+        private Duration slowLatencyThreshold = Duration.ofSeconds(2);
+
+        /**
+         * Сколько ответов должно прийти от экземпляра, прежде чем его задержку можно оценивать.
+         */
+        private int minRequests = 20;
+
+        /**
+         * На сколько экземпляр исключается; затем он снова получает запросы, если проходит проверку здоровья.
+         */
+        private Duration duration = Duration.ofSeconds(30);
+    }
+}
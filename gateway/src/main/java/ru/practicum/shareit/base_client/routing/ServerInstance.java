@@ -0,0 +1,118 @@
+package ru.practicum.shareit.base_client.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Экземпляр shareit-server и его состояние: запросы в работе, сглаженная задержка,
+ * результат последней проверки здоровья и время, до которого он исключен.
+ */
+class ServerInstance {
+
+    /**
+     * Вес последнего ответа в сглаженной (EWMA) задержке.
+     */
+    private static final double LATENCY_ALPHA = 0.2;
+
+    @Getter
+    private final URI uri;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private final Timer successes;
+
+    private final Timer failures;
+
+    private final Counter ejections;
+
+    private int consecutiveFailures;
+
+    private long samples;
+
+    private double latencyNanos;
+
+    private volatile boolean healthy = true;
+
+    private volatile long ejectedUntilNanos;
+
+    ServerInstance(URI uri, MeterRegistry meterRegistry) {
+        this.uri = uri;
+        this.ejectedUntilNanos = System.nanoTime();
+        String instance = uri.getAuthority();
+        this.successes = Timer.builder("gateway.routing.requests")
+                .description("Responses from a shareit-server instance")
+                .tag("instance", instance)
+                .tag("outcome", "success")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.failures = Timer.builder("gateway.routing.requests")
+                .description("Responses from a shareit-server instance")
+                .tag("instance", instance)
+                .tag("outcome", "failure")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.ejections = Counter.builder("gateway.routing.ejections")
+                .description("Times a shareit-server instance was taken out of rotation")
+                .tag("instance", instance)
+                .register(meterRegistry);
+        Gauge.builder("gateway.routing.outstanding", outstanding, AtomicInteger::get)
+                .description("Requests sent to a shareit-server instance and not yet answered")
+                .tag("instance", instance)
+                .register(meterRegistry);
+        Gauge.builder("gateway.routing.available", this, i -> i.isAvailable(System.nanoTime()) ? 1 : 0)
+                .description("1 if a shareit-server instance is healthy and not ejected")
+                .tag("instance", instance)
+                .register(meterRegistry);
+    }
+
+    boolean isAvailable(long now) {
+        return healthy && now - ejectedUntilNanos >= 0;
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    int getOutstanding() {
+        return outstanding.get();
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    /**
+     * Учитывает ответ экземпляра и возвращает true, если по правилам ejection его пора исключить.
+     */
+    synchronized boolean release(long durationNanos, boolean failed, RoutingProperties.Ejection ejection) {
+        outstanding.decrementAndGet();
+        (failed ? failures : successes).record(durationNanos, TimeUnit.NANOSECONDS);
+
+        samples++;
+        latencyNanos = samples == 1 ? durationNanos : LATENCY_ALPHA * durationNanos + (1 - LATENCY_ALPHA) * latencyNanos;
+        consecutiveFailures = failed ? consecutiveFailures + 1 : 0;
+
+        return consecutiveFailures >= ejection.getConsecutiveFailures()
+                || samples >= ejection.getMinRequests()
+                && latencyNanos > ejection.getSlowLatencyThreshold().toNanos();
+    }
+
+    synchronized void eject(long now, long durationNanos) {
+        ejectedUntilNanos = now + durationNanos;
+        consecutiveFailures = 0;
+        samples = 0;
+        latencyNanos = 0;
+        ejections.increment();
+    }
+}
@@ -0,0 +1,185 @@
+package ru.practicum.shareit.base_client.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Экземпляры shareit-server, выбор экземпляра для запроса и их проверка здоровья.
+ * Экземпляр получает запросы, пока проходит проверку здоровья и не исключен за ошибки или медленные ответы.
+ * Исключается не больше экземпляров, чем нужно, чтобы остался хотя бы один доступный; если доступных
+ * нет совсем, запросы распределяются между здоровыми, а при их отсутствии — между всеми.
+ */
+@Slf4j
+public class ServerPool implements AutoCloseable {
+
+    private final RoutingProperties properties;
+
+    private final List<ServerInstance> instances;
+
+    private final NavigableMap<Long, ServerInstance> ring = new TreeMap<>();
+
+    private final HttpClient healthClient;
+
+    private final ScheduledExecutorService healthChecker;
+
+    public ServerPool(RoutingProperties properties, MeterRegistry meterRegistry) {
+        if (properties.getInstances().isEmpty()) {
+            throw new IllegalArgumentException("shareit-gateway.routing.instances must not be empty");
+        }
+        this.properties = properties;
+
+        List<ServerInstance> serverInstances = new ArrayList<>();
+        for (String instance : properties.getInstances()) {
+            ServerInstance serverInstance = new ServerInstance(URI.create(instance), meterRegistry);
+            serverInstances.add(serverInstance);
+            for (int i = 0; i < properties.getVirtualNodes(); i++) {
+                ring.put(hash(instance + "#" + i), serverInstance);
+            }
+        }
+        this.instances = Collections.unmodifiableList(serverInstances);
+
+        RoutingProperties.HealthCheck healthCheck = properties.getHealthCheck();
+        this.healthClient = HttpClient.newBuilder().connectTimeout(healthCheck.getTimeout()).build();
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shareit-server-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = healthCheck.getInterval().toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Выбирает экземпляр и учитывает запрос в его счетчике запросов в работе.
+     * После ответа нужно вызвать {@link #release}.
+     */
+    ServerInstance acquire(@Nullable String userId) {
+        long now = System.nanoTime();
+        Predicate<ServerInstance> eligible = eligibility(now);
+        ServerInstance instance = properties.getStrategy() == RoutingProperties.Strategy.CONSISTENT_HASH && userId != null
+                ? byHash(userId, eligible)
+                : leastOutstanding(eligible);
+        instance.acquire();
+        return instance;
+    }
+
+    void release(ServerInstance instance, long durationNanos, boolean failed) {
+        RoutingProperties.Ejection ejection = properties.getEjection();
+        if (instance.release(durationNanos, failed, ejection)) {
+            long now = System.nanoTime();
+            if (instance.isAvailable(now) && instances.stream().anyMatch(i -> i != instance && i.isAvailable(now))) {
+                instance.eject(now, ejection.getDuration().toNanos());
+                log.warn("[ROUTING]: instance {} ejected for {} ({})", instance.getUri(), ejection.getDuration(),
+                        failed ? "consecutive failures" : "slow responses");
+            }
+        }
+    }
+
+    List<ServerInstance> getInstances() {
+        return instances;
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+    }
+
+    private Predicate<ServerInstance> eligibility(long now) {
+        if (instances.stream().anyMatch(i -> i.isAvailable(now))) {
+            return i -> i.isAvailable(now);
+        }
+        if (instances.stream().anyMatch(ServerInstance::isHealthy)) {
+            return ServerInstance::isHealthy;
+        }
+        return i -> true;
+    }
+
+    /**
+     * Первый подходящий экземпляр по часовой стрелке от хэша пользователя: при исключении
+     * экземпляра его пользователи расходятся по соседям, остальные остаются на своих экземплярах.
+     */
+    private ServerInstance byHash(String userId, Predicate<ServerInstance> eligible) {
+        long hash = hash(userId);
+        for (ServerInstance instance : ring.tailMap(hash, true).values()) {
+            if (eligible.test(instance)) {
+                return instance;
+            }
+        }
+        for (Map.Entry<Long, ServerInstance> entry : ring.headMap(hash, false).entrySet()) {
+            if (eligible.test(entry.getValue())) {
+                return entry.getValue();
+            }
+        }
+        return leastOutstanding(eligible);
+    }
+
+    private ServerInstance leastOutstanding(Predicate<ServerInstance> eligible) {
+        ServerInstance best = null;
+        for (ServerInstance instance : instances) {
+            if (eligible.test(instance) && (best == null || instance.getOutstanding() < best.getOutstanding())) {
+                best = instance;
+            }
+        }
+        return best != null ? best : instances.get(0);
+    }
+
+    private void checkHealth() {
+        RoutingProperties.HealthCheck healthCheck = properties.getHealthCheck();
+        for (ServerInstance instance : instances) {
+            boolean healthy;
+            try {
+                HttpRequest request = HttpRequest.newBuilder(instance.getUri().resolve(healthCheck.getPath()))
+                        .timeout(healthCheck.getTimeout())
+                        .GET()
+                        .build();
+                healthy = healthClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (IOException e) {
+                healthy = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Исключение, вышедшее из задачи scheduleWithFixedDelay, молча отменило бы все следующие проверки.
+                log.warn("[ROUTING]: health check of instance {} failed: {}", instance.getUri(), e.toString());
+                healthy = false;
+            }
+            if (healthy != instance.isHealthy()) {
+                log.warn("[ROUTING]: instance {} is {}", instance.getUri(), healthy ? "healthy" : "unhealthy");
+            }
+            instance.setHealthy(healthy);
+        }
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                hash = hash << 8 | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
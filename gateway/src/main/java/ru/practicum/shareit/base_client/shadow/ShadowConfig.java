@@ -0,0 +1,34 @@
+package ru.practicum.shareit.base_client.shadow;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import ru.practicum.shareit.base_client.ClientInterceptorOrder;
+
+/**
+ * Метрики: gateway.shadow.latency{target=primary|shadow, path} и gateway.shadow.comparisons{outcome}.
+ * Только для RestTemplate (режимы blocking и async).
+ */
+@Configuration
+@EnableConfigurationProperties(ShadowProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.shadow.enabled", havingValue = "true")
+public class ShadowConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShadowMirror shadowMirror(ShadowProperties properties, ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry) {
+        return new ShadowMirror(properties, objectMapper, meterRegistry);
+    }
+
+    @Bean
+    @Order(ClientInterceptorOrder.SHADOW)
+    public RestTemplateCustomizer shadowCustomizer(ShadowProperties properties, ShadowMirror shadowMirror) {
+        ShadowInterceptor interceptor = new ShadowInterceptor(properties, shadowMirror);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.base_client.shadow;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.base_client.BufferedClientHttpResponse;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Отбирает запросы для зеркалирования и передает их {@link ShadowMirror} уже после ответа основного сервера:
+ * на пути запроса остаются только выбор по проценту и постановка в очередь.
+ */
+public class ShadowInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ShadowMirror mirror;
+
+    private final double fraction;
+
+    private final Set<String> methods;
+
+    public ShadowInterceptor(ShadowProperties properties, ShadowMirror mirror) {
+        this.mirror = mirror;
+        this.fraction = properties.getPercentage() / 100;
+        this.methods = properties.getMethods().stream()
+                .map(method -> method.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!methods.contains(request.getMethodValue()) || ThreadLocalRandom.current().nextDouble() >= fraction) {
+            return execution.execute(request, body);
+        }
+
+        long startedAt = System.nanoTime();
+        BufferedClientHttpResponse response = BufferedClientHttpResponse.of(execution.execute(request, body));
+        mirror.submit(request, body, response, System.nanoTime() - startedAt);
+        return response;
+    }
+}
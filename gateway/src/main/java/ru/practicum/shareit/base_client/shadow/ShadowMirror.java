@@ -0,0 +1,192 @@
+package ru.practicum.shareit.base_client.shadow;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.shareit.base_client.BufferedClientHttpResponse;
+import ru.practicum.shareit.metrics.RouteTags;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Отправляет копию запроса на сервер-кандидат на собственном пуле потоков и соединений, ответ кандидата
+ * сравнивает с ответом основного сервера и отбрасывает. Тела сравниваются как JSON-деревья, поэтому
+ * порядок полей и форматирование расхождением не считаются. Если очередь полна, запрос не зеркалируется.
+ */
+@Slf4j
+public class ShadowMirror implements AutoCloseable {
+
+    private static final String GZIP = "gzip";
+
+    private final URI target;
+
+    private final ThreadPoolExecutor executor;
+
+    private final CloseableHttpClient client;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Outcome, Counter> outcomes = new ConcurrentHashMap<>();
+
+    public ShadowMirror(ShadowProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.target = properties.getUrl();
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "gateway-shadow-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        int timeoutMillis = (int) properties.getTimeout().toMillis();
+        this.client = HttpClients.custom()
+                .disableContentCompression()
+                .setMaxConnTotal(properties.getThreads())
+                .setMaxConnPerRoute(properties.getThreads())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(timeoutMillis)
+                        .setSocketTimeout(timeoutMillis)
+                        .setConnectionRequestTimeout(timeoutMillis)
+                        .build())
+                .build();
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("gateway.shadow.comparisons")
+                    .description("Comparisons of shareit-server responses with the shadow server")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        log.info("[SHADOW]: mirroring requests to {}", target);
+    }
+
+    /**
+     * Вызывается в потоке запроса: копирует то, что нужно для теневого запроса, и сразу возвращается.
+     */
+    void submit(HttpRequest request, byte[] body, BufferedClientHttpResponse primary, long primaryNanos) {
+        String method = request.getMethodValue();
+        URI uri = UriComponentsBuilder.fromUri(request.getURI())
+                .scheme(target.getScheme())
+                .host(target.getHost())
+                .port(target.getPort())
+                .build(true)
+                .toUri();
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        try {
+            executor.execute(() -> mirror(method, uri, headers, body, primary, primaryNanos));
+        } catch (RejectedExecutionException e) {
+            outcomes.get(Outcome.DROPPED).increment();
+        }
+    }
+
+    private void mirror(String method, URI uri, HttpHeaders headers, byte[] body,
+                        BufferedClientHttpResponse primary, long primaryNanos) {
+        String path = RouteTags.path(uri.getPath());
+        latency("primary", method, path).record(primaryNanos, TimeUnit.NANOSECONDS);
+
+        RequestBuilder builder = RequestBuilder.create(method).setUri(uri);
+        headers.forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && !HttpHeaders.HOST.equalsIgnoreCase(name)) {
+                values.forEach(value -> builder.addHeader(name, value));
+            }
+        });
+        if (body.length > 0) {
+            builder.setEntity(new ByteArrayEntity(body));
+        }
+        HttpUriRequest shadowRequest = builder.build();
+
+        long startedAt = System.nanoTime();
+        Outcome outcome;
+        try (CloseableHttpResponse shadow = client.execute(shadowRequest)) {
+            byte[] shadowBody = shadow.getEntity() == null ? new byte[0] : EntityUtils.toByteArray(shadow.getEntity());
+            latency("shadow", method, path).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            if (shadow.getStatusLine().getStatusCode() != primary.getRawStatusCode()) {
+                outcome = Outcome.STATUS_MISMATCH;
+            } else {
+                String shadowEncoding = shadow.getFirstHeader(HttpHeaders.CONTENT_ENCODING) == null
+                        ? null : shadow.getFirstHeader(HttpHeaders.CONTENT_ENCODING).getValue();
+                outcome = sameBody(decode(primary.getBodyAsByteArray(),
+                                primary.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)),
+                        decode(shadowBody, shadowEncoding)) ? Outcome.MATCH : Outcome.BODY_MISMATCH;
+            }
+            if (outcome != Outcome.MATCH) {
+                log.debug("[SHADOW]: {} for {} {}: primary status {}, shadow status {}", outcome, method, uri,
+                        primary.getRawStatusCode(), shadow.getStatusLine().getStatusCode());
+            }
+        } catch (IOException e) {
+            outcome = Outcome.ERROR;
+            log.debug("[SHADOW]: {} {} failed: {}", method, uri, e.getMessage());
+        }
+        outcomes.get(outcome).increment();
+    }
+
+    private boolean sameBody(byte[] primary, byte[] shadow) {
+        if (Arrays.equals(primary, shadow)) {
+            return true;
+        }
+        try {
+            return objectMapper.readTree(primary).equals(objectMapper.readTree(shadow));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static byte[] decode(byte[] body, String contentEncoding) throws IOException {
+        if (body.length == 0 || !GZIP.equalsIgnoreCase(contentEncoding)) {
+            return body;
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return StreamUtils.copyToByteArray(in);
+        }
+    }
+
+    private Timer latency(String target, String method, String path) {
+        return Timer.builder("gateway.shadow.latency")
+                .description("Latency of mirrored requests on shareit-server and on the shadow server")
+                .tag("target", target)
+                .tag("method", method)
+                .tag("path", path)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        client.close();
+    }
+
+    private enum Outcome {
+        MATCH, STATUS_MISMATCH, BODY_MISMATCH, ERROR, DROPPED
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.base_client.shadow;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Зеркалирование части запросов к shareit-server на сервер-кандидат.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.shadow")
+public class ShadowProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Адрес сервера-кандидата; путь и параметры запроса сохраняются, меняются только схема, хост и порт.
+     */
+    private URI url;
+
+    /**
+     * Процент зеркалируемых запросов, от 0 до 100.
+     */
+    private double percentage = 10;
+
+    /**
+     * Зеркалируются только эти методы. Запросы на запись менять не стоит, если кандидат работает с той же базой.
+     */
+    private List<String> methods = new ArrayList<>(List.of("GET"));
+
+    /**
+     * Потоки и соединения, которыми отправляются теневые запросы.
+     */
+    private int threads = 4;
+
+    /**
+     * Сколько теневых запросов может ждать отправки; сверх этого запросы не зеркалируются.
+     */
+    private int queueCapacity = 1000;
+
+    private Duration timeout = Duration.ofSeconds(5);
+}
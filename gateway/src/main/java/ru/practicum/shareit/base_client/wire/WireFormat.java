@@ -0,0 +1,35 @@
+package ru.practicum.shareit.base_client.wire;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Формат тел запросов и ответов между gateway и shareit-server.
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON, new JsonFactory()),
+
+    CBOR(MediaType.APPLICATION_CBOR, new CBORFactory()),
+
+    SMILE(new MediaType("application", "x-jackson-smile"), new SmileFactory());
+
+    private final MediaType mediaType;
+
+    private final JsonFactory factory;
+
+    WireFormat(MediaType mediaType, JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.factory = factory;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public JsonFactory getFactory() {
+        return factory;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.base_client.wire;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import ru.practicum.shareit.base_client.ClientInterceptorOrder;
+
+/**
+ * shareit-server.wire-format=json|cbor|smile. Для JSON перехватчик не добавляется.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    @Order(ClientInterceptorOrder.WIRE_FORMAT)
+    public RestTemplateCustomizer wireFormatCustomizer(
+            @Value("${shareit-server.wire-format:json}") WireFormat wireFormat) {
+        if (wireFormat == WireFormat.JSON) {
+            return restTemplate -> { };
+        }
+        WireFormatInterceptor interceptor = new WireFormatInterceptor(wireFormat);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.base_client.wire;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+import ru.practicum.shareit.base_client.BufferedClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Передает тела между gateway и shareit-server в двоичном формате (CBOR или Smile):
+ * JSON-тело запроса перекодируется потоком токенов без разбора в объекты, а двоичный ответ
+ * перекодируется обратно в JSON. Остальные перехватчики, кэш и внешние клиенты видят только JSON.
+ * Если сервер ответил JSON (например, фильтр до контроллеров), ответ отдается без изменений.
+ * Сжатый двоичный ответ перед перекодированием распаковывается: в этом режиме клиенту уходит несжатый JSON.
+ */
+public class WireFormatInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final JsonFactory JSON = WireFormat.JSON.getFactory();
+
+    private static final String GZIP = "gzip";
+
+    private final WireFormat format;
+
+    private final List<MediaType> accept;
+
+    public WireFormatInterceptor(WireFormat format) {
+        this.format = format;
+        this.accept = List.of(format.getMediaType(), MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        request.getHeaders().setAccept(accept);
+        byte[] requestBody = body;
+        if (body.length > 0 && MediaType.APPLICATION_JSON.isCompatibleWith(request.getHeaders().getContentType())) {
+            requestBody = transcode(body, JSON, format.getFactory());
+            request.getHeaders().setContentType(format.getMediaType());
+            request.getHeaders().setContentLength(requestBody.length);
+        }
+
+        ClientHttpResponse response = execution.execute(request, requestBody);
+        if (!format.getMediaType().isCompatibleWith(response.getHeaders().getContentType())) {
+            return response;
+        }
+
+        BufferedClientHttpResponse binaryResponse = BufferedClientHttpResponse.of(response);
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(binaryResponse.getHeaders());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        byte[] binary = binaryResponse.getBodyAsByteArray();
+        if (GZIP.equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING))) {
+            headers.remove(HttpHeaders.CONTENT_ENCODING);
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(binary))) {
+                binary = StreamUtils.copyToByteArray(in);
+            }
+        }
+        byte[] json = binary.length > 0 ? transcode(binary, format.getFactory(), JSON) : binary;
+        return binaryResponse.with(headers, json);
+    }
+
+    static byte[] transcode(byte[] source, JsonFactory from, JsonFactory to) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(source.length * 2);
+        try (JsonParser parser = from.createParser(source);
+             JsonGenerator generator = to.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return out.toByteArray();
+    }
+}
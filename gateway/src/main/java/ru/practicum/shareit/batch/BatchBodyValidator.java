@@ -0,0 +1,167 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.Validator;
+import org.springframework.validation.annotation.ValidationAnnotationUtils;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.servlet.BatchSubRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.annotation.Annotation;
+import java.util.List;
+
+/**
+ * Проверяет тела подзапросов так же, как их проверил бы контроллер gateway: по пути и методу находится
+ * обработчик, и его параметр {@code @RequestBody} с {@code @Valid} или {@code @Validated} валидируется
+ * тем же валидатором Spring MVC. Пакет с невалидным телом отклоняется целиком и не уходит на shareit-server.
+ * Ограничения параметров пути и query-строки (from, size) здесь не проверяются, их проверяет сервер.
+ */
+@Component
+public class BatchBodyValidator {
+
+    private final RequestMappingHandlerMapping handlerMapping;
+
+    private final Validator validator;
+
+    private final ObjectMapper mapper;
+
+    public BatchBodyValidator(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                              @Qualifier("mvcValidator") Validator validator,
+                              ObjectMapper mapper) {
+        this.handlerMapping = handlerMapping;
+        this.validator = validator;
+        this.mapper = mapper;
+    }
+
+    public void validate(List<BatchRequestDto> requests, HttpServletRequest request) {
+        for (int i = 0; i < requests.size(); i++) {
+            BatchRequestDto sub = requests.get(i);
+            if (sub.getBody() == null || sub.getBody().isNull()) {
+                continue;
+            }
+            HandlerMethod handler = findHandler(sub, request);
+            if (handler == null) {
+                continue;
+            }
+            for (MethodParameter parameter : handler.getMethodParameters()) {
+                if (parameter.hasParameterAnnotation(RequestBody.class)) {
+                    validateBody(i + 1, sub, parameter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Обработчик ищется на отдельной обертке со своими атрибутами: поиск оставляет в атрибутах запроса
+     * найденный шаблон пути и переменные, которые не должны попасть в сам запрос /batch.
+     */
+    @Nullable
+    private HandlerMethod findHandler(BatchRequestDto sub, HttpServletRequest request) {
+        HttpServletRequest lookupRequest = new LookupRequest(request, sub.getMethod().toUpperCase(), sub.getPath());
+        ServletRequestPathUtils.parseAndCache(lookupRequest);
+        try {
+            HandlerExecutionChain chain = handlerMapping.getHandler(lookupRequest);
+            if (chain != null && chain.getHandler() instanceof HandlerMethod) {
+                return (HandlerMethod) chain.getHandler();
+            }
+        } catch (Exception ex) {
+            // неподдерживаемый метод или тип тела: подзапросу ответит shareit-server
+        }
+        return null;
+    }
+
+    private void validateBody(int position, BatchRequestDto sub, MethodParameter parameter) {
+        Object[] hints = validationHints(parameter);
+        if (hints == null) {
+            return;
+        }
+        Class<?> type = ResolvableType.forMethodParameter(parameter).resolve(parameter.getParameterType());
+        Object body;
+        try {
+            body = mapper.treeToValue(sub.getBody(), type);
+        } catch (JsonProcessingException ex) {
+            throw new InvalidBatchException(String.format("Batch request #%d has unreadable body.", position));
+        }
+        Errors errors = new BeanPropertyBindingResult(body, parameter.getParameterName() == null
+                ? "body" : parameter.getParameterName());
+        if (hints.length > 0 && validator instanceof SmartValidator) {
+            ((SmartValidator) validator).validate(body, errors, hints);
+        } else {
+            validator.validate(body, errors);
+        }
+        if (errors.hasErrors()) {
+            throw new InvalidBatchException(String.format("Batch request #%d has invalid body: %s", position,
+                    errors.getAllErrors().get(0).getDefaultMessage()));
+        }
+    }
+
+    /**
+     * Подсказки валидации, как их определяет Spring MVC, или null, если тело не валидируется.
+     */
+    @Nullable
+    private static Object[] validationHints(MethodParameter parameter) {
+        for (Annotation annotation : parameter.getParameterAnnotations()) {
+            Object[] hints = ValidationAnnotationUtils.determineValidationHints(annotation);
+            if (hints != null) {
+                return hints;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Подзапрос с путем подзапроса вместо /batch: по нему handler mapping выбирает обработчик.
+     */
+    private static class LookupRequest extends BatchSubRequest {
+
+        private final String path;
+
+        private final String queryString;
+
+        LookupRequest(HttpServletRequest request, String method, String pathWithQuery) {
+            super(request, method, new byte[0]);
+            int query = pathWithQuery.indexOf('?');
+            this.path = query < 0 ? pathWithQuery : pathWithQuery.substring(0, query);
+            this.queryString = query < 0 ? null : pathWithQuery.substring(query + 1);
+        }
+
+        @Override
+        public String getRequestURI() {
+            return getContextPath() + path;
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            return new StringBuffer(getScheme() + "://" + getServerName() + ":" + getServerPort() + getRequestURI());
+        }
+
+        @Override
+        public String getServletPath() {
+            return path;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+
+        @Override
+        public String getQueryString() {
+            return queryString;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.base_client.BaseClient;
+import ru.practicum.shareit.base_client.cache.ResponseCache;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+
+import java.util.List;
+
+/**
+ * Пакет целиком уходит в POST /batch shareit-server одним вызовом, подзапросы выполняет сервер.
+ */
+@Service
+@Profile("!colocated")
+public class BatchClient extends BaseClient {
+
+    private static final String API_PREFIX = "/batch";
+
+    private final ResponseCache responseCache;
+
+    @Autowired
+    public BatchClient(@Value("${shareit-server.url}") String serverUrl,
+                       RestTemplateBuilder builder,
+                       ClientHttpRequestFactory requestFactory,
+                       ResponseCache responseCache) {
+        super(
+                builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .requestFactory(() -> requestFactory)
+                        .build()
+        );
+        this.responseCache = responseCache;
+    }
+
+    public ResponseEntity<Object> executeBatch(@Nullable Long userId, List<BatchRequestDto> requests) {
+        try {
+            return post("", userId, null, requests);
+        } finally {
+            if (!BatchValidator.isReadOnly(requests)) {
+                // изменяющие подзапросы проходят мимо клиентов ресурсов и их точечной очистки кэша
+                responseCache.evictAll();
+            }
+        }
+    }
+}
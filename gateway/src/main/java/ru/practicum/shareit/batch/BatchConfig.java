@@ -0,0 +1,20 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BatchConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "shareit-gateway.batch")
+    public BatchProperties batchProperties() {
+        return new BatchProperties();
+    }
+
+    @Bean
+    public BatchValidator batchValidator(BatchProperties properties) {
+        return new BatchValidator(properties);
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.exceptions.RateLimitExceededException;
+import ru.practicum.shareit.filter.ratelimit.RateLimitFilter;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+@Slf4j
+@RestController
+@Profile("!colocated")
+@RequiredArgsConstructor
+@RequestMapping(path = "/batch")
+public class BatchController {
+
+    private final BatchValidator batchValidator;
+
+    private final BatchBodyValidator batchBodyValidator;
+
+    private final BatchClient batchClient;
+
+    private final ObjectProvider<RateLimitFilter> rateLimitFilter;
+
+    /**
+     * Эндпоинт по выполнению нескольких запросов за один вызов.
+     * Gateway проверяет пакет и тела подзапросов, а выполняет подзапросы shareit-server: весь пакет
+     * уходит на сервер одним вызовом, сервер выполняет идущие подряд GET параллельно, а изменяющие - по очереди.
+     * Каждый подзапрос расходует токен своей группы ограничения частоты; если в какой-то группе токенов
+     * не хватает, пакет целиком отклоняется с 429.
+     * Эндпоинт есть во всех режимах gateway (blocking, async, reactive): это один блокирующий вызов RestTemplate.
+     * В профиле colocated его нет: сервер там работает без веб-сервера, а подзапросы выполняются через
+     * servlet forward.
+     * @param requests список подзапросов.
+     * @return Возвращает результаты подзапросов в том же порядке.
+     */
+    @PostMapping
+    public ResponseEntity<Object> executeBatch(@RequestHeader(value = "X-Sharer-User-Id", required = false) Long userId,
+                                               @RequestBody List<BatchRequestDto> requests,
+                                               HttpServletRequest request) {
+        batchValidator.validate(requests);
+        log.info("Executing batch of {} requests", requests.size());
+        batchBodyValidator.validate(requests, request);
+        RateLimitFilter limiter = rateLimitFilter.getIfAvailable();
+        if (limiter != null) {
+            long retryAfterSeconds = limiter.tryConsumeBatch(request, requests);
+            if (retryAfterSeconds != 0) {
+                throw new RateLimitExceededException(retryAfterSeconds);
+            }
+        }
+        return batchClient.executeBatch(userId, requests);
+    }
+}
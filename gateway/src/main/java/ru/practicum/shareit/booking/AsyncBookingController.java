@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.base_client.async.ClientExecutors;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@RestController
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "async")
+public class AsyncBookingController
+        extends BaseBookingController<ResponseEntity<Object>, CompletableFuture<ResponseEntity<Object>>> {
+
+    private final ClientExecutors clientExecutors;
+
+    public AsyncBookingController(BookingOperations<ResponseEntity<Object>> bookingClient, ClientExecutors clientExecutors) {
+        super(bookingClient);
+        this.clientExecutors = clientExecutors;
+    }
+
+    @Override
+    protected CompletableFuture<ResponseEntity<Object>> respond(Supplier<ResponseEntity<Object>> call) {
+        return clientExecutors.supply("bookings", call);
+    }
+}
@@ -0,0 +1,133 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.exceptions.InvalidDataException;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.function.Supplier;
+
+/**
+ * Эндпоинты бронирований, общие для всех режимов шлюза. Режим определяет только то, как выполняется вызов
+ * клиента и какой тип возвращает эндпоинт: ResponseEntity, CompletableFuture или Mono.
+ * @param <T> ответ клиента shareit-server.
+ * @param <R> ответ эндпоинта.
+ */
+@Slf4j
+@Validated
+@RequestMapping(path = "/bookings")
+public abstract class BaseBookingController<T, R> {
+
+    private final BookingOperations<T> bookingClient;
+
+    protected BaseBookingController(BookingOperations<T> bookingClient) {
+        this.bookingClient = bookingClient;
+    }
+
+    /**
+     * Выполняет вызов клиента так, как это принято в режиме шлюза.
+     * @param call вызов shareit-server.
+     * @return ответ эндпоинта.
+     */
+    protected abstract R respond(Supplier<T> call);
+
+    /**
+     * Эндпоинт по получению списка всех бронирования пользователя, кто забронировал товар.
+     * @param userId id пользователя
+     * @param stateParam параметр может принимать заначения: ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED
+     * @param cursor значение X-Next-Cursor предыдущей страницы; если задан, from не используется.
+     * @return Возвралщает список бронирования.
+     */
+    @GetMapping
+    public R getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                         @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                         @RequestParam(name = "size", defaultValue = "10") @Min(1) Integer size,
+                         @RequestParam(name = "cursor", required = false) String cursor) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new InvalidDataException("Unknown state: " + stateParam));
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size,
+                cursor);
+        return respond(() -> bookingClient.getBookings(userId, state, from, size, cursor));
+    }
+
+    /**
+     * Эндпонит по добовлению бронированию.
+     * @param userId id пользователя бронирующий продукт.
+     * @param requestDto данные о вбронирования.
+     * @return Возвращает объект бронировния.
+     */
+    @Validated
+    @PostMapping
+    public R bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                      @RequestBody @Valid BookItemRequestDto requestDto) {
+        log.info("Creating booking {}, userId={}", requestDto, userId);
+        return respond(() -> bookingClient.bookItem(userId, requestDto));
+    }
+
+    /**
+     * Эндпоинт по получению данных о конкретном бронирование.
+     * @param userId id пользователя.
+     * @param bookingId id бронирования.
+     * @return Возвращает объект бронирования.
+     */
+    @GetMapping("/{bookingId}")
+    public R getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                        @PathVariable Long bookingId) {
+        log.info("Get booking {}, userId={}", bookingId, userId);
+        return respond(() -> bookingClient.getBooking(userId, bookingId));
+    }
+
+    /**
+     * Эндпоинт по потверждению или отклонинию запроса на бронирование.
+     * @param ownerId id владельца товара
+     * @param bookingId id брони
+     * @param approved параметр принимает значение true или false.
+     * @return Возвращает объект бронирования.
+     */
+    @PatchMapping("/{bookingId}")
+    public R approve(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @PathVariable Long bookingId,
+            @RequestParam boolean approved) {
+        log.info("Get a booking approval request with parameters approved={}, ownerId={}, bookingId={}",
+                approved,
+                ownerId,
+                bookingId);
+        return respond(() -> bookingClient.approve(ownerId, bookingId, approved));
+    }
+
+    /**
+     * Эндпоинт по получению списка всех бронирования владельца товара.
+     * @param ownerId id пользователя
+     * @param stateParam параметр может принимать заначения: ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED
+     * @param cursor значение X-Next-Cursor предыдущей страницы; если задан, from не используется.
+     * @return Возвралщает список бронирования.
+     */
+    @GetMapping("/owner")
+    public R getBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @RequestParam(defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) Integer size,
+            @RequestParam(required = false) String cursor) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new InvalidDataException("Unknown state: " + stateParam));
+        log.info("Get booking by Owner with state {}, ownerId={}, from={}, size={}, cursor={}", stateParam, ownerId,
+                from, size, cursor);
+        return respond(() -> bookingClient.getBookingsByOwner(ownerId, state, from, size, cursor));
+    }
+}
@@ -3,66 +3,110 @@ package ru.practicum.shareit.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.base_client.BaseClient;
+import ru.practicum.shareit.base_client.cache.ResponseCache;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exceptions.InvalidDataException;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
-public class BookingClient extends BaseClient {
+@Profile("!colocated")
+public class BookingClient extends BaseClient implements BookingOperations<ResponseEntity<Object>> {
+
+    /**
+     * Курсор следующей страницы списка бронирований, передается клиенту без изменений.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private static final String API_PREFIX = "/bookings";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory,
+                         ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                List.of(NEXT_CURSOR_HEADER)
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    @Override
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              String cursor) {
+        return get(listPath("", cursor), userId, listParameters(state, from, size, cursor));
     }
 
 
+    @Override
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
         validateBooking(requestDto);
-        return post("", userId, requestDto);
+        try {
+            return post("", userId, requestDto);
+        } finally {
+            // ближайшее и последнее бронирование входят в карточку вещи
+            responseCache.evict("/items/" + requestDto.getItemId());
+        }
     }
 
+    @Override
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
+    @Override
     public ResponseEntity<Object> approve(Long ownerId, Long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
-        return patch("/" + bookingId + "?approved={approved}", ownerId, parameters);
+        try {
+            return patch("/" + bookingId + "?approved={approved}", ownerId, parameters);
+        } finally {
+            // по bookingId нельзя узнать вещь без запроса к серверу
+            responseCache.evictAll("/items/");
+        }
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+    @Override
+    public ResponseEntity<Object> getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size,
+                                                     String cursor) {
+        return get(listPath("/owner", cursor), ownerId, listParameters(state, from, size, cursor));
+    }
+
+    /**
+     * С курсором сервер ищет страницу по (start, id) и from не использует, поэтому from не передается.
+     */
+    static String listPath(String path, String cursor) {
+        return cursor == null
+                ? path + "?state={state}&from={from}&size={size}"
+                : path + "?state={state}&size={size}&cursor={cursor}";
+    }
+
+    static Map<String, Object> listParameters(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 
-    private void validateBooking(BookItemRequestDto requestDto) {
+    static void validateBooking(BookItemRequestDto requestDto) {
         if (requestDto.getEnd().isBefore(requestDto.getStart())) {
             throw new InvalidDataException("The booking end date cannot be before the booking start date.");
         }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+/**
+ * Вызовы shareit-server по бронированиям, общие для блокирующего и реактивного клиента.
+ * @param <T> ответ клиента: ResponseEntity или Mono с ним.
+ */
+public interface BookingOperations<T> {
+
+    T getBookings(long userId, BookingState state, Integer from, Integer size, String cursor);
+
+    T bookItem(long userId, BookItemRequestDto requestDto);
+
+    T getBooking(long userId, Long bookingId);
+
+    T approve(Long ownerId, Long bookingId, boolean approved);
+
+    T getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size, String cursor);
+}
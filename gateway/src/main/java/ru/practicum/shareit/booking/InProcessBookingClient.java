@@ -0,0 +1,69 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.base_client.InProcessBaseClient;
+import ru.practicum.shareit.base_client.colocated.ColocatedServer;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.colocated.InProcessKeys;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static ru.practicum.shareit.colocated.InProcessOperation.APPROVE;
+import static ru.practicum.shareit.colocated.InProcessOperation.BOOK_ITEM;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_BOOKING;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_BOOKINGS;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_BOOKINGS_BY_OWNER;
+
+@Service
+@Profile("colocated")
+public class InProcessBookingClient extends InProcessBaseClient implements BookingOperations<ResponseEntity<Object>> {
+
+    public InProcessBookingClient(ColocatedServer server, ObjectMapper mapper) {
+        super(server, mapper, List.of(BookingClient.NEXT_CURSOR_HEADER));
+    }
+
+    @Override
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              String cursor) {
+        return call(GET_BOOKINGS, userId, listArguments(state, from, size, cursor));
+    }
+
+    @Override
+    public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
+        BookingClient.validateBooking(requestDto);
+        return call(BOOK_ITEM, userId, Map.of(), requestDto);
+    }
+
+    @Override
+    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+        return call(GET_BOOKING, userId, Map.of(InProcessKeys.BOOKING_ID, bookingId));
+    }
+
+    @Override
+    public ResponseEntity<Object> approve(Long ownerId, Long bookingId, boolean approved) {
+        return call(APPROVE, ownerId, Map.of(InProcessKeys.BOOKING_ID, bookingId, InProcessKeys.APPROVED, approved));
+    }
+
+    @Override
+    public ResponseEntity<Object> getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size,
+                                                     String cursor) {
+        return call(GET_BOOKINGS_BY_OWNER, ownerId, listArguments(state, from, size, cursor));
+    }
+
+    private static Map<String, Object> listArguments(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> arguments = new HashMap<>();
+        arguments.put(InProcessKeys.STATE, state.name());
+        arguments.put(InProcessKeys.FROM, from);
+        arguments.put(InProcessKeys.SIZE, size);
+        if (cursor != null) {
+            arguments.put(InProcessKeys.CURSOR, cursor);
+        }
+        return arguments;
+    }
+}
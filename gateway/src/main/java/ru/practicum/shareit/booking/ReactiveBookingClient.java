@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.base_client.ReactiveBaseClient;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "reactive")
+public class ReactiveBookingClient extends ReactiveBaseClient
+        implements BookingOperations<Mono<ResponseEntity<Object>>> {
+
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(
+                builder
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                List.of(BookingClient.NEXT_CURSOR_HEADER)
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                                    String cursor) {
+        return get(BookingClient.listPath("", cursor), userId,
+                BookingClient.listParameters(state, from, size, cursor));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> bookItem(long userId, BookItemRequestDto requestDto) {
+        BookingClient.validateBooking(requestDto);
+        return post("", userId, requestDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> approve(Long ownerId, Long bookingId, boolean approved) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("/" + bookingId + "?approved={approved}", ownerId, parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getBookingsByOwner(Long ownerId, BookingState state, Integer from, Integer size,
+                                                           String cursor) {
+        return get(BookingClient.listPath("/owner", cursor), ownerId,
+                BookingClient.listParameters(state, from, size, cursor));
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+@RestController
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "reactive")
+public class ReactiveBookingController
+        extends BaseBookingController<Mono<ResponseEntity<Object>>, Mono<ResponseEntity<Object>>> {
+
+    public ReactiveBookingController(ReactiveBookingClient bookingClient) {
+        super(bookingClient);
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Object>> respond(Supplier<Mono<ResponseEntity<Object>>> call) {
+        return call.get();
+    }
+}
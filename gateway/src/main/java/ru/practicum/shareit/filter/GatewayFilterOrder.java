@@ -0,0 +1,24 @@
+package ru.practicum.shareit.filter;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.core.Ordered;
+
+/**
+ * Порядок servlet-фильтров gateway: чем меньше значение, тем раньше фильтр видит запрос.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class GatewayFilterOrder {
+
+    /**
+     * Раньше ограничения частоты и допуска: в запись попадает вся поданная нагрузка, включая отклоненные запросы.
+     */
+    public static final int CAPTURE = Ordered.HIGHEST_PRECEDENCE + 50;
+
+    public static final int RATE_LIMIT = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    /**
+     * После ограничения частоты: запросы сверх лимита пользователя не занимают места и очередь.
+     */
+    public static final int ADMISSION = Ordered.HIGHEST_PRECEDENCE + 200;
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.filter.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.filter.GatewayFilterOrder;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.admission.enabled", havingValue = "true")
+public class AdmissionConfig {
+
+    /**
+     * Только REQUEST: подзапросы POST /batch выполняются в рамках места, уже занятого пакетом.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionProperties properties,
+                                                                   MeterRegistry meterRegistry,
+                                                                   ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdmissionFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionFilter(properties, meterRegistry, objectMapper));
+        registration.setOrder(GatewayFilterOrder.ADMISSION);
+        return registration;
+    }
+}
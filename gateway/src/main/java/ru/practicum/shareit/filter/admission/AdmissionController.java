@@ -0,0 +1,155 @@
+package ru.practicum.shareit.filter.admission;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ограничивает число одновременно обрабатываемых запросов. Пока есть свободное место, запрос
+ * допускается сразу; когда мест нет, запрос ждет в очереди, а освободившееся место получает
+ * ожидающий с наивысшим приоритетом. Уровень отбрасывается (503), если очередь длиннее его порога
+ * или средняя длительность обработки выше его порога, поэтому при перегрузке первыми
+ * отбрасываются уровни с самыми мягкими порогами.
+ */
+public class AdmissionController {
+
+    /**
+     * Вес нового замера в скользящем среднем длительности обработки.
+     */
+    private static final double LATENCY_WEIGHT = 0.1;
+
+    private final int maxConcurrent;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparingInt(Waiter::getPriority).thenComparingLong(Waiter::getSequence));
+
+    private int inFlight;
+
+    private long sequence;
+
+    private volatile double averageLatencyNanos;
+
+    public AdmissionController(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * Пытается получить место для запроса уровня. При успехе вызывающий обязан вызвать {@link #release(long)}.
+     */
+    public Decision acquire(AdmissionProperties.Tier tier) throws InterruptedException {
+        Waiter waiter;
+        lock.lock();
+        try {
+            if (inFlight < maxConcurrent && waiters.isEmpty()) {
+                inFlight++;
+                return Decision.ADMITTED;
+            }
+            if (waiters.size() >= tier.getMaxQueueDepth()) {
+                return Decision.SHED_QUEUE_DEPTH;
+            }
+            if (tier.getShedLatency() != null && averageLatencyNanos > tier.getShedLatency().toNanos()) {
+                return Decision.SHED_LATENCY;
+            }
+
+            waiter = new Waiter(tier.getPriority(), sequence++, lock.newCondition());
+            waiters.add(waiter);
+            long remainingNanos = tier.getMaxWait().toNanos();
+            while (!waiter.admitted) {
+                if (remainingNanos <= 0) {
+                    waiters.remove(waiter);
+                    return Decision.SHED_TIMEOUT;
+                }
+                try {
+                    remainingNanos = waiter.condition.awaitNanos(remainingNanos);
+                } catch (InterruptedException e) {
+                    if (waiter.admitted) {
+                        release(0);
+                    } else {
+                        waiters.remove(waiter);
+                    }
+                    throw e;
+                }
+            }
+            return Decision.QUEUED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Освобождает место: оно сразу передается первому ожидающему, иначе уменьшается число занятых мест.
+     *
+     * @param latencyNanos длительность обработки допущенного запроса, 0 - не учитывать.
+     */
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            if (latencyNanos > 0) {
+                averageLatencyNanos += LATENCY_WEIGHT * (latencyNanos - averageLatencyNanos);
+            }
+            Waiter next = waiters.poll();
+            if (next != null) {
+                next.admitted = true;
+                next.condition.signal();
+            } else {
+                inFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getAverageLatency(TimeUnit unit) {
+        return averageLatencyNanos / unit.toNanos(1);
+    }
+
+    public enum Decision {
+        ADMITTED,
+        QUEUED,
+        SHED_QUEUE_DEPTH,
+        SHED_LATENCY,
+        SHED_TIMEOUT;
+
+        public boolean isAdmitted() {
+            return this == ADMITTED || this == QUEUED;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class Waiter {
+
+        private final int priority;
+
+        private final long sequence;
+
+        private final Condition condition;
+
+        private boolean admitted;
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.filter.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.exceptions.ErrorResponse;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Допускает запросы через {@link AdmissionController} по уровню маршрута и отвечает 503,
+ * если уровень отброшен. Решения публикуются счетчиком gateway.admission.decisions{tier, outcome},
+ * состояние - gauge gateway.admission.in-flight, gateway.admission.queued и gateway.admission.latency.
+ * Отдельные отказы пишутся в лог только на уровне DEBUG: при перегрузке их тысячи в секунду, а их число
+ * видно по счетчику.
+ */
+@Slf4j
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final List<AdmissionProperties.Tier> tiers;
+
+    private final AdmissionController controller;
+
+    private final Map<AdmissionProperties.Tier, Map<AdmissionController.Decision, Counter>> decisions =
+            new IdentityHashMap<>();
+
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(AdmissionProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.tiers = List.copyOf(properties.getTiers());
+        this.controller = new AdmissionController(properties.getMaxConcurrent());
+        this.objectMapper = objectMapper;
+        for (AdmissionProperties.Tier tier : tiers) {
+            Map<AdmissionController.Decision, Counter> counters = new EnumMap<>(AdmissionController.Decision.class);
+            for (AdmissionController.Decision decision : AdmissionController.Decision.values()) {
+                counters.put(decision, Counter.builder("gateway.admission.decisions")
+                        .description("Admission decisions of the gateway by route tier")
+                        .tag("tier", tier.getName())
+                        .tag("outcome", decision.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry));
+            }
+            decisions.put(tier, counters);
+        }
+        Gauge.builder("gateway.admission.in-flight", controller, AdmissionController::getInFlight)
+                .description("Requests admitted and being processed by the gateway")
+                .register(meterRegistry);
+        Gauge.builder("gateway.admission.queued", controller, AdmissionController::getQueued)
+                .description("Requests waiting for admission")
+                .register(meterRegistry);
+        Gauge.builder("gateway.admission.latency", controller, c -> c.getAverageLatency(TimeUnit.SECONDS))
+                .description("Moving average of admitted request processing time")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdmissionProperties.Tier tier = findTier(request);
+        if (tier == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionController.Decision decision;
+        try {
+            decision = controller.acquire(tier);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            decision = AdmissionController.Decision.SHED_TIMEOUT;
+        }
+        decisions.get(tier).get(decision).increment();
+        if (!decision.isAdmitted()) {
+            log.debug("[LOAD SHED]: tier={}, reason={}, {} {}",
+                    tier.getName(), decision, request.getMethod(), request.getRequestURI());
+            reject(response);
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(startedAt));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                controller.release(System.nanoTime() - startedAt);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse("Gateway is overloaded, try again later."));
+    }
+
+    private AdmissionProperties.Tier findTier(HttpServletRequest request) {
+        for (AdmissionProperties.Tier tier : tiers) {
+            if (!tier.getMethods().isEmpty()
+                    && tier.getMethods().stream().noneMatch(method -> method.equalsIgnoreCase(request.getMethod()))) {
+                continue;
+            }
+            for (String path : tier.getPaths()) {
+                if (pathMatcher.match(path, request.getRequestURI())) {
+                    return tier;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * В режиме async место освобождается, когда ответ действительно отправлен.
+     */
+    private class ReleaseOnComplete implements AsyncListener {
+
+        private final long startedAt;
+
+        ReleaseOnComplete(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            controller.release(System.nanoTime() - startedAt);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
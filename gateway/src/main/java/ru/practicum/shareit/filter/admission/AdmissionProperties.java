@@ -0,0 +1,102 @@
+package ru.practicum.shareit.filter.admission;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Допуск запросов в gateway по уровням приоритета маршрутов. Ожидающий допуска запрос занимает поток
+ * Tomcat, поэтому при связывании проверяется, что max-concurrent вместе с самой длинной очередью уровней
+ * помещается в server.tomcat.threads.max: иначе очередь отняла бы потоки у запросов вне уровней (/actuator).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.admission")
+public class AdmissionProperties implements Validator {
+
+    private boolean enabled = false;
+
+    /**
+     * Сколько запросов gateway обрабатывает одновременно; остальные ждут в очереди по приоритету.
+     */
+    private int maxConcurrent = 100;
+
+    /**
+     * Уровни проверяются по порядку, запрос попадает в первый подходящий.
+     * Запросы, не попавшие ни в один уровень (например /actuator), допускаются без ограничений.
+     */
+    private List<Tier> tiers = new ArrayList<>();
+
+    @Setter(AccessLevel.NONE)
+    @Value("${server.tomcat.threads.max:200}")
+    private int tomcatMaxThreads = 200;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return AdmissionProperties.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Очередь у уровней общая, а max-queue-depth - порог ее длины для уровня, поэтому очередь не длиннее
+     * наибольшего из порогов.
+     */
+    @Override
+    public void validate(Object target, Errors errors) {
+        if (!enabled) {
+            return;
+        }
+        int maxQueueDepth = tiers.stream().mapToInt(Tier::getMaxQueueDepth).max().orElse(0);
+        if (maxConcurrent + maxQueueDepth > tomcatMaxThreads) {
+            errors.rejectValue("tiers", "admission.queueDepth", String.format(
+                    "max-concurrent (%d) plus the longest tier max-queue-depth (%d) must not exceed "
+                            + "server.tomcat.threads.max (%d): queued requests hold Tomcat threads",
+                    maxConcurrent, maxQueueDepth, tomcatMaxThreads));
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Tier {
+
+        private String name;
+
+        /**
+         * Чем меньше значение, тем раньше запрос получает освободившееся место.
+         */
+        private int priority;
+
+        /**
+         * Ant-шаблоны путей, например /items/search или /bookings/**.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * HTTP-методы уровня; если не заданы, подходит любой.
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * Если в общей очереди уже столько запросов, новый запрос уровня сразу получает 503.
+         */
+        private int maxQueueDepth = 50;
+
+        /**
+         * Сколько запрос уровня ждет места в очереди, после этого он получает 503.
+         */
+        private Duration maxWait = Duration.ofSeconds(1);
+
+        /**
+         * Если все места заняты, а средняя длительность обработки запросов выше этого значения,
+         * новый запрос уровня сразу получает 503. Если не задано, учитывается только очередь.
+         */
+        private Duration shedLatency;
+    }
+}
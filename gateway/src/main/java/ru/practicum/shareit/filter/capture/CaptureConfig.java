@@ -0,0 +1,35 @@
+package ru.practicum.shareit.filter.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.filter.GatewayFilterOrder;
+
+@Configuration
+@EnableConfigurationProperties(CaptureProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.capture.enabled", havingValue = "true")
+public class CaptureConfig {
+
+    @Bean(destroyMethod = "close")
+    public CaptureWriter captureWriter(CaptureProperties properties,
+                                       ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry) {
+        return new CaptureWriter(properties.getFile(), properties.getQueueCapacity(), objectMapper, meterRegistry);
+    }
+
+    /**
+     * Только REQUEST. /batch по умолчанию исключен (excluded-paths).
+     */
+    @Bean
+    public FilterRegistrationBean<CaptureFilter> captureFilter(CaptureProperties properties,
+                                                               CaptureWriter captureWriter) {
+        FilterRegistrationBean<CaptureFilter> registration =
+                new FilterRegistrationBean<>(new CaptureFilter(properties, captureWriter));
+        registration.setOrder(GatewayFilterOrder.CAPTURE);
+        return registration;
+    }
+}
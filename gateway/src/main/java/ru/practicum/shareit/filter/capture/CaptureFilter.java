@@ -0,0 +1,158 @@
+package ru.practicum.shareit.filter.capture;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Записывает выборку входящих запросов через {@link CaptureWriter}. Решение о выборке принимается
+ * до обработки, поэтому невыбранные запросы не оборачиваются и не платят за копирование тела.
+ */
+public class CaptureFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final CaptureWriter writer;
+
+    private final double sampleRate;
+
+    private final int maxBodySize;
+
+    private final List<String> excludedPaths;
+
+    private final Set<String> excludedHeaders;
+
+    public CaptureFilter(CaptureProperties properties, CaptureWriter writer) {
+        this.writer = writer;
+        this.sampleRate = properties.getSampleRate();
+        this.maxBodySize = (int) properties.getMaxBodySize().toBytes();
+        this.excludedPaths = List.copyOf(properties.getExcludedPaths());
+        this.excludedHeaders = properties.getExcludedHeaders().stream()
+                .map(header -> header.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return excludedPaths.stream().anyMatch(path -> pathMatcher.match(path, request.getRequestURI()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long timestamp = System.currentTimeMillis();
+        long startedAt = System.nanoTime();
+        ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request, maxBodySize);
+        filterChain.doFilter(wrapper, response);
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new SubmitOnComplete(wrapper, timestamp, startedAt));
+        } else {
+            readUnconsumedBody(wrapper);
+            writer.submit(record(wrapper, response, timestamp, startedAt));
+        }
+    }
+
+    /**
+     * Тело запроса, отклоненного до контроллера (ограничение частоты, допуск), никто не прочитал;
+     * для воспроизведения оно все равно нужно.
+     */
+    private void readUnconsumedBody(ContentCachingRequestWrapper wrapper) throws IOException {
+        if (wrapper.getContentAsByteArray().length > 0 || wrapper.getContentLengthLong() == 0) {
+            return;
+        }
+        ServletInputStream in = wrapper.getInputStream();
+        byte[] buffer = new byte[4096];
+        long total = 0;
+        int read = 0;
+        while (total < maxBodySize && read != -1) {
+            read = in.read(buffer);
+            total += Math.max(read, 0);
+        }
+    }
+
+    private CapturedRequest record(ContentCachingRequestWrapper request, HttpServletResponse response,
+                                   long timestamp, long startedAt) {
+        byte[] body = request.getContentAsByteArray();
+        long contentLength = request.getContentLengthLong();
+        String query = request.getQueryString();
+        return CapturedRequest.builder()
+                .timestamp(timestamp)
+                .method(request.getMethod())
+                .path(query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query)
+                .headers(headers(request))
+                .body(body.length == 0 ? null : new String(body, StandardCharsets.UTF_8))
+                .bodyTruncated(contentLength > body.length || contentLength < 0 && body.length >= maxBodySize)
+                .status(response.getStatus())
+                .durationMicros(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt))
+                .build();
+    }
+
+    private Map<String, List<String>> headers(HttpServletRequest request) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (!excludedHeaders.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, Collections.list(request.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * В режиме async статус и длительность известны только после отправки ответа.
+     */
+    private class SubmitOnComplete implements AsyncListener {
+
+        private final ContentCachingRequestWrapper request;
+
+        private final long timestamp;
+
+        private final long startedAt;
+
+        SubmitOnComplete(ContentCachingRequestWrapper request, long timestamp, long startedAt) {
+            this.request = request;
+            this.timestamp = timestamp;
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            writer.submit(record(request, (HttpServletResponse) event.getSuppliedResponse(), timestamp, startedAt));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
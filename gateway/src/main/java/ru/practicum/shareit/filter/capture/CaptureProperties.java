@@ -0,0 +1,53 @@
+package ru.practicum.shareit.filter.capture;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Запись выборки входящих запросов gateway в JSONL-файл для последующего воспроизведения (см. ReplayRunner).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.capture")
+public class CaptureProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Файл дописывается, каждая строка - один запрос.
+     */
+    private Path file = Path.of("capture", "requests.jsonl");
+
+    /**
+     * Доля записываемых запросов, от 0 до 1.
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Сколько записей может ждать записи на диск; если очередь полна, запись отбрасывается, а не тормозит запрос.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Тело запроса длиннее этого размера обрезается и помечается bodyTruncated.
+     */
+    private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+    /**
+     * Ant-шаблоны путей, которые не записываются. /batch исключен по умолчанию: подзапросы пакета выполняет
+     * shareit-server и по отдельности они не записываются, а тело пакета может быть большим.
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/actuator/**", "/batch"));
+
+    /**
+     * Заголовки, которые не записываются: учетные данные и заголовки соединения.
+     */
+    private List<String> excludedHeaders = new ArrayList<>(List.of(
+            "authorization", "cookie", "host", "connection", "content-length", "transfer-encoding"));
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.filter.capture;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пишет записи в файл из отдельного потока: поток запроса только кладет запись в очередь
+ * и никогда не ждет диска. Если очередь полна, запись отбрасывается. При остановке очередь дописывается.
+ * Счетчик gateway.capture.records{outcome=written|dropped}.
+ */
+@Slf4j
+public class CaptureWriter implements AutoCloseable {
+
+    private static final long POLL_INTERVAL_MILLIS = 200;
+
+    private final BlockingQueue<CapturedRequest> queue;
+
+    private final ObjectMapper objectMapper;
+
+    private final BufferedWriter writer;
+
+    private final Thread thread;
+
+    private final Counter written;
+
+    private final Counter dropped;
+
+    private volatile boolean closed;
+
+    public CaptureWriter(Path file, int queueCapacity, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.objectMapper = objectMapper;
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.written = counter(meterRegistry, "written");
+        this.dropped = counter(meterRegistry, "dropped");
+        this.thread = new Thread(this::drain, "gateway-capture");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        log.info("[CAPTURE]: writing sampled requests to {}", file.toAbsolutePath());
+    }
+
+    public void submit(CapturedRequest request) {
+        if (closed || !queue.offer(request)) {
+            dropped.increment();
+        }
+    }
+
+    private void drain() {
+        List<CapturedRequest> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            try {
+                CapturedRequest request = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (request == null) {
+                    continue;
+                }
+                batch.add(request);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch);
+            write(batch);
+        }
+    }
+
+    /**
+     * Сброс на диск - раз на пачку: при высокой нагрузке пачки крупнее, и запись дешевле в пересчете на строку.
+     */
+    private void write(List<CapturedRequest> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            for (CapturedRequest request : batch) {
+                writer.write(objectMapper.writeValueAsString(request));
+                writer.newLine();
+            }
+            writer.flush();
+            written.increment(batch.size());
+        } catch (IOException e) {
+            dropped.increment(batch.size());
+            log.warn("[CAPTURE]: failed to write {} records: {}", batch.size(), e.getMessage());
+        }
+        batch.clear();
+    }
+
+    @Override
+    public void close() throws IOException, InterruptedException {
+        closed = true;
+        thread.join();
+        writer.close();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("gateway.capture.records")
+                .description("Sampled requests written to or dropped from the capture file")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.filter.capture;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Одна строка файла записи: запрос в том виде, в котором он пришел в gateway, и результат его обработки.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CapturedRequest {
+
+    /**
+     * Момент получения запроса, миллисекунды от эпохи; по разнице между записями восстанавливается темп нагрузки.
+     */
+    private long timestamp;
+
+    private String method;
+
+    /**
+     * Путь вместе со строкой параметров.
+     */
+    private String path;
+
+    private Map<String, List<String>> headers;
+
+    private String body;
+
+    private boolean bodyTruncated;
+
+    private int status;
+
+    private long durationMicros;
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.filter.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.filter.GatewayFilterOrder;
+
+import javax.servlet.DispatcherType;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "shareit-gateway.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties,
+                                           MeterRegistry meterRegistry,
+                                           ObjectMapper objectMapper) {
+        return new RateLimitFilter(properties, meterRegistry, objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setOrder(GatewayFilterOrder.RATE_LIMIT);
+        // Только REQUEST: подзапросы POST /batch списывает BatchController через tryConsumeBatch.
+        registration.setDispatcherTypes(DispatcherType.REQUEST);
+        return registration;
+    }
+}
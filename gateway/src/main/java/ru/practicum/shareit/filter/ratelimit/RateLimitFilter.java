@@ -0,0 +1,176 @@
+package ru.practicum.shareit.filter.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.exceptions.ErrorResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Ограничивает частоту запросов каждого пользователя по группам маршрутов (token bucket).
+ * Корзины хранятся в ограниченном по размеру кэше и удаляются после простоя, поэтому
+ * память не растет вместе с числом пользователей. При превышении лимита отвечает 429 с Retry-After.
+ * Подзапросы POST /batch списываются с корзин своих групп через {@link #tryConsumeBatch}.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final List<String> excludedPaths;
+
+    private final List<RateLimitProperties.Group> groups;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final Map<String, Counter> rejected;
+
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.excludedPaths = List.copyOf(properties.getExcludedPaths());
+        this.groups = List.copyOf(properties.getGroups());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.rejected = groups.stream()
+                .collect(Collectors.toMap(RateLimitProperties.Group::getName, group -> Counter
+                        .builder("gateway.ratelimit.rejected")
+                        .description("Requests rejected with 429 by the per-user rate limiter")
+                        .tag("group", group.getName())
+                        .register(meterRegistry)));
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return isExcluded(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitProperties.Group group = findGroup(request.getMethod(), request.getRequestURI());
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String client = client(request);
+        long now = System.nanoTime();
+        long waitNanos = bucket(group, client, now).tryConsume(now);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = reject(group, client, waitNanos);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse("Too many requests. Retry after " + retryAfterSeconds + " s."));
+    }
+
+    /**
+     * Списывает подзапросы пакета с корзин их групп, как если бы они пришли отдельными запросами:
+     * сами подзапросы выполняет shareit-server, и мимо фильтров gateway они не проходят.
+     * Пакет допускается целиком или не допускается вовсе: если в какой-то группе токенов не хватает,
+     * уже списанные в других группах возвращаются.
+     * @return 0, если пакет допущен, иначе через сколько секунд его повторить.
+     */
+    public long tryConsumeBatch(HttpServletRequest request, List<BatchRequestDto> subRequests) {
+        Map<RateLimitProperties.Group, Integer> permits = new LinkedHashMap<>();
+        for (BatchRequestDto sub : subRequests) {
+            String path = sub.getPath();
+            int query = path.indexOf('?');
+            if (query >= 0) {
+                path = path.substring(0, query);
+            }
+            if (isExcluded(path)) {
+                continue;
+            }
+            RateLimitProperties.Group group = findGroup(sub.getMethod(), path);
+            if (group != null) {
+                permits.merge(group, 1, Integer::sum);
+            }
+        }
+
+        String client = client(request);
+        long now = System.nanoTime();
+        Map<TokenBucket, Integer> consumed = new LinkedHashMap<>();
+        for (Map.Entry<RateLimitProperties.Group, Integer> entry : permits.entrySet()) {
+            TokenBucket bucket = bucket(entry.getKey(), client, now);
+            long waitNanos = bucket.tryConsume(now, entry.getValue());
+            if (waitNanos != 0) {
+                consumed.forEach(TokenBucket::refund);
+                return reject(entry.getKey(), client, waitNanos);
+            }
+            consumed.put(bucket, entry.getValue());
+        }
+        return 0;
+    }
+
+    private boolean isExcluded(String path) {
+        return excludedPaths.stream().anyMatch(excluded -> pathMatcher.match(excluded, path));
+    }
+
+    private static String client(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        return userId != null ? userId : request.getRemoteAddr();
+    }
+
+    private TokenBucket bucket(RateLimitProperties.Group group, String client, long now) {
+        return buckets.get(group.getName() + ":" + client,
+                key -> new TokenBucket(group.getCapacity(), group.getRefillPerSecond(), now));
+    }
+
+    /**
+     * @return через сколько секунд повторить запрос.
+     */
+    private long reject(RateLimitProperties.Group group, String client, long waitNanos) {
+        rejected.get(group.getName()).increment();
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil((double) waitNanos / TimeUnit.SECONDS.toNanos(1)));
+        // Под атакой отказы идут потоком: их число видно по gateway.ratelimit.rejected, а не по логу.
+        log.debug("[RATE LIMIT]: group={}, client={}, retryAfter={}s", group.getName(), client, retryAfterSeconds);
+        return retryAfterSeconds;
+    }
+
+    private RateLimitProperties.Group findGroup(String method, String uri) {
+        for (RateLimitProperties.Group group : groups) {
+            if (group.getMethod() != null && !group.getMethod().equalsIgnoreCase(method)) {
+                continue;
+            }
+            for (String path : group.getPaths()) {
+                if (pathMatcher.match(path, uri)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+}
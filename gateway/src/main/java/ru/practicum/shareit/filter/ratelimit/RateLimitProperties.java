@@ -0,0 +1,69 @@
+package ru.practicum.shareit.filter.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Лимиты запросов на пользователя (X-Sharer-User-Id) для групп маршрутов gateway.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Ant-шаблоны путей, которые не ограничиваются, даже если подходят под группу:
+     * проверки здоровья и сбор метрик не должны получать 429.
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/actuator/**"));
+
+    /**
+     * Максимальное число хранимых корзин (пользователь × группа).
+     */
+    private long maxBuckets = 1_000_000;
+
+    /**
+     * Корзина, к которой не обращались дольше этого времени, удаляется.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Группы проверяются по порядку, запрос попадает в первую подходящую.
+     * Запросы, не попавшие ни в одну группу, не ограничиваются.
+     */
+    private List<Group> groups = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Group {
+
+        private String name;
+
+        /**
+         * Ant-шаблоны путей, например /items/search или /bookings/**.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * HTTP-метод группы; если не задан, подходит любой.
+         */
+        private String method;
+
+        /**
+         * Размер корзины - сколько запросов можно сделать подряд.
+         */
+        private int capacity = 20;
+
+        /**
+         * Скорость пополнения корзины, токенов в секунду.
+         */
+        private double refillPerSecond = 10;
+    }
+}
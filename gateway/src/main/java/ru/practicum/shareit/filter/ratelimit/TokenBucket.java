@@ -0,0 +1,55 @@
+package ru.practicum.shareit.filter.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Корзина токенов одного пользователя в одной группе маршрутов. Блокировка берется
+ * только на саму корзину, поэтому разные пользователи друг другу не мешают.
+ */
+class TokenBucket {
+
+    private final int capacity;
+
+    private final double tokensPerNano;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    TokenBucket(int capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    /**
+     * Забирает один токен.
+     * @return 0, если токен получен, иначе сколько наносекунд ждать следующего токена.
+     */
+    long tryConsume(long now) {
+        return tryConsume(now, 1);
+    }
+
+    /**
+     * Забирает сразу несколько токенов или ни одного.
+     * @return 0, если токены получены, иначе сколько наносекунд ждать, пока их накопится достаточно.
+     */
+    synchronized long tryConsume(long now, int permits) {
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+
+        if (tokens >= permits) {
+            tokens -= permits;
+            return 0;
+        }
+        return (long) Math.ceil((permits - tokens) / tokensPerNano);
+    }
+
+    /**
+     * Возвращает токены, взятые под запрос, который так и не был выполнен.
+     */
+    synchronized void refund(int permits) {
+        tokens = Math.min(capacity, tokens + permits);
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.item.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.base_client.InProcessBaseClient;
+import ru.practicum.shareit.base_client.colocated.ColocatedServer;
+import ru.practicum.shareit.colocated.InProcessKeys;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.Map;
+
+import static ru.practicum.shareit.colocated.InProcessOperation.ADD_NEW_COMMENT;
+import static ru.practicum.shareit.colocated.InProcessOperation.ADD_NEW_ITEM;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ITEM_BY_ID;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ITEM_BY_SEARCH;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ITEM_BY_USER_ID;
+import static ru.practicum.shareit.colocated.InProcessOperation.UPDATE_ITEM;
+
+@Service
+@Profile("colocated")
+public class InProcessItemClient extends InProcessBaseClient implements ItemOperations<ResponseEntity<Object>> {
+
+    public InProcessItemClient(ColocatedServer server, ObjectMapper mapper) {
+        super(server, mapper);
+    }
+
+    @Override
+    public ResponseEntity<Object> addNewItem(Long userId, ItemDto itemDto) {
+        return call(ADD_NEW_ITEM, userId, Map.of(), itemDto);
+    }
+
+    @Override
+    public ResponseEntity<Object> addNewComment(Long bookerId, Long itemId, CommentDto commentDto) {
+        return call(ADD_NEW_COMMENT, bookerId, Map.of(InProcessKeys.ITEM_ID, itemId), commentDto);
+    }
+
+    @Override
+    public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto itemDto) {
+        return call(UPDATE_ITEM, userId, Map.of(InProcessKeys.ITEM_ID, itemId), itemDto);
+    }
+
+    @Override
+    public ResponseEntity<Object> getItemById(Long itemId, Long ownerId) {
+        return call(GET_ITEM_BY_ID, ownerId, Map.of(InProcessKeys.ITEM_ID, itemId));
+    }
+
+    @Override
+    public ResponseEntity<Object> getItemBySearch(String text, Long userId, Integer from, Integer size) {
+        if (text.isBlank()) {
+            return ResponseEntity.status(HttpStatus.OK).body(List.of());
+        }
+
+        Map<String, Object> arguments = Map.of(
+                InProcessKeys.TEXT, text,
+                InProcessKeys.FROM, from,
+                InProcessKeys.SIZE, size
+        );
+        return call(GET_ITEM_BY_SEARCH, userId, arguments);
+    }
+
+    @Override
+    public ResponseEntity<Object> getItemByUserId(Long userId, Integer from, Integer size) {
+        return call(GET_ITEM_BY_USER_ID, userId, Map.of(InProcessKeys.FROM, from, InProcessKeys.SIZE, size));
+    }
+}
@@ -3,12 +3,14 @@ package ru.practicum.shareit.item.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.base_client.BaseClient;
+import ru.practicum.shareit.base_client.cache.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -16,37 +18,63 @@ import java.util.List;
 import java.util.Map;
 
 @Service
-public class ItemClient extends BaseClient {
+@Profile("!colocated")
+public class ItemClient extends BaseClient implements ItemOperations<ResponseEntity<Object>> {
 
     private static final String API_PREFIX = "/items";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
-
+        this.responseCache = responseCache;
     }
 
+    @Override
     public ResponseEntity<Object> addNewItem(Long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+        try {
+            return post("", userId, itemDto);
+        } finally {
+            if (itemDto.getRequestId() != null) {
+                responseCache.evict("/requests/" + itemDto.getRequestId());
+            }
+        }
     }
 
+    @Override
     public ResponseEntity<Object> addNewComment(Long bookerId, Long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", bookerId, commentDto);
+        try {
+            return post("/" + itemId + "/comment", bookerId, commentDto);
+        } finally {
+            responseCache.evict(API_PREFIX + "/" + itemId);
+        }
     }
 
+    @Override
     public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+        try {
+            return patch("/" + itemId, userId, itemDto);
+        } finally {
+            responseCache.evict(API_PREFIX + "/" + itemId);
+            responseCache.evictAll("/requests/");
+        }
     }
 
+    @Override
     public ResponseEntity<Object> getItemById(Long itemId, Long ownerId) {
-        return get("/" + itemId, ownerId);
+        return responseCache.get(API_PREFIX + "/" + itemId, ownerId, () -> getUnconditional("/" + itemId, ownerId));
     }
 
+    @Override
     public ResponseEntity<Object> getItemBySearch(String text, Long userId, Integer from, Integer size) {
         if (text.isBlank()) {
             return ResponseEntity.status(HttpStatus.OK).body(List.of());
@@ -60,6 +88,7 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
+    @Override
     public ResponseEntity<Object> getItemByUserId(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("", userId, parameters);
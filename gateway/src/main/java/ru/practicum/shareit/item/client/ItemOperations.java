@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.client;
+
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * Вызовы shareit-server по вещам, общие для блокирующего и реактивного клиента.
+ * @param <T> ответ клиента: ResponseEntity или Mono с ним.
+ */
+public interface ItemOperations<T> {
+
+    T addNewItem(Long userId, ItemDto itemDto);
+
+    T addNewComment(Long bookerId, Long itemId, CommentDto commentDto);
+
+    T updateItem(Long userId, Long itemId, ItemDto itemDto);
+
+    T getItemById(Long itemId, Long ownerId);
+
+    T getItemBySearch(String text, Long userId, Integer from, Integer size);
+
+    T getItemByUserId(Long userId, Integer from, Integer size);
+}
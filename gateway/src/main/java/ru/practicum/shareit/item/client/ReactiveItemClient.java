@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.base_client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "reactive")
+public class ReactiveItemClient extends ReactiveBaseClient implements ItemOperations<Mono<ResponseEntity<Object>>> {
+
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(
+                builder
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build()
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> addNewItem(Long userId, ItemDto itemDto) {
+        return post("", userId, itemDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> addNewComment(Long bookerId, Long itemId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", bookerId, commentDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> updateItem(Long userId, Long itemId, ItemDto itemDto) {
+        return patch("/" + itemId, userId, itemDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItemById(Long itemId, Long ownerId) {
+        return get("/" + itemId, ownerId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItemBySearch(String text, Long userId, Integer from, Integer size) {
+        if (text.isBlank()) {
+            return Mono.just(ResponseEntity.status(HttpStatus.OK).body(List.of()));
+        }
+
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItemByUserId(Long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("", userId, parameters);
+    }
+}
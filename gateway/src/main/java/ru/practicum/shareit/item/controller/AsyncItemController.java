@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.base_client.async.ClientExecutors;
+import ru.practicum.shareit.item.client.ItemOperations;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@RestController
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "async")
+public class AsyncItemController
+        extends BaseItemController<ResponseEntity<Object>, CompletableFuture<ResponseEntity<Object>>> {
+
+    private final ClientExecutors clientExecutors;
+
+    public AsyncItemController(ItemOperations<ResponseEntity<Object>> itemClient, ClientExecutors clientExecutors) {
+        super(itemClient);
+        this.clientExecutors = clientExecutors;
+    }
+
+    @Override
+    protected CompletableFuture<ResponseEntity<Object>> respond(Supplier<ResponseEntity<Object>> call) {
+        return clientExecutors.supply("items", call);
+    }
+}
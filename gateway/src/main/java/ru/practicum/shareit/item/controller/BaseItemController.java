@@ -0,0 +1,134 @@
+package ru.practicum.shareit.item.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import ru.practicum.shareit.item.client.ItemOperations;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.function.Supplier;
+
+/**
+ * Эндпоинты вещей, общие для всех режимов шлюза. Режим определяет только то, как выполняется вызов
+ * клиента и какой тип возвращает эндпоинт: ResponseEntity, CompletableFuture или Mono.
+ * @param <T> ответ клиента shareit-server.
+ * @param <R> ответ эндпоинта.
+ */
+@Slf4j
+@Validated
+@RequestMapping(path = "/items")
+public abstract class BaseItemController<T, R> {
+
+    private final ItemOperations<T> itemClient;
+
+    protected BaseItemController(ItemOperations<T> itemClient) {
+        this.itemClient = itemClient;
+    }
+
+    /**
+     * Выполняет вызов клиента так, как это принято в режиме шлюза.
+     * @param call вызов shareit-server.
+     * @return ответ эндпоинта.
+     */
+    protected abstract R respond(Supplier<T> call);
+
+    /**
+     * Эндпоинт по добовлению предмета.
+     *
+     * @param userId  индефикатор пользователя
+     * @param itemDto объект предмент, котрый добавлят пользватель.
+     * @return Возвращает объект, котрый добавил пользватель.
+     */
+    @PostMapping
+    public R addNewItem(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody @Valid ItemDto itemDto) {
+        log.info("Creating item={}, userid={}", itemDto, userId);
+        return respond(() -> itemClient.addNewItem(userId, itemDto));
+    }
+
+    /**
+     * Эндпонит по соэданию комментария.
+     * @param bookerId id пользавателя.
+     * @param itemId объект товар, которому оставляется комментарий.
+     * @param commentDto комментарий.
+     * @return Возвращает объкт комментария.
+     */
+    @PostMapping("/{itemId}/comment")
+    public R addNewComment(
+            @RequestHeader("X-Sharer-User-Id") Long bookerId,
+            @PathVariable Long itemId,
+            @RequestBody @Valid CommentDto commentDto) {
+        log.info("Creating comment={}, bookerId={}, itemId={}", commentDto, bookerId, itemId);
+        return respond(() -> itemClient.addNewComment(bookerId, itemId, commentDto));
+    }
+
+    /**
+     * Эндпоинт по обновлениб предмета.
+     * @param userId индефикатор пользователя
+     * @param itemId идентификатор предмета
+     * @param itemDto предмент, который обновляет пользватель.
+     * @return Возвращает объект, котрый обновил пользватель.
+     */
+    @PatchMapping("/{itemId}")
+    public R updateItem(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestBody ItemDto itemDto) {
+        log.info("Update item={}, itemId{}, userId={}", itemDto, itemId, userId);
+        return respond(() -> itemClient.updateItem(userId, itemId, itemDto));
+    }
+
+    /**
+     * Эндпоинт по поиску предмета по индефикатору.
+     * @param itemId индефикатор предмета
+     * @return Возвращает предмет по его идентификатору.
+     */
+    @GetMapping("/{itemId}")
+    public R getItemById(
+            @RequestHeader("X-Sharer-User-Id") Long ownerId,
+            @PathVariable Long itemId) {
+        log.info("Get item by itemId={}, ownerId={}", itemId, ownerId);
+        return respond(() -> itemClient.getItemById(itemId, ownerId));
+    }
+
+    /**
+     * Эндпоинт по поиску предмета по тексту.
+     * @param text текст запроса.
+     * @return Возвращает предмет.
+     */
+    @GetMapping("/search")
+    public R getItemsBySearch(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam String text,
+            @RequestParam(defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer size) {
+        log.info("Searching item={}, from{}, size{}, userId={}", text, from, size, userId);
+        return respond(() -> itemClient.getItemBySearch(text, userId, from, size));
+    }
+
+    /**
+     * Эндпоитн по поиску предметов, которые принадлежат пользователю.
+     * @param userId идентификатор пользователя
+     * @return Возвращает предмет.
+     */
+    @GetMapping
+    public R getItemByUserId(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(name = "from", defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(name = "size", defaultValue = "10") @Min(1) @Max(100) Integer size) {
+        log.info("Get item by userId={}, from={}, size={}", userId, from, size);
+        return respond(() -> itemClient.getItemByUserId(userId, from, size));
+    }
+}
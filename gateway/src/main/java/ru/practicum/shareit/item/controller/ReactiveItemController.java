@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.client.ReactiveItemClient;
+
+import java.util.function.Supplier;
+
+@RestController
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "reactive")
+public class ReactiveItemController
+        extends BaseItemController<Mono<ResponseEntity<Object>>, Mono<ResponseEntity<Object>>> {
+
+    public ReactiveItemController(ReactiveItemClient itemClient) {
+        super(itemClient);
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Object>> respond(Supplier<Mono<ResponseEntity<Object>>> call) {
+        return call.get();
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTags;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTagsProvider;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTags;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTagsProvider;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.net.URI;
+
+/**
+ * Таймеры задержек: http.server.requests по маршрутам gateway и http.client.requests по вызовам shareit-server
+ * из BaseClient и ReactiveBaseClient. Клиенты передают идентификаторы прямо в шаблоне пути (например "/" + bookingId),
+ * поэтому тег uri вызова строится по фактическому пути с заменой идентификаторов. Оба таймера помечены тегом state.
+ * Гистограммы включаются свойствами management.metrics.distribution.percentiles-histogram.*,
+ * выгрузка - /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public WebMvcTagsContributor stateTagContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                return Tags.of(RouteTags.STATE, RouteTags.state(request.getParameter(RouteTags.STATE)));
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+
+    @Bean
+    public RestTemplateExchangeTagsProvider upstreamTagsProvider() {
+        return (urlTemplate, request, response) -> Tags.of(
+                RestTemplateExchangeTags.method(request),
+                uri(request.getURI()),
+                RestTemplateExchangeTags.status(response),
+                RestTemplateExchangeTags.clientName(request),
+                RestTemplateExchangeTags.outcome(response),
+                state(request.getURI()));
+    }
+
+    @Bean
+    public WebClientExchangeTagsProvider reactiveUpstreamTagsProvider() {
+        return (request, response, throwable) -> Tags.of(
+                WebClientExchangeTags.method(request),
+                uri(request.url()),
+                WebClientExchangeTags.status(response, throwable),
+                WebClientExchangeTags.clientName(request),
+                WebClientExchangeTags.outcome(response),
+                state(request.url()));
+    }
+
+    private static Tag uri(URI uri) {
+        return Tag.of("uri", RouteTags.path(uri.getPath()));
+    }
+
+    private static Tag state(URI uri) {
+        return Tag.of(RouteTags.STATE,
+                RouteTags.state(UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst(RouteTags.STATE)));
+    }
+}
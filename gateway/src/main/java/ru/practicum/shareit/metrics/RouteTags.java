@@ -0,0 +1,33 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import java.util.regex.Pattern;
+
+/**
+ * Значения тегов маршрута с ограниченным числом вариантов: идентификаторы в пути заменяются на {id},
+ * а состояние бронирований, которого нет в {@link BookingState}, помечается UNKNOWN.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RouteTags {
+
+    public static final String STATE = "state";
+
+    public static final String NONE = "none";
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    public static String path(String path) {
+        return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+    public static String state(@Nullable String state) {
+        if (state == null) {
+            return NONE;
+        }
+        return BookingState.from(state).map(Enum::name).orElse("UNKNOWN");
+    }
+}
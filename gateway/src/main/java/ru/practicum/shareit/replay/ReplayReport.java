@@ -0,0 +1,68 @@
+package ru.practicum.shareit.replay;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import ru.practicum.shareit.metrics.RouteTags;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограммы задержек воспроизведения по маршрутам и в целом. Маршрут - метод и путь без параметров,
+ * в котором числовые сегменты заменены на {id}, чтобы /bookings/1 и /bookings/2 попадали в одну строку.
+ * Значения хранятся в микросекундах с точностью до трех значащих цифр.
+ */
+class ReplayReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Histogram total = new ConcurrentHistogram(3);
+
+    private final Map<String, Histogram> routes = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    private final LongAdder failed = new LongAdder();
+
+    void record(String method, String path, int status, long latencyNanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        total.recordValue(micros);
+        routes.computeIfAbsent(route(method, path), r -> new ConcurrentHistogram(3)).recordValue(micros);
+        statuses.computeIfAbsent(status / 100 + "xx", s -> new LongAdder()).increment();
+    }
+
+    void recordFailure() {
+        failed.increment();
+    }
+
+    void print(PrintStream out) {
+        out.printf("status: %s, failed (no response) %d%n", new TreeMap<>(statuses), failed.sum());
+        out.printf("%-32s %8s %9s %9s %9s %9s %9s%n", "route", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+                "max ms");
+        new TreeMap<>(routes).forEach((route, histogram) -> printRow(out, route, histogram));
+        printRow(out, "all", total);
+        out.println();
+        out.println("latency distribution, all routes (ms):");
+        total.outputPercentileDistribution(out, 5, MICROS_PER_MILLI);
+    }
+
+    private static void printRow(PrintStream out, String route, Histogram histogram) {
+        out.printf("%-32s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", route, histogram.getTotalCount(),
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    static String route(String method, String path) {
+        int query = path.indexOf('?');
+        String route = query < 0 ? path : path.substring(0, query);
+        return method + " " + RouteTags.path(route);
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.replay;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.filter.capture.CapturedRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Воспроизводит файл, записанный {@link ru.practicum.shareit.filter.capture.CaptureFilter}, на gateway
+ * или напрямую на shareit-server и печатает гистограммы задержек по маршрутам.
+ *
+ * <p>Запуск из собранного jar gateway (Spring-контекст не поднимается):
+ * <pre>
+ * java -cp gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar \
+ *      -Dloader.main=ru.practicum.shareit.replay.ReplayRunner \
+ *      org.springframework.boot.loader.PropertiesLauncher \
+ *      --file=capture/requests.jsonl --target=http://localhost:8080 --speed=10
+ * </pre>
+ *
+ * <p>--speed=1 и --speed=10 сохраняют интервалы между запросами из записи, сжатые в заданное число раз;
+ * запросы отправляются по расписанию, не дожидаясь ответов на предыдущие, а задержка отсчитывается
+ * от запланированного момента отправки, поэтому отставание самого генератора не прячется.
+ * --speed=max отправляет запросы подряд, держа не больше --concurrency (по умолчанию 64) запросов в полете.
+ * Запросы с обрезанным телом пропускаются. Идентификаторы в путях и X-Sharer-User-Id отправляются как есть,
+ * поэтому целевая база должна содержать те же данные: копия базы Postgres или профиль ci (H2),
+ * заполненный до записи тем же сценарием.
+ */
+public final class ReplayRunner {
+
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "date", "expect", "from", "host", "upgrade", "via", "warning");
+
+    private final HttpClient client;
+
+    private final URI target;
+
+    private final double speed;
+
+    private final int concurrency;
+
+    private final Duration timeout;
+
+    private final ReplayReport report = new ReplayReport();
+
+    private ReplayRunner(URI target, double speed, int concurrency, Duration timeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.target = target;
+        this.speed = speed;
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parse(args);
+        Path file = Path.of(options.getOrDefault("file", "capture/requests.jsonl"));
+        String speedOption = options.getOrDefault("speed", "1");
+        double speed = "max".equalsIgnoreCase(speedOption) ? Double.POSITIVE_INFINITY : Double.parseDouble(speedOption);
+        ReplayRunner runner = new ReplayRunner(
+                URI.create(options.getOrDefault("target", "http://localhost:8080")),
+                speed,
+                Integer.parseInt(options.getOrDefault("concurrency", "64")),
+                Duration.parse("PT" + options.getOrDefault("timeout", "30s").toUpperCase(Locale.ROOT)));
+
+        List<CapturedRequest> requests = read(file);
+        System.out.printf("replaying %d requests from %s to %s at %s speed%n",
+                requests.size(), file, runner.target, speedOption);
+        runner.warmUp();
+        runner.replay(requests);
+    }
+
+    /**
+     * Первый запрос HttpClient загружает и инициализирует классы клиента; без прогрева это время
+     * попало бы в задержку первых запросов записи.
+     */
+    private void warmUp() throws InterruptedException {
+        try {
+            client.send(HttpRequest.newBuilder(target.resolve("/actuator/health")).timeout(timeout).build(),
+                    HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            System.out.printf("warm-up request failed: %s%n", e.getMessage());
+        }
+    }
+
+    private void replay(List<CapturedRequest> requests) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(Double.isInfinite(speed) ? concurrency : Integer.MAX_VALUE);
+        List<CompletableFuture<Void>> responses = new ArrayList<>(requests.size());
+        int skipped = 0;
+        long firstTimestamp = requests.isEmpty() ? 0 : requests.get(0).getTimestamp();
+        long startedAt = System.nanoTime();
+        for (CapturedRequest captured : requests) {
+            if (captured.isBodyTruncated()) {
+                skipped++;
+                continue;
+            }
+            long scheduledAt = Double.isInfinite(speed)
+                    ? System.nanoTime()
+                    : startedAt + (long) (TimeUnit.MILLISECONDS.toNanos(captured.getTimestamp() - firstTimestamp) / speed);
+            for (long wait = scheduledAt - System.nanoTime(); wait > 0; wait = scheduledAt - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            long sendAt = Double.isInfinite(speed) ? System.nanoTime() : scheduledAt;
+            responses.add(client.sendAsync(toHttpRequest(captured), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        inFlight.release();
+                        if (error != null) {
+                            report.recordFailure();
+                        } else {
+                            report.record(captured.getMethod(), captured.getPath(), response.statusCode(),
+                                    System.nanoTime() - sendAt);
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        System.out.printf("sent %d, skipped %d (truncated body) in %.1f s, %.1f req/s%n",
+                responses.size(), skipped, seconds, responses.size() / seconds);
+        report.print(System.out);
+    }
+
+    private HttpRequest toHttpRequest(CapturedRequest captured) {
+        HttpRequest.BodyPublisher body = captured.getBody() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(captured.getBody());
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(captured.getPath()))
+                .timeout(timeout)
+                .method(captured.getMethod(), body);
+        if (captured.getHeaders() != null) {
+            captured.getHeaders().forEach((name, values) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> builder.header(name, value));
+                }
+            });
+        }
+        return builder.build();
+    }
+
+    private static List<CapturedRequest> read(Path file) throws IOException {
+        List<CapturedRequest> requests = new ArrayList<>();
+        try (MappingIterator<CapturedRequest> lines =
+                     new ObjectMapper().readerFor(CapturedRequest.class).readValues(file.toFile())) {
+            lines.forEachRemaining(requests::add);
+        }
+        requests.sort(Comparator.comparingLong(CapturedRequest::getTimestamp));
+        return requests;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+}
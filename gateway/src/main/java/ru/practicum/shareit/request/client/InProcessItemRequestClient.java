@@ -0,0 +1,47 @@
+package ru.practicum.shareit.request.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.base_client.InProcessBaseClient;
+import ru.practicum.shareit.base_client.colocated.ColocatedServer;
+import ru.practicum.shareit.colocated.InProcessKeys;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.Map;
+
+import static ru.practicum.shareit.colocated.InProcessOperation.CREATE_ITEM_REQUEST;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ALL_ITEM_REQUESTS;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ITEM_REQUEST_BY_ID;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ITEM_REQUEST_BY_OWNER_ID;
+
+@Service
+@Profile("colocated")
+public class InProcessItemRequestClient extends InProcessBaseClient
+        implements ItemRequestOperations<ResponseEntity<Object>> {
+
+    public InProcessItemRequestClient(ColocatedServer server, ObjectMapper mapper) {
+        super(server, mapper);
+    }
+
+    @Override
+    public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
+        return call(CREATE_ITEM_REQUEST, userId, Map.of(), itemRequestDto);
+    }
+
+    @Override
+    public ResponseEntity<Object> getItemRequestByOwnerId(Long userId) {
+        return call(GET_ITEM_REQUEST_BY_OWNER_ID, userId);
+    }
+
+    @Override
+    public ResponseEntity<Object> getAllItemRequests(Integer from, Integer size, Long userId) {
+        return call(GET_ALL_ITEM_REQUESTS, userId, Map.of(InProcessKeys.FROM, from, InProcessKeys.SIZE, size));
+    }
+
+    @Override
+    public ResponseEntity<Object> getItemRequestById(Long requestId, Long userId) {
+        return call(GET_ITEM_REQUEST_BY_ID, userId, Map.of(InProcessKeys.REQUEST_ID, requestId));
+    }
+}
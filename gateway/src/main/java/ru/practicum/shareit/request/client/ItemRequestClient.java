@@ -3,44 +3,57 @@ package ru.practicum.shareit.request.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.base_client.BaseClient;
+import ru.practicum.shareit.base_client.cache.ResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
 
 @Service
-public class ItemRequestClient extends BaseClient {
+@Profile("!colocated")
+public class ItemRequestClient extends BaseClient implements ItemRequestOperations<ResponseEntity<Object>> {
 
     private static final String API_PREFIX = "/requests";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory,
+                             ResponseCache responseCache) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
+        this.responseCache = responseCache;
     }
 
+    @Override
     public ResponseEntity<Object> createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
+    @Override
     public ResponseEntity<Object> getItemRequestByOwnerId(Long userId) {
         return get("", userId);
     }
 
+    @Override
     public ResponseEntity<Object> getAllItemRequests(Integer from, Integer size, Long userId) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
+    @Override
     public ResponseEntity<Object> getItemRequestById(Long requestId, Long userId) {
-        return get("/" + requestId, userId);
+        return responseCache.get(API_PREFIX + "/" + requestId, userId, () -> getUnconditional("/" + requestId, userId));
     }
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.request.client;
+
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+/**
+ * Вызовы shareit-server по запросам вещей, общие для блокирующего и реактивного клиента.
+ * @param <T> ответ клиента: ResponseEntity или Mono с ним.
+ */
+public interface ItemRequestOperations<T> {
+
+    T createItemRequest(Long userId, ItemRequestDto itemRequestDto);
+
+    T getItemRequestByOwnerId(Long userId);
+
+    T getAllItemRequests(Integer from, Integer size, Long userId);
+
+    T getItemRequestById(Long requestId, Long userId);
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.request.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.base_client.ReactiveBaseClient;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "reactive")
+public class ReactiveItemRequestClient extends ReactiveBaseClient
+        implements ItemRequestOperations<Mono<ResponseEntity<Object>>> {
+
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(
+                builder
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build()
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> createItemRequest(Long userId, ItemRequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItemRequestByOwnerId(Long userId) {
+        return get("", userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getAllItemRequests(Integer from, Integer size, Long userId) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("/all?from={from}&size={size}", userId, parameters);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getItemRequestById(Long requestId, Long userId) {
+        return get("/" + requestId, userId);
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.request.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.base_client.async.ClientExecutors;
+import ru.practicum.shareit.request.client.ItemRequestOperations;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@RestController
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "async")
+public class AsyncItemRequestController
+        extends BaseItemRequestController<ResponseEntity<Object>, CompletableFuture<ResponseEntity<Object>>> {
+
+    private final ClientExecutors clientExecutors;
+
+    public AsyncItemRequestController(ItemRequestOperations<ResponseEntity<Object>> requestClient, ClientExecutors clientExecutors) {
+        super(requestClient);
+        this.clientExecutors = clientExecutors;
+    }
+
+    @Override
+    protected CompletableFuture<ResponseEntity<Object>> respond(Supplier<ResponseEntity<Object>> call) {
+        return clientExecutors.supply("requests", call);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.request.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import ru.practicum.shareit.request.client.ItemRequestOperations;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.function.Supplier;
+
+/**
+ * Эндпоинты запросов вещей, общие для всех режимов шлюза. Режим определяет только то, как выполняется вызов
+ * клиента и какой тип возвращает эндпоинт: ResponseEntity, CompletableFuture или Mono.
+ * @param <T> ответ клиента shareit-server.
+ * @param <R> ответ эндпоинта.
+ */
+@Slf4j
+@Validated
+@RequestMapping("/requests")
+public abstract class BaseItemRequestController<T, R> {
+
+    private final ItemRequestOperations<T> requestClient;
+
+    protected BaseItemRequestController(ItemRequestOperations<T> requestClient) {
+        this.requestClient = requestClient;
+    }
+
+    /**
+     * Выполняет вызов клиента так, как это принято в режиме шлюза.
+     * @param call вызов shareit-server.
+     * @return ответ эндпоинта.
+     */
+    protected abstract R respond(Supplier<T> call);
+
+    @PostMapping
+    public R createItemRequest(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody @Valid ItemRequestDto itemRequestDto) {
+        log.info("Creating itemRequest={}, userId={}", itemRequestDto, userId);
+        return respond(() -> requestClient.createItemRequest(userId, itemRequestDto));
+    }
+
+    @GetMapping
+    public R getItemRequestByOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Get itemRequest by ownerId={}", userId);
+        return respond(() -> requestClient.getItemRequestByOwnerId(userId));
+    }
+
+    @GetMapping("/all")
+    public R getAllItemRequests(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) Integer size) {
+        log.info("Get all itemRequest, userId={}, from={}, size={}", userId, from, size);
+        return respond(() -> requestClient.getAllItemRequests(from, size, userId));
+    }
+
+    @GetMapping("{id}")
+    public R getItemRequestById(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable(value = "id") Long requestId) {
+        log.info("Get itemRequest by requestId={}, userId={}", requestId, userId);
+        return respond(() -> requestClient.getItemRequestById(requestId, userId));
+    }
+}
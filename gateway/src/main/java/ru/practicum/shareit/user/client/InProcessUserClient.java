@@ -0,0 +1,51 @@
+package ru.practicum.shareit.user.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.base_client.InProcessBaseClient;
+import ru.practicum.shareit.base_client.colocated.ColocatedServer;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.Map;
+
+import static ru.practicum.shareit.colocated.InProcessOperation.CREATE_USER;
+import static ru.practicum.shareit.colocated.InProcessOperation.DELETE_USER;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ALL_USERS;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_USER_BY_ID;
+import static ru.practicum.shareit.colocated.InProcessOperation.UPDATE_USER;
+
+@Service
+@Profile("colocated")
+public class InProcessUserClient extends InProcessBaseClient implements UserOperations<ResponseEntity<Object>> {
+
+    public InProcessUserClient(ColocatedServer server, ObjectMapper mapper) {
+        super(server, mapper);
+    }
+
+    @Override
+    public ResponseEntity<Object> createUser(UserDto userDto) {
+        return call(CREATE_USER, null, Map.of(), userDto);
+    }
+
+    @Override
+    public ResponseEntity<Object> updateUser(UserDto userDto, Long userId) {
+        return call(UPDATE_USER, userId, Map.of(), userDto);
+    }
+
+    @Override
+    public ResponseEntity<Object> getUserById(Long userId) {
+        return call(GET_USER_BY_ID, userId);
+    }
+
+    @Override
+    public ResponseEntity<Object> getAllUsers() {
+        return call(GET_ALL_USERS, null);
+    }
+
+    @Override
+    public ResponseEntity<Object> deleteUser(Long userId) {
+        return call(DELETE_USER, userId);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.user.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.base_client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+@Service
+@ConditionalOnProperty(name = "shareit-gateway.mode", havingValue = "reactive")
+public class ReactiveUserClient extends ReactiveBaseClient implements UserOperations<Mono<ResponseEntity<Object>>> {
+
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
+        super(
+                builder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build()
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> createUser(UserDto userDto) {
+        return post("", userDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> updateUser(UserDto userDto, Long userId) {
+        return patch("/" + userId, userDto);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getUserById(Long userId) {
+        return get("/" + userId);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return get("");
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
+        return delete("/" + userId);
+    }
+}
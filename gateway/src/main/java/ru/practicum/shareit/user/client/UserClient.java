@@ -3,44 +3,69 @@ package ru.practicum.shareit.user.client;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.base_client.BaseClient;
+import ru.practicum.shareit.base_client.cache.ResponseCache;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
-public class UserClient extends BaseClient {
+@Profile("!colocated")
+public class UserClient extends BaseClient implements UserOperations<ResponseEntity<Object>> {
 
     private static final String API_PREFIX = "/users";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory,
+                      ResponseCache responseCache) {
         super(
                 builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> requestFactory)
                         .build()
         );
+        this.responseCache = responseCache;
     }
 
+    @Override
     public ResponseEntity<Object> createUser(UserDto userDto) {
         return post("", userDto);
     }
 
+    @Override
     public ResponseEntity<Object> updateUser(UserDto userDto, Long userId) {
-        return patch("/" + userId, userDto);
+        try {
+            return patch("/" + userId, userDto);
+        } finally {
+            responseCache.evict(API_PREFIX + "/" + userId);
+            // имя пользователя входит в комментарии карточки вещи
+            responseCache.evictAll("/items/");
+        }
     }
 
+    @Override
     public ResponseEntity<Object> getUserById(Long userId) {
-        return get("/" + userId);
+        return responseCache.get(API_PREFIX + "/" + userId, null, () -> getUnconditional("/" + userId, null));
     }
 
+    @Override
     public ResponseEntity<Object> getAllUsers() {
         return get("");
     }
 
-    public void deleteUser(Long userId) {
-        delete("/" + userId);
+    @Override
+    public ResponseEntity<Object> deleteUser(Long userId) {
+        try {
+            return delete("/" + userId);
+        } finally {
+            // удаление каскадно затрагивает вещи, запросы и бронирования пользователя
+            responseCache.evictAll();
+        }
     }
 }
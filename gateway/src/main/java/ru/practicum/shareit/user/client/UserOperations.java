@@ -0,0 +1,20 @@
+package ru.practicum.shareit.user.client;
+
+import ru.practicum.shareit.user.dto.UserDto;
+
+/**
+ * Вызовы shareit-server по пользователям, общие для блокирующего и реактивного клиента.
+ * @param <T> ответ клиента: ResponseEntity или Mono с ним.
+ */
+public interface UserOperations<T> {
+
+    T createUser(UserDto userDto);
+
+    T updateUser(UserDto userDto, Long userId);
+
+    T getUserById(Long userId);
+
+    T getAllUsers();
+
+    T deleteUser(Long userId);
+}
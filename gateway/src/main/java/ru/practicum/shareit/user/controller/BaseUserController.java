@@ -0,0 +1,95 @@
+package ru.practicum.shareit.user.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import ru.practicum.shareit.user.client.UserOperations;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.validation.Valid;
+import java.util.function.Supplier;
+
+/**
+ * Эндпоинты пользователей, общие для всех режимов шлюза. Режим определяет только то, как выполняется вызов
+ * клиента и какой тип возвращает эндпоинт: ResponseEntity, CompletableFuture или Mono.
+ * @param <T> ответ клиента shareit-server.
+ * @param <R> ответ эндпоинта.
+ */
+@Slf4j
+@RequestMapping(path = "/users")
+public abstract class BaseUserController<T, R> {
+
+    private final UserOperations<T> userClient;
+
+    protected BaseUserController(UserOperations<T> userClient) {
+        this.userClient = userClient;
+    }
+
+    /**
+     * Выполняет вызов клиента так, как это принято в режиме шлюза.
+     * @param call вызов shareit-server.
+     * @return ответ эндпоинта.
+     */
+    protected abstract R respond(Supplier<T> call);
+
+    /**
+     * Эндпоинт по созданию пользователя.
+     * @param userDto обьек пользовател.
+     * @return Возвращает созданного польлзователя.
+     */
+    @PostMapping
+    public R creatUser(@RequestBody @Valid UserDto userDto) {
+        log.info("Creating user={}", userDto);
+        return respond(() -> userClient.createUser(userDto));
+    }
+
+    /**
+     * Эндпонит по изменению пользователя.
+     * @param userDto обьект с полями/полям, котрые будут изменены.
+     * @param userId идентификатор пользователя, который будет изменет.
+     * @return Возварщает измененного пользователя.
+     */
+
+    @PatchMapping("/{userId}")
+    public R updateUser(@RequestBody UserDto userDto, @PathVariable Long userId) {
+        log.info("Update user={}, userId={}", userDto, userId);
+        return respond(() -> userClient.updateUser(userDto, userId));
+    }
+
+    /**
+     * Энодпоинт по нахожднию пользователя по его идентификатору.
+     * @param userId идентификатор пользователя.
+     * @return Возварщает пользователя по его идентификатору
+     */
+    @GetMapping("/{userId}")
+    public R getUserById(@PathVariable Long userId) {
+        log.info("Get user by userId={}", userId);
+        return respond(() -> userClient.getUserById(userId));
+    }
+
+    /**
+     * Эндпоинт по нахождению всех пользователей.
+     * @return Возвращает список всех пользователей.
+     */
+    @GetMapping
+    public R getAllUsers() {
+        log.info("Get all users.");
+        return respond(() -> userClient.getAllUsers());
+    }
+
+    /**
+     * Эндпоинт по удалению пользователя по его идентификатору.
+     * @param userId идентификатор пользователя.
+     * @return Возвращает ответ shareit-server на удаление.
+     */
+    @DeleteMapping("/{userId}")
+    public R deleteUserById(@PathVariable Long userId) {
+        log.info("Delete user bu userId={}", userId);
+        return respond(() -> userClient.deleteUser(userId));
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.base_client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BaseClientTest {
+
+    private static final String CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Method under test: {@link BaseClient#prepareGatewayResponse}
+     */
+    @Test
+    void prepareGatewayResponse_whenResourceHeaderContributed_thenPassedThrough() {
+        ResponseEntity<Object> response = BaseClient.prepareGatewayResponse(HttpStatus.OK, serverHeaders(),
+                new byte[]{'[', ']'}, BaseClient.passthroughHeaders(List.of(CURSOR_HEADER)));
+
+        assertEquals("abc", response.getHeaders().getFirst(CURSOR_HEADER));
+        assertEquals("true", response.getHeaders().getFirst(ClientHeaders.IDEMPOTENT_REPLAYED));
+        assertEquals("W/\"1\"", response.getHeaders().getETag());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.SET_COOKIE));
+    }
+
+    /**
+     * Method under test: {@link BaseClient#prepareGatewayResponse}
+     */
+    @Test
+    void prepareGatewayResponse_whenResourceHeaderNotContributed_thenDropped() {
+        ResponseEntity<Object> response = BaseClient.prepareGatewayResponse(HttpStatus.OK, serverHeaders(),
+                null, BaseClient.passthroughHeaders(List.of()));
+
+        assertNull(response.getHeaders().getFirst(CURSOR_HEADER));
+        assertEquals("true", response.getHeaders().getFirst(ClientHeaders.IDEMPOTENT_REPLAYED));
+        assertNull(response.getBody());
+    }
+
+    private static HttpHeaders serverHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(CURSOR_HEADER, "abc");
+        headers.set(ClientHeaders.IDEMPOTENT_REPLAYED, "true");
+        headers.setETag("W/\"1\"");
+        headers.set(HttpHeaders.SET_COOKIE, "session=1");
+        return headers;
+    }
+}
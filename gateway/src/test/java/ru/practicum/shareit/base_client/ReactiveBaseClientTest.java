@@ -0,0 +1,70 @@
+package ru.practicum.shareit.base_client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.base_client.idempotency.IdempotencyExchangeFilter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReactiveBaseClientTest {
+
+    private final AtomicReference<ClientRequest> sent = new AtomicReference<>();
+
+    private final TestClient client = new TestClient(WebClient.builder()
+            .baseUrl("http://server/bookings")
+            .exchangeFunction(request -> {
+                sent.set(request);
+                return Mono.just(ClientResponse.create(HttpStatus.CREATED)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .header(HttpHeaders.SET_COOKIE, "session=1")
+                        .build());
+            })
+            .build());
+
+    @AfterEach
+    void resetRequestContext() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Method under test: {@link ReactiveBaseClient#post(String, long, Object)}
+     */
+    @Test
+    void post_whenIdempotencyKeyInInboundRequest_thenForwardedLikeBaseClient() {
+        MockHttpServletRequest inbound = new MockHttpServletRequest();
+        inbound.addHeader(ClientHeaders.IDEMPOTENCY_KEY, "key-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(inbound));
+        Map<String, Object> body = Map.of("itemId", 1);
+
+        ResponseEntity<Object> response = client.post("", 1L, body).block();
+
+        HttpHeaders headers = sent.get().headers();
+        assertEquals("key-1", headers.getFirst(ClientHeaders.IDEMPOTENCY_KEY));
+        assertEquals("gzip", headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(body, sent.get().attribute(IdempotencyExchangeFilter.BODY_ATTRIBUTE).orElse(null));
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeaders().get(HttpHeaders.SET_COOKIE));
+    }
+
+    private static class TestClient extends ReactiveBaseClient {
+
+        TestClient(WebClient webClient) {
+            super(webClient, List.of());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.base_client.async;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClientExecutorsTest {
+
+    private ClientExecutors executors;
+
+    @AfterEach
+    void tearDown() {
+        executors.close();
+    }
+
+    /**
+     * Method under test: {@link ClientExecutors#run}
+     */
+    @Test
+    void run_whenQueueNotFull_thenPoolGrowsToSize() throws InterruptedException {
+        AsyncClientProperties.Pool pool = new AsyncClientProperties.Pool();
+        pool.setSize(4);
+        pool.setQueueCapacity(100);
+        AsyncClientProperties properties = new AsyncClientProperties();
+        properties.getExecutors().put("bookings", pool);
+        executors = new ClientExecutors(properties, new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < 4; i++) {
+            executors.run("bookings", () -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
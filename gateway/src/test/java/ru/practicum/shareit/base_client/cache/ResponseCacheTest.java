@@ -0,0 +1,123 @@
+package ru.practicum.shareit.base_client.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResponseCacheTest {
+
+    private final ResponseCache cache = new ResponseCache(new ResponseCacheProperties(), new SimpleMeterRegistry());
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    /**
+     * Method under test: {@link ResponseCache#get}
+     */
+    @Test
+    void get_whenCached_thenLoaderNotCalled() {
+        ResponseEntity<Object> first = cache.get("/items/1", 1L, this::load);
+        ResponseEntity<Object> second = cache.get("/items/1", 1L, this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Method under test: {@link ResponseCache#get}
+     */
+    @Test
+    void get_whenOtherUser_thenLoadedSeparately() {
+        cache.get("/items/1", 1L, this::load);
+        cache.get("/items/1", 2L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Method under test: {@link ResponseCache#get}
+     */
+    @Test
+    void get_whenNotSuccessful_thenNotCached() {
+        cache.get("/items/1", 1L, () -> {
+            loads.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        });
+        cache.get("/items/1", 1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Method under test: {@link ResponseCache#evict}
+     */
+    @Test
+    void evict_whenCalledDuringLoad_thenLoadedResponseNotCached() {
+        cache.get("/items/1", 1L, () -> {
+            ResponseEntity<Object> stale = load();
+            cache.evict("/items/1");
+            return stale;
+        });
+        cache.get("/items/1", 1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Method under test: {@link ResponseCache#evict}
+     */
+    @Test
+    void evict_whenResource_thenAllUsersReloadAndOtherResourcesKept() {
+        cache.get("/items/1", 1L, this::load);
+        cache.get("/items/1", 2L, this::load);
+        cache.get("/items/2", 1L, this::load);
+
+        cache.evict("/items/1");
+        cache.get("/items/1", 1L, this::load);
+        cache.get("/items/1", 2L, this::load);
+        cache.get("/items/2", 1L, this::load);
+
+        assertEquals(5, loads.get());
+    }
+
+    /**
+     * Method under test: {@link ResponseCache#evictAll(String)}
+     */
+    @Test
+    void evictAll_whenPrefix_thenOnlyMatchingResourcesReload() {
+        cache.get("/items/1", 1L, this::load);
+        cache.get("/items/2", 1L, this::load);
+        cache.get("/requests/1", 1L, this::load);
+
+        cache.evictAll("/items/");
+        cache.get("/items/1", 1L, this::load);
+        cache.get("/items/2", 1L, this::load);
+        cache.get("/requests/1", 1L, this::load);
+
+        assertEquals(5, loads.get());
+    }
+
+    /**
+     * Method under test: {@link ResponseCache#get}
+     */
+    @Test
+    void get_whenDisabled_thenAlwaysLoads() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(false);
+        ResponseCache disabled = new ResponseCache(properties, new SimpleMeterRegistry());
+
+        disabled.get("/items/1", 1L, this::load);
+        disabled.get("/items/1", 1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private ResponseEntity<Object> load() {
+        return ResponseEntity.ok(loads.incrementAndGet());
+    }
+}
@@ -0,0 +1,203 @@
+package ru.practicum.shareit.base_client.coalescing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightInterceptorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlightInterceptor interceptor = new SingleFlightInterceptor(meterRegistry);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Method under test: {@link SingleFlightInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenIdenticalGetInFlight_thenWaiterGetsLeaderResponse() throws Exception {
+        ClientHttpRequestExecution execution = blockingExecution(() -> new MockClientHttpResponse(
+                "{\"id\":1}".getBytes(StandardCharsets.UTF_8), HttpStatus.OK));
+
+        Future<String> leader = executor.submit(() -> body(interceptor.intercept(get(1L, null), new byte[0],
+                execution)));
+        awaitExecutions(1);
+        Future<String> waiter = executor.submit(() -> body(interceptor.intercept(get(1L, null), new byte[0],
+                execution)));
+        awaitCoalesced();
+        release.countDown();
+
+        assertEquals("{\"id\":1}", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("{\"id\":1}", waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    /**
+     * Method under test: {@link SingleFlightInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenUserOrIfNoneMatchDiffers_thenNotCoalesced() throws Exception {
+        ClientHttpRequestExecution execution = blockingExecution(() -> new MockClientHttpResponse(new byte[0],
+                HttpStatus.OK));
+        ExecutorService threeThreads = Executors.newFixedThreadPool(3);
+        try {
+            threeThreads.submit(() -> interceptor.intercept(get(1L, null), new byte[0], execution));
+            threeThreads.submit(() -> interceptor.intercept(get(2L, null), new byte[0], execution));
+            threeThreads.submit(() -> interceptor.intercept(get(1L, "\"v1\""), new byte[0], execution));
+
+            awaitExecutions(3);
+            assertEquals(0, meterRegistry.get("gateway.singleflight.requests").tag("outcome", "coalesced")
+                    .counter().count());
+        } finally {
+            release.countDown();
+            threeThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * Method under test: {@link SingleFlightInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenLeaderFails_thenWaiterGetsSameError() throws Exception {
+        IOException failure = new IOException("Connection reset");
+        ClientHttpRequestExecution execution = blockingExecution(() -> {
+            throw failure;
+        });
+
+        Future<ClientHttpResponse> leader = executor.submit(() -> interceptor.intercept(get(1L, null), new byte[0],
+                execution));
+        awaitExecutions(1);
+        Future<ClientHttpResponse> waiter = executor.submit(() -> interceptor.intercept(get(1L, null), new byte[0],
+                execution));
+        awaitCoalesced();
+        release.countDown();
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(1, executions.get());
+    }
+
+    /**
+     * Method under test: {@link SingleFlightInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenLeaderFinished_thenNextRequestExecutesAgain() throws Exception {
+        release.countDown();
+        ClientHttpRequestExecution execution = blockingExecution(() -> new MockClientHttpResponse(new byte[0],
+                HttpStatus.OK));
+
+        interceptor.intercept(get(1L, null), new byte[0], execution);
+        interceptor.intercept(get(1L, null), new byte[0], execution);
+
+        assertEquals(2, executions.get());
+    }
+
+    /**
+     * Method under test: {@link SingleFlightInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenPost_thenNeverCoalesced() throws Exception {
+        release.countDown();
+        ClientHttpRequestExecution execution = blockingExecution(() -> new MockClientHttpResponse(new byte[0],
+                HttpStatus.CREATED));
+
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.POST, URI.create("http://server/items")), new byte[0], execution);
+
+        assertInstanceOf(MockClientHttpResponse.class, response);
+        assertEquals(1, executions.get());
+    }
+
+    private ClientHttpRequestExecution blockingExecution(ResponseSupplier response) {
+        return (request, body) -> {
+            executions.incrementAndGet();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            return response.get();
+        };
+    }
+
+    private void awaitExecutions(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executions.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, executions.get());
+    }
+
+    /**
+     * Второй запрос учитывается как схлопнутый до того, как начинает ждать ответ первого.
+     */
+    private void awaitCoalesced() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, coalesced());
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("gateway.singleflight.requests").tag("outcome", "coalesced").counter().count();
+    }
+
+    private static MockClientHttpRequest get(Long userId, String ifNoneMatch) {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET,
+                URI.create("http://server/items/1?from=0"));
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        if (ifNoneMatch != null) {
+            request.getHeaders().set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+
+    private static String body(ClientHttpResponse response) throws IOException {
+        return StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface ResponseSupplier {
+
+        ClientHttpResponse get() throws IOException;
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.base_client.colocated;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.InProcessBookingClient;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.colocated.InProcessKeys;
+import ru.practicum.shareit.colocated.InProcessOperation;
+import ru.practicum.shareit.exceptions.InvalidDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColocatedServerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+
+    private final AtomicReference<Map<String, Object>> sent = new AtomicReference<>();
+
+    private Map<String, Object> response = response(200, "[{\"id\":7}]");
+
+    private final InProcessBookingClient client = new InProcessBookingClient(new ColocatedServer(request -> {
+        sent.set(request);
+        return response;
+    }), mapper);
+
+    /**
+     * Method under test: {@link InProcessBookingClient#getBookingsByOwner}
+     */
+    @Test
+    void getBookingsByOwner_whenServerReturnsPage_thenArgumentsAndCursorPassed() {
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put(BookingClient.NEXT_CURSOR_HEADER, List.of("next"));
+        headers.put(HttpHeaders.SET_COOKIE, List.of("session=1"));
+        response.put(InProcessKeys.HEADERS, headers);
+
+        ResponseEntity<Object> page = client.getBookingsByOwner(1L, BookingState.WAITING, 0, 10, "cursor");
+
+        assertEquals(InProcessOperation.GET_BOOKINGS_BY_OWNER.name(), sent.get().get(InProcessKeys.OPERATION));
+        assertEquals(1L, sent.get().get(InProcessKeys.USER_ID));
+        assertEquals("WAITING", sent.get().get(InProcessKeys.STATE));
+        assertEquals("cursor", sent.get().get(InProcessKeys.CURSOR));
+        assertNull(sent.get().get(InProcessKeys.BODY));
+        assertEquals(HttpStatus.OK, page.getStatusCode());
+        assertEquals("next", page.getHeaders().getFirst(BookingClient.NEXT_CURSOR_HEADER));
+        assertNull(page.getHeaders().get(HttpHeaders.SET_COOKIE));
+        assertEquals("[{\"id\":7}]", new String((byte[]) page.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Method under test: {@link InProcessBookingClient#bookItem}
+     */
+    @Test
+    void bookItem_whenServerRejects_thenStatusPassedThrough() throws Exception {
+        response = response(404, "{\"error\":\"Item not found.\"}");
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookItemRequestDto booking = new BookItemRequestDto(3L, start, start.plusDays(1));
+
+        ResponseEntity<Object> result = client.bookItem(1L, booking);
+
+        assertEquals(3L, mapper.readTree((byte[]) sent.get().get(InProcessKeys.BODY)).get("itemId").asLong());
+        assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
+    }
+
+    /**
+     * Method under test: {@link InProcessBookingClient#bookItem}
+     */
+    @Test
+    void bookItem_whenEndBeforeStart_thenRejectedWithoutServerCall() {
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+        BookItemRequestDto booking = new BookItemRequestDto(3L, start, start.minusDays(1));
+
+        assertThrows(InvalidDataException.class, () -> client.bookItem(1L, booking));
+        assertNull(sent.get());
+    }
+
+    private static Map<String, Object> response(int status, String body) {
+        Map<String, Object> response = new HashMap<>();
+        response.put(InProcessKeys.STATUS, status);
+        response.put(InProcessKeys.HEADERS, Map.of(HttpHeaders.CONTENT_TYPE, List.of("application/json")));
+        response.put(InProcessKeys.BODY, body.getBytes(StandardCharsets.UTF_8));
+        return response;
+    }
+}
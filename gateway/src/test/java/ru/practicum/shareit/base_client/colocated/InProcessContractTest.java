@@ -0,0 +1,237 @@
+package ru.practicum.shareit.base_client.colocated;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.base_client.BufferedClientHttpResponse;
+import ru.practicum.shareit.booking.InProcessBookingClient;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.colocated.InProcessOperation;
+import ru.practicum.shareit.item.client.InProcessItemClient;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.client.InProcessItemRequestClient;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.client.InProcessUserClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Контракт gateway и shareit-server в профиле colocated: каждый метод *Operations проходит через
+ * InProcess*Client и {@link ColocatedServer} в настоящий InProcessEndpoint сервера, загруженный в отдельном
+ * загрузчике классов из server/target (сборка из корня проекта собирает сервер раньше gateway).
+ */
+class InProcessContractTest {
+
+    private static final Path SERVER_TARGET = Path.of("..", "server", "target");
+
+    private static final Set<InProcessOperation> CALLED = EnumSet.noneOf(InProcessOperation.class);
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private static ColocatedServer server;
+
+    private static InProcessUserClient userClient;
+
+    private static InProcessItemClient itemClient;
+
+    private static InProcessItemRequestClient itemRequestClient;
+
+    private static InProcessBookingClient bookingClient;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        // Hibernate ищет Bean Validation и в системном загрузчике, а в тестах это classpath gateway;
+        // у сервера, запущенного из jar, такой утечки нет
+        ColocatedServer started = ColocatedServer.start(serverClasspath(), List.of(
+                "--spring.profiles.active=test",
+                "--spring.datasource.url=jdbc:h2:mem:colocated-contract",
+                "--spring.jpa.properties.javax.persistence.validation.mode=none"));
+        server = new ColocatedServer(request -> {
+            throw new UnsupportedOperationException();
+        }, started) {
+            @Override
+            public BufferedClientHttpResponse call(InProcessOperation operation, @Nullable Long userId,
+                                                   Map<String, Object> arguments, @Nullable byte[] body) {
+                CALLED.add(operation);
+                return started.call(operation, userId, arguments, body);
+            }
+        };
+        userClient = new InProcessUserClient(server, MAPPER);
+        itemClient = new InProcessItemClient(server, MAPPER);
+        itemRequestClient = new InProcessItemRequestClient(server, MAPPER);
+        bookingClient = new InProcessBookingClient(server, MAPPER);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        if (server != null) {
+            server.close();
+        }
+        assertEquals(EnumSet.allOf(InProcessOperation.class), CALLED, "Operations not covered by the contract test");
+    }
+
+    /**
+     * Methods under test: {@link InProcessUserClient}
+     */
+    @Test
+    void userOperations_whenCalledInProcess_thenServerResponds() throws IOException {
+        JsonNode user = body(ok(userClient.createUser(new UserDto("User", "contract-user@mail.com"))));
+        long userId = user.get("id").asLong();
+        assertEquals("contract-user@mail.com", user.get("email").asText());
+
+        JsonNode updated = body(ok(userClient.updateUser(new UserDto("Updated", null), userId)));
+        assertEquals("Updated", updated.get("name").asText());
+        assertEquals("contract-user@mail.com", updated.get("email").asText());
+
+        assertEquals("Updated", body(ok(userClient.getUserById(userId))).get("name").asText());
+        assertTrue(ids(body(ok(userClient.getAllUsers()))).contains(userId));
+
+        ok(userClient.deleteUser(userId));
+        assertEquals(HttpStatus.NOT_FOUND, userClient.getUserById(userId).getStatusCode());
+    }
+
+    /**
+     * Methods under test: {@link InProcessItemClient}
+     */
+    @Test
+    void itemOperations_whenCalledInProcess_thenServerResponds() throws IOException {
+        long ownerId = createUser();
+        long otherId = createUser();
+
+        long itemId = body(ok(itemClient.addNewItem(ownerId, item("Contract drill", "Cordless drill")))).get("id").asLong();
+
+        ItemDto update = new ItemDto();
+        update.setDescription("Cordless drill with case");
+        assertEquals("Cordless drill with case",
+                body(ok(itemClient.updateItem(ownerId, itemId, update))).get("description").asText());
+
+        assertEquals("Contract drill", body(ok(itemClient.getItemById(itemId, ownerId))).get("name").asText());
+        assertEquals(List.of(itemId), ids(body(ok(itemClient.getItemByUserId(ownerId, 0, 10)))));
+        assertTrue(ids(body(ok(itemClient.getItemBySearch("contract", otherId, 0, 20)))).contains(itemId));
+
+        CommentDto comment = new CommentDto();
+        comment.setText("Never booked it");
+        ResponseEntity<Object> rejected = itemClient.addNewComment(otherId, itemId, comment);
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+        assertTrue(body(rejected).has("error"));
+    }
+
+    /**
+     * Methods under test: {@link InProcessItemRequestClient}
+     */
+    @Test
+    void itemRequestOperations_whenCalledInProcess_thenServerResponds() throws IOException {
+        long requesterId = createUser();
+        long otherId = createUser();
+        ItemRequestDto itemRequest = new ItemRequestDto();
+        itemRequest.setDescription("Need a ladder");
+
+        long requestId = body(ok(itemRequestClient.createItemRequest(requesterId, itemRequest))).get("id").asLong();
+
+        assertEquals(List.of(requestId), ids(body(ok(itemRequestClient.getItemRequestByOwnerId(requesterId)))));
+        assertTrue(ids(body(ok(itemRequestClient.getAllItemRequests(0, 10, otherId)))).contains(requestId));
+        assertEquals("Need a ladder",
+                body(ok(itemRequestClient.getItemRequestById(requestId, otherId))).get("description").asText());
+    }
+
+    /**
+     * Methods under test: {@link InProcessBookingClient}
+     */
+    @Test
+    void bookingOperations_whenCalledInProcess_thenServerResponds() throws IOException {
+        long ownerId = createUser();
+        long bookerId = createUser();
+        long itemId = body(ok(itemClient.addNewItem(ownerId, item("Contract tent", "Four-person tent")))).get("id").asLong();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        JsonNode booking = body(ok(bookingClient.bookItem(bookerId,
+                new BookItemRequestDto(itemId, start, start.plusDays(2)))));
+        long bookingId = booking.get("id").asLong();
+        assertEquals("WAITING", booking.get("status").asText());
+
+        assertEquals("APPROVED", body(ok(bookingClient.approve(ownerId, bookingId, true))).get("status").asText());
+        assertEquals(itemId, body(ok(bookingClient.getBooking(bookerId, bookingId))).get("item").get("id").asLong());
+        assertEquals(List.of(bookingId),
+                ids(body(ok(bookingClient.getBookings(bookerId, BookingState.FUTURE, 0, 10, null)))));
+        assertEquals(List.of(bookingId),
+                ids(body(ok(bookingClient.getBookingsByOwner(ownerId, BookingState.ALL, 0, 10, null)))));
+    }
+
+    private static long createUser() throws IOException {
+        int n = USERS.incrementAndGet();
+        return body(ok(userClient.createUser(new UserDto("User " + n, "contract-" + n + "@mail.com"))))
+                .get("id").asLong();
+    }
+
+    private static ItemDto item(String name, String description) {
+        ItemDto item = new ItemDto();
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        return item;
+    }
+
+    private static ResponseEntity<Object> ok(ResponseEntity<Object> response) {
+        assertEquals(HttpStatus.OK, response.getStatusCode(), () -> String.valueOf(bodyText(response)));
+        return response;
+    }
+
+    private static JsonNode body(ResponseEntity<Object> response) throws IOException {
+        return MAPPER.readTree((byte[]) response.getBody());
+    }
+
+    @Nullable
+    private static String bodyText(ResponseEntity<Object> response) {
+        return response.getBody() instanceof byte[] ? new String((byte[]) response.getBody()) : null;
+    }
+
+    private static List<Long> ids(JsonNode array) {
+        List<Long> ids = new ArrayList<>();
+        array.forEach(node -> ids.add(node.get("id").asLong()));
+        return ids;
+    }
+
+    /**
+     * Классы сервера и его runtime-зависимости, которые сборка сервера записывает в runtime-classpath.txt.
+     */
+    private static URL[] serverClasspath() throws IOException {
+        Path dependencies = SERVER_TARGET.resolve("runtime-classpath.txt");
+        assertTrue(Files.exists(dependencies), "shareit-server is not built: run the build from the project root");
+        List<URL> urls = new ArrayList<>();
+        urls.add(url(SERVER_TARGET.resolve("classes").toFile()));
+        for (String entry : Files.readString(dependencies).trim().split(File.pathSeparator)) {
+            urls.add(url(new File(entry)));
+        }
+        return urls.toArray(new URL[0]);
+    }
+
+    private static URL url(File file) throws MalformedURLException {
+        return file.getAbsoluteFile().toURI().toURL();
+    }
+}
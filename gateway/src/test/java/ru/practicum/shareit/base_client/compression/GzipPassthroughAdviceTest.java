@@ -0,0 +1,42 @@
+package ru.practicum.shareit.base_client.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GzipPassthroughAdviceTest {
+
+    /**
+     * Method under test: {@link GzipPassthroughAdvice#acceptsGzip}
+     */
+    @Test
+    void acceptsGzip_whenListedOrWildcard_thenAccepted() {
+        assertTrue(GzipPassthroughAdvice.acceptsGzip(List.of("gzip, deflate, br")));
+        assertTrue(GzipPassthroughAdvice.acceptsGzip(List.of("br;q=1.0, GZIP;q=0.5")));
+        assertTrue(GzipPassthroughAdvice.acceptsGzip(List.of("*")));
+    }
+
+    /**
+     * Method under test: {@link GzipPassthroughAdvice#acceptsGzip}
+     */
+    @Test
+    void acceptsGzip_whenMissingOrZeroQuality_thenNotAccepted() {
+        assertFalse(GzipPassthroughAdvice.acceptsGzip(null));
+        assertFalse(GzipPassthroughAdvice.acceptsGzip(List.of("deflate, br")));
+        assertFalse(GzipPassthroughAdvice.acceptsGzip(List.of("gzip;q=0")));
+        assertFalse(GzipPassthroughAdvice.acceptsGzip(List.of("gzip; q=0.000")));
+    }
+
+    /**
+     * Method under test: {@link GzipPassthroughAdvice#acceptsGzip}
+     */
+    @Test
+    void acceptsGzip_whenQualityIsNotANumber_thenNotAccepted() {
+        assertFalse(GzipPassthroughAdvice.acceptsGzip(List.of("gzip;q=high")));
+        assertFalse(GzipPassthroughAdvice.acceptsGzip(List.of("gzip;q=")));
+        assertFalse(GzipPassthroughAdvice.acceptsGzip(List.of("*;q=NaN")));
+    }
+}
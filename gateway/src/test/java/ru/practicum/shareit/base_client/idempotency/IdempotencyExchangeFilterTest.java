@@ -0,0 +1,106 @@
+package ru.practicum.shareit.base_client.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.base_client.ClientHeaders;
+import ru.practicum.shareit.exceptions.IdempotencyKeyReusedException;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyExchangeFilterTest {
+
+    private final IdempotencyStore store =
+            new IdempotencyStore(new IdempotencyProperties(), new SimpleMeterRegistry());
+
+    private final IdempotencyExchangeFilter filter = new IdempotencyExchangeFilter(store, new ObjectMapper());
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private HttpStatus status = HttpStatus.CREATED;
+
+    private final ExchangeFunction exchange = request -> Mono.fromSupplier(() -> ClientResponse.create(status)
+            .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(
+                    String.valueOf(executions.incrementAndGet()).getBytes(StandardCharsets.UTF_8))))
+            .build());
+
+    /**
+     * Method under test: {@link IdempotencyExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenKeyRepeatedWithSameBody_thenStoredResponseReplayed() {
+        ClientResponse first = filter.filter(post("key-1", Map.of("itemId", 1)), exchange).block();
+        ClientResponse second = filter.filter(post("key-1", Map.of("itemId", 1)), exchange).block();
+
+        assertEquals(1, executions.get());
+        assertNull(first.headers().asHttpHeaders().getFirst(ClientHeaders.IDEMPOTENT_REPLAYED));
+        assertEquals("1", first.bodyToMono(String.class).block());
+        assertEquals("true", second.headers().asHttpHeaders().getFirst(ClientHeaders.IDEMPOTENT_REPLAYED));
+        assertEquals(HttpStatus.CREATED, second.statusCode());
+        assertEquals("1", second.bodyToMono(String.class).block());
+    }
+
+    /**
+     * Method under test: {@link IdempotencyExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenKeyRepeatedWithDifferentBody_thenRejected() {
+        filter.filter(post("key-1", Map.of("itemId", 1)), exchange).block();
+
+        Mono<ClientResponse> response = filter.filter(post("key-1", Map.of("itemId", 2)), exchange);
+
+        assertThrows(IdempotencyKeyReusedException.class, response::block);
+        assertEquals(1, executions.get());
+    }
+
+    /**
+     * Method under test: {@link IdempotencyExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenServerError_thenRetryExecutesAgain() {
+        status = HttpStatus.SERVICE_UNAVAILABLE;
+        filter.filter(post("key-1", Map.of("itemId", 1)), exchange).block();
+        status = HttpStatus.CREATED;
+
+        ClientResponse retry = filter.filter(post("key-1", Map.of("itemId", 1)), exchange).block();
+
+        assertEquals(2, executions.get());
+        assertEquals(HttpStatus.CREATED, retry.statusCode());
+    }
+
+    /**
+     * Method under test: {@link IdempotencyExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenKeyMissing_thenAlwaysExecuted() {
+        ClientRequest request = ClientRequest.create(HttpMethod.POST, URI.create("http://server/bookings")).build();
+
+        filter.filter(request, exchange).block();
+        filter.filter(request, exchange).block();
+
+        assertEquals(2, executions.get());
+    }
+
+    private static ClientRequest post(String key, Object body) {
+        return ClientRequest.create(HttpMethod.POST, URI.create("http://server/bookings"))
+                .header(ClientHeaders.IDEMPOTENCY_KEY, key)
+                .header("X-Sharer-User-Id", "1")
+                .attribute(IdempotencyExchangeFilter.BODY_ATTRIBUTE, body)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.base_client.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import ru.practicum.shareit.base_client.ClientHeaders;
+import ru.practicum.shareit.exceptions.IdempotencyKeyReusedException;
+import ru.practicum.shareit.exceptions.InvalidDataException;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyInterceptorTest {
+
+    private static final byte[] BODY = "{\"itemId\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private final IdempotencyInterceptor interceptor =
+            new IdempotencyInterceptor(new IdempotencyStore(new IdempotencyProperties(), new SimpleMeterRegistry()));
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private HttpStatus status = HttpStatus.CREATED;
+
+    private final ClientHttpRequestExecution execution = (request, body) -> new MockClientHttpResponse(
+            String.valueOf(executions.incrementAndGet()).getBytes(StandardCharsets.UTF_8), status);
+
+    /**
+     * Method under test: {@link IdempotencyInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenKeyRepeatedWithSameBody_thenStoredResponseReplayed() throws Exception {
+        ClientHttpResponse first = interceptor.intercept(post("key-1", 1L), BODY, execution);
+        ClientHttpResponse second = interceptor.intercept(post("key-1", 1L), BODY, execution);
+
+        assertEquals(1, executions.get());
+        assertNull(first.getHeaders().getFirst(ClientHeaders.IDEMPOTENT_REPLAYED));
+        assertEquals("true", second.getHeaders().getFirst(ClientHeaders.IDEMPOTENT_REPLAYED));
+        assertEquals(HttpStatus.CREATED, second.getStatusCode());
+        assertEquals("1", new String(second.getBody().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Method under test: {@link IdempotencyInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenKeyRepeatedWithDifferentBody_thenRejected() throws Exception {
+        interceptor.intercept(post("key-1", 1L), BODY, execution);
+
+        IdempotencyKeyReusedException e = assertThrows(IdempotencyKeyReusedException.class, () -> interceptor
+                .intercept(post("key-1", 1L), "{\"itemId\":2}".getBytes(StandardCharsets.UTF_8), execution));
+
+        assertEquals("Idempotency-Key key-1 was already used with a different request body.", e.getMessage());
+        assertEquals(1, executions.get());
+    }
+
+    /**
+     * Method under test: {@link IdempotencyInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenSameKeyFromOtherUser_thenExecutedSeparately() throws Exception {
+        interceptor.intercept(post("key-1", 1L), BODY, execution);
+        interceptor.intercept(post("key-1", 2L), "{\"itemId\":2}".getBytes(StandardCharsets.UTF_8), execution);
+
+        assertEquals(2, executions.get());
+    }
+
+    /**
+     * Method under test: {@link IdempotencyInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenServerError_thenRetryExecutesAgain() throws Exception {
+        status = HttpStatus.SERVICE_UNAVAILABLE;
+        interceptor.intercept(post("key-1", 1L), BODY, execution);
+        status = HttpStatus.CREATED;
+
+        ClientHttpResponse retry = interceptor.intercept(post("key-1", 1L), BODY, execution);
+
+        assertEquals(2, executions.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+    }
+
+    /**
+     * Method under test: {@link IdempotencyInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenKeyIsBlank_thenInvalidData() {
+        assertThrows(InvalidDataException.class, () -> interceptor.intercept(post(" ", 1L), BODY, execution));
+        assertEquals(0, executions.get());
+    }
+
+    /**
+     * Method under test: {@link IdempotencyInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenPathNotConfigured_thenAlwaysExecuted() throws Exception {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("http://server/users"));
+        request.getHeaders().set(ClientHeaders.IDEMPOTENCY_KEY, "key-1");
+
+        interceptor.intercept(request, BODY, execution);
+        interceptor.intercept(request, BODY, execution);
+
+        assertEquals(2, executions.get());
+    }
+
+    private static MockClientHttpRequest post(String key, Long userId) {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST,
+                URI.create("http://server/bookings"));
+        request.getHeaders().set(ClientHeaders.IDEMPOTENCY_KEY, key);
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        return request;
+    }
+}
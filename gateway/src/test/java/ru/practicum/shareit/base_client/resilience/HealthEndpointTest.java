@@ -0,0 +1,45 @@
+package ru.practicum.shareit.base_client.resilience;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HealthEndpointTest {
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @AfterEach
+    void tearDown() {
+        circuitBreakerRegistry.circuitBreaker("bookings").transitionToClosedState();
+    }
+
+    @Test
+    void health_whenCircuitBreakerOpen_thenUpWithoutDetails() throws Exception {
+        circuitBreakerRegistry.circuitBreaker("bookings").transitionToOpenState();
+
+        ResponseEntity<String> response = rest.getForEntity("/actuator/health", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode health = mapper.readTree(response.getBody());
+        assertEquals("UP", health.get("status").asText());
+        assertFalse(health.has("components"));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.base_client.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import ru.practicum.shareit.base_client.coalescing.SingleFlightInterceptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ResilienceConfigTest {
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    /**
+     * Method under test: {@link ResilienceConfig#resilienceCustomizer}
+     */
+    @Test
+    void resilienceCustomizer_whenSingleFlightEnabled_thenCoalescingRunsFirst() {
+        List<ClientHttpRequestInterceptor> interceptors = restTemplateBuilder.build().getInterceptors();
+
+        int singleFlight = indexOf(interceptors, SingleFlightInterceptor.class);
+        int resilience = indexOf(interceptors, ResilienceInterceptor.class);
+
+        assertTrue(singleFlight >= 0 && singleFlight < resilience,
+                "single-flight must run before the bulkhead so waiters take no permit");
+    }
+
+    private static int indexOf(List<ClientHttpRequestInterceptor> interceptors, Class<?> type) {
+        for (int i = 0; i < interceptors.size(); i++) {
+            if (type.isInstance(interceptors.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
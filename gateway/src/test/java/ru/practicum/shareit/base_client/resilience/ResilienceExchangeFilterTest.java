@@ -0,0 +1,161 @@
+package ru.practicum.shareit.base_client.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResilienceExchangeFilterTest {
+
+    private static final ClientRequest REQUEST = ClientRequest
+            .create(HttpMethod.GET, URI.create("http://server:9090/bookings/1")).build();
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    private final ResilienceExchangeFilter filter =
+            new ResilienceExchangeFilter(circuitBreakerRegistry, bulkheadRegistry);
+
+    private final AtomicInteger exchanges = new AtomicInteger();
+
+    /**
+     * Method under test: {@link ResilienceExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenServerError_thenResponseReturnedAndFailureRecorded() {
+        ClientResponse response = filter.filter(REQUEST, respond(HttpStatus.SERVICE_UNAVAILABLE)).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.statusCode());
+        CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker("bookings").getMetrics();
+        assertEquals(1, metrics.getNumberOfFailedCalls());
+        assertEquals(1, bulkheadRegistry.bulkhead("bookings").getMetrics().getAvailableConcurrentCalls());
+    }
+
+    /**
+     * Method under test: {@link ResilienceExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenOk_thenSuccessRecorded() {
+        filter.filter(REQUEST, respond(HttpStatus.OK)).block();
+
+        assertEquals(1, circuitBreakerRegistry.circuitBreaker("bookings").getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    /**
+     * Method under test: {@link ResilienceExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenCircuitBreakerOpen_thenRejectedWithoutCall() {
+        circuitBreakerRegistry.circuitBreaker("bookings").transitionToOpenState();
+
+        Mono<ClientResponse> response = filter.filter(REQUEST, respond(HttpStatus.OK));
+
+        assertThrows(CallNotPermittedException.class, response::block);
+        assertEquals(0, exchanges.get());
+        assertEquals(1, bulkheadRegistry.bulkhead("bookings").getMetrics().getAvailableConcurrentCalls());
+    }
+
+    /**
+     * Method under test: {@link ResilienceExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenBulkheadFull_thenRejectedWithoutCall() {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead("bookings");
+        bulkhead.acquirePermission();
+
+        Mono<ClientResponse> response = filter.filter(REQUEST, respond(HttpStatus.OK));
+
+        assertThrows(BulkheadFullException.class, response::block);
+        assertEquals(0, exchanges.get());
+        assertEquals(0, circuitBreakerRegistry.circuitBreaker("bookings").getMetrics().getNumberOfFailedCalls());
+    }
+
+    /**
+     * Method under test: {@link ResilienceExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenNonStandardStatus_thenClassifiedByRawCode() {
+        assertEquals(599, filter.filter(REQUEST, respond(599)).block().rawStatusCode());
+        filter.filter(REQUEST, respond(299)).block();
+
+        CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker("bookings").getMetrics();
+        assertEquals(1, metrics.getNumberOfFailedCalls());
+        assertEquals(1, metrics.getNumberOfSuccessfulCalls());
+    }
+
+    /**
+     * Method under test: {@link ResilienceExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenBodyStreamed_thenReadUnderBulkheadPermit() {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead("bookings");
+        Flux<DataBuffer> body = Flux.defer(() -> {
+            // единственное разрешение bulkhead еще занято этим вызовом
+            assertEquals(0, bulkhead.getMetrics().getAvailableConcurrentCalls());
+            return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap("{\"id\":1}".getBytes(StandardCharsets.UTF_8)));
+        });
+
+        ClientResponse response = filter.filter(REQUEST, request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .body(body)
+                .build())).block();
+
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        assertEquals("{\"id\":1}", response.bodyToMono(String.class).block());
+        assertEquals(1, circuitBreakerRegistry.circuitBreaker("bookings").getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    /**
+     * Method under test: {@link ResilienceExchangeFilter#filter}
+     */
+    @Test
+    void filter_whenBodyReadTimesOut_thenFailureRecorded() {
+        Mono<ClientResponse> response = filter.filter(REQUEST, request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .body(Flux.error(new TimeoutException("Read timed out")))
+                .build()));
+
+        assertThrows(RuntimeException.class, response::block);
+        CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker("bookings").getMetrics();
+        assertEquals(1, metrics.getNumberOfFailedCalls());
+        assertEquals(1, bulkheadRegistry.bulkhead("bookings").getMetrics().getAvailableConcurrentCalls());
+    }
+
+    private ExchangeFunction respond(int status) {
+        return request -> Mono.fromSupplier(() -> {
+            exchanges.incrementAndGet();
+            return ClientResponse.create(HttpStatus.OK).rawStatusCode(status).build();
+        });
+    }
+
+    private ExchangeFunction respond(HttpStatus status) {
+        return request -> Mono.fromSupplier(() -> {
+            exchanges.incrementAndGet();
+            return ClientResponse.create(status).build();
+        });
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.base_client.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResilienceInterceptorTest {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+
+    private final ResilienceInterceptor interceptor =
+            new ResilienceInterceptor(circuitBreakerRegistry, bulkheadRegistry);
+
+    private final MockClientHttpRequest request =
+            new MockClientHttpRequest(HttpMethod.GET, URI.create("http://server:9090/items/1"));
+
+    /**
+     * Method under test: {@link ResilienceInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenNonStandardServerError_thenResponseReturnedAndFailureRecorded() throws Exception {
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], 599));
+
+        assertEquals(599, response.getRawStatusCode());
+        assertEquals(1, circuitBreakerRegistry.circuitBreaker("items").getMetrics().getNumberOfFailedCalls());
+    }
+
+    /**
+     * Method under test: {@link ResilienceInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenNonStandardSuccess_thenSuccessRecorded() throws Exception {
+        interceptor.intercept(request, new byte[0], (req, body) -> new MockClientHttpResponse(new byte[0], 299));
+
+        CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker("items").getMetrics();
+        assertEquals(1, metrics.getNumberOfSuccessfulCalls());
+        assertEquals(0, metrics.getNumberOfFailedCalls());
+    }
+
+    /**
+     * Method under test: {@link ResilienceInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenBodyRead_thenReadUnderBulkheadPermit() throws Exception {
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead("items");
+        int maxCalls = bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        AtomicInteger availableWhileReading = new AtomicInteger(-1);
+        InputStream body = new ByteArrayInputStream("{\"id\":1}".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                availableWhileReading.compareAndSet(-1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+                return super.read(b, off, len);
+            }
+        };
+
+        ClientHttpResponse response = interceptor.intercept(request, new byte[0],
+                (req, requestBody) -> new MockClientHttpResponse(body, 200));
+
+        assertEquals(maxCalls - 1, availableWhileReading.get());
+        assertEquals(maxCalls, bulkhead.getMetrics().getAvailableConcurrentCalls());
+        assertArrayEquals("{\"id\":1}".getBytes(StandardCharsets.UTF_8), response.getBody().readAllBytes());
+    }
+
+    /**
+     * Method under test: {@link ResilienceInterceptor#intercept}
+     */
+    @Test
+    void intercept_whenBodyReadTimesOut_thenFailureRecorded() {
+        InputStream body = new InputStream() {
+            @Override
+            public int read() throws SocketTimeoutException {
+                throw new SocketTimeoutException("Read timed out");
+            }
+        };
+
+        assertThrows(SocketTimeoutException.class, () -> interceptor.intercept(request, new byte[0],
+                (req, requestBody) -> new MockClientHttpResponse(body, 200)));
+
+        CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker("items").getMetrics();
+        assertEquals(1, metrics.getNumberOfFailedCalls());
+        assertEquals(0, metrics.getNumberOfSuccessfulCalls());
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead("items");
+        assertEquals(bulkhead.getBulkheadConfig().getMaxConcurrentCalls(),
+                bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+}
@@ -0,0 +1,212 @@
+package ru.practicum.shareit.base_client.routing;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerPoolTest {
+
+    private final List<HttpServer> healthServers = new ArrayList<>();
+
+    private ServerPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+        healthServers.forEach(server -> server.stop(0));
+    }
+
+    /**
+     * Method under test: {@link ServerPool#release}
+     */
+    @Test
+    void release_whenConsecutiveFailures_thenEjectedUntilDurationPasses() throws InterruptedException {
+        RoutingProperties properties = properties(RoutingProperties.Strategy.LEAST_OUTSTANDING,
+                "http://server-1:9090", "http://server-2:9090");
+        properties.getEjection().setConsecutiveFailures(2);
+        properties.getEjection().setDuration(Duration.ofMillis(200));
+        pool = new ServerPool(properties, new SimpleMeterRegistry());
+        ServerInstance first = pool.getInstances().get(0);
+        ServerInstance second = pool.getInstances().get(1);
+
+        pool.release(pool.acquire(null), 1_000, true);
+        assertTrue(first.isAvailable(System.nanoTime()));
+        pool.release(pool.acquire(null), 1_000, true);
+
+        assertFalse(first.isAvailable(System.nanoTime()));
+        for (int i = 0; i < 3; i++) {
+            ServerInstance instance = pool.acquire(null);
+            assertSame(second, instance);
+            pool.release(instance, 1_000, false);
+        }
+
+        await(() -> first.isAvailable(System.nanoTime()));
+        assertSame(first, pool.acquire(null));
+    }
+
+    /**
+     * Method under test: {@link ServerPool#release}
+     */
+    @Test
+    void release_whenSlowResponses_thenEjected() {
+        RoutingProperties properties = properties(RoutingProperties.Strategy.LEAST_OUTSTANDING,
+                "http://server-1:9090", "http://server-2:9090");
+        properties.getEjection().setMinRequests(3);
+        properties.getEjection().setSlowLatencyThreshold(Duration.ofMillis(100));
+        pool = new ServerPool(properties, new SimpleMeterRegistry());
+        ServerInstance first = pool.getInstances().get(0);
+        long slow = TimeUnit.MILLISECONDS.toNanos(500);
+
+        pool.release(pool.acquire(null), slow, false);
+        pool.release(pool.acquire(null), slow, false);
+        assertTrue(first.isAvailable(System.nanoTime()));
+        pool.release(pool.acquire(null), slow, false);
+
+        assertFalse(first.isAvailable(System.nanoTime()));
+    }
+
+    /**
+     * Method under test: {@link ServerPool#release}
+     */
+    @Test
+    void release_whenLastAvailableInstanceFails_thenNotEjected() {
+        RoutingProperties properties = properties(RoutingProperties.Strategy.LEAST_OUTSTANDING,
+                "http://server-1:9090");
+        properties.getEjection().setConsecutiveFailures(1);
+        pool = new ServerPool(properties, new SimpleMeterRegistry());
+
+        pool.release(pool.acquire(null), 1_000, true);
+
+        assertTrue(pool.getInstances().get(0).isAvailable(System.nanoTime()));
+    }
+
+    /**
+     * Method under test: {@link ServerPool#acquire}
+     */
+    @Test
+    void acquire_whenUserInstanceEjected_thenMovesAndReturnsAfterRecovery() throws InterruptedException {
+        RoutingProperties properties = properties(RoutingProperties.Strategy.CONSISTENT_HASH,
+                "http://server-1:9090", "http://server-2:9090", "http://server-3:9090");
+        properties.getEjection().setConsecutiveFailures(1);
+        properties.getEjection().setDuration(Duration.ofMillis(200));
+        pool = new ServerPool(properties, new SimpleMeterRegistry());
+        ServerInstance home = pool.acquire("42");
+        pool.release(home, 1_000, false);
+        assertSame(home, pool.acquire("42"));
+
+        pool.release(home, 1_000, true);
+        ServerInstance fallback = pool.acquire("42");
+        pool.release(fallback, 1_000, false);
+
+        assertNotEquals(home, fallback);
+        await(() -> home.isAvailable(System.nanoTime()));
+        assertSame(home, pool.acquire("42"));
+    }
+
+    /**
+     * Method under test: {@link ServerPool#acquire}
+     */
+    @Test
+    void acquire_whenHealthCheckFailsAndRecovers_thenInstanceSkippedAndRestored() throws Exception {
+        AtomicInteger healthStatus = new AtomicInteger(200);
+        RoutingProperties properties = properties(RoutingProperties.Strategy.LEAST_OUTSTANDING,
+                healthServer(healthStatus), healthServer(new AtomicInteger(200)));
+        properties.getHealthCheck().setInterval(Duration.ofMillis(50));
+        pool = new ServerPool(properties, new SimpleMeterRegistry());
+        ServerInstance checked = pool.getInstances().get(0);
+
+        healthStatus.set(503);
+        await(() -> !checked.isHealthy());
+        assertNotEquals(checked, pool.acquire(null));
+
+        healthStatus.set(200);
+        await(checked::isHealthy);
+        assertSame(checked, pool.acquire(null));
+    }
+
+    /**
+     * Method under test: {@link ServerPool#acquire}
+     */
+    @Test
+    void acquire_whenHealthCheckThrows_thenInstanceUnhealthyAndChecksContinue() throws Exception {
+        RoutingProperties properties = properties(RoutingProperties.Strategy.LEAST_OUTSTANDING,
+                "http://server-1:9090");
+        properties.getHealthCheck().setInterval(Duration.ofMillis(50));
+        properties.getHealthCheck().setPath("/not a valid path");
+        pool = new ServerPool(properties, new SimpleMeterRegistry());
+        ServerInstance instance = pool.getInstances().get(0);
+
+        await(() -> !instance.isHealthy());
+        // следующая проверка снова выполняется, а не отменена исключением первой
+        instance.setHealthy(true);
+        await(() -> !instance.isHealthy());
+    }
+
+    /**
+     * Method under test: {@link ServerPool#acquire}
+     */
+    @Test
+    void acquire_whenInstancesBusy_thenLeastOutstandingChosen() {
+        pool = new ServerPool(properties(RoutingProperties.Strategy.LEAST_OUTSTANDING,
+                "http://server-1:9090", "http://server-2:9090"), new SimpleMeterRegistry());
+
+        ServerInstance first = pool.acquire(null);
+        ServerInstance second = pool.acquire(null);
+
+        assertNotEquals(first, second);
+        assertEquals(1, first.getOutstanding());
+        assertEquals(1, second.getOutstanding());
+    }
+
+    /**
+     * Проверка здоровья по умолчанию ходит к несуществующим хостам раз в час, чтобы не мешать тестам.
+     */
+    private static RoutingProperties properties(RoutingProperties.Strategy strategy, String... instances) {
+        RoutingProperties properties = new RoutingProperties();
+        properties.setInstances(List.of(instances));
+        properties.setStrategy(strategy);
+        properties.getHealthCheck().setInterval(Duration.ofHours(1));
+        properties.getHealthCheck().setTimeout(Duration.ofMillis(500));
+        return properties;
+    }
+
+    /**
+     * Экземпляр, который на проверку здоровья отвечает текущим значением status.
+     */
+    private String healthServer(AtomicInteger status) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/actuator/health", exchange -> {
+            exchange.sendResponseHeaders(status.get(), -1);
+            exchange.close();
+        });
+        server.start();
+        healthServers.add(server);
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
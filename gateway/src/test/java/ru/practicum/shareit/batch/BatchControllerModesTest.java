@@ -0,0 +1,82 @@
+package ru.practicum.shareit.batch;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * POST /batch - один блокирующий вызов shareit-server, поэтому он есть в каждом режиме шлюза.
+ */
+class BatchControllerModesTest {
+
+    private static final List<BatchRequestDto> BATCH = List.of(new BatchRequestDto("GET", "/users/1", null));
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "shareit-gateway.mode=async")
+    class Async {
+
+        @MockBean
+        private BatchClient batchClient;
+
+        @Autowired
+        private TestRestTemplate rest;
+
+        /**
+         * Method under test: {@link BatchController#executeBatch}
+         */
+        @Test
+        void executeBatch_whenAsyncMode_thenBatchExecuted() {
+            assertBatchExecuted(batchClient, rest);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "shareit-gateway.mode=reactive")
+    class Reactive {
+
+        @MockBean
+        private BatchClient batchClient;
+
+        @Autowired
+        private TestRestTemplate rest;
+
+        /**
+         * Method under test: {@link BatchController#executeBatch}
+         */
+        @Test
+        void executeBatch_whenReactiveMode_thenBatchExecuted() {
+            assertBatchExecuted(batchClient, rest);
+        }
+    }
+
+    private static void assertBatchExecuted(BatchClient batchClient, TestRestTemplate rest) {
+        when(batchClient.executeBatch(eq(1L), anyList())).thenReturn(ResponseEntity.ok(List.of(Map.of("status", 200))));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Sharer-User-Id", "1");
+
+        ResponseEntity<String> response = rest.postForEntity("/batch", new HttpEntity<>(BATCH, headers), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("[{\"status\":200}]", response.getBody());
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BatchControllerTest {
+
+    @MockBean
+    private BatchClient batchClient;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    /**
+     * Method under test: {@link BatchController#executeBatch}
+     */
+    @Test
+    void executeBatch_whenRequestsAreValid_thenForwardsWholeBatch() {
+        List<BatchRequestDto> batch = List.of(
+                new BatchRequestDto("GET", "/users/1", null),
+                new BatchRequestDto("POST", "/users", mapper.valueToTree(new UserDto("Mike", "mike@gmail.com"))),
+                new BatchRequestDto("GET", "/unknown", null));
+        when(batchClient.executeBatch(eq(1L), anyList()))
+                .thenReturn(ResponseEntity.ok(List.of(Map.of("status", 200), Map.of("status", 201),
+                        Map.of("status", 404))));
+
+        ResponseEntity<String> response = rest.postForEntity("/batch", entity(batch), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BatchRequestDto>> forwarded = ArgumentCaptor.forClass(List.class);
+        verify(batchClient).executeBatch(eq(1L), forwarded.capture());
+        assertEquals(batch.size(), forwarded.getValue().size());
+        for (int i = 0; i < batch.size(); i++) {
+            BatchRequestDto expected = batch.get(i);
+            BatchRequestDto actual = forwarded.getValue().get(i);
+            assertEquals(expected.getMethod(), actual.getMethod());
+            assertEquals(expected.getPath(), actual.getPath());
+            assertEquals(expected.getBody() == null, actual.getBody() == null || actual.getBody().isNull());
+        }
+        assertFalse(forwarded.getValue().get(1).getBody().isNull());
+        assertEquals("mike@gmail.com", forwarded.getValue().get(1).getBody().get("email").asText());
+    }
+
+    /**
+     * Method under test: {@link BatchController#executeBatch}
+     */
+    @Test
+    void executeBatch_whenBodyIsInvalid_thenBadRequestAndNotForwarded() {
+        List<BatchRequestDto> batch = List.of(
+                new BatchRequestDto("GET", "/users/1", null),
+                new BatchRequestDto("POST", "/users", mapper.valueToTree(new UserDto("Mike", "not-an-email"))));
+
+        ResponseEntity<String> response = rest.postForEntity("/batch", entity(batch), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("Batch request #2 has invalid body"));
+        verify(batchClient, never()).executeBatch(any(), anyList());
+    }
+
+    /**
+     * Method under test: {@link BatchController#executeBatch}
+     */
+    @Test
+    void executeBatch_whenPathIsBatch_thenBadRequest() {
+        List<BatchRequestDto> batch = List.of(new BatchRequestDto("POST", "/batch", null));
+
+        ResponseEntity<String> response = rest.postForEntity("/batch", entity(batch), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(batchClient, never()).executeBatch(any(), anyList());
+    }
+
+    private HttpEntity<List<BatchRequestDto>> entity(List<BatchRequestDto> batch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Sharer-User-Id", "1");
+        return new HttpEntity<>(batch, headers);
+    }
+}
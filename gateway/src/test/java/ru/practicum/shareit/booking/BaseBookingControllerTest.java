@@ -0,0 +1,181 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Одно определение эндпоинтов бронирований проверяется в каждом режиме шлюза: маршрут, валидация
+ * параметров и ответ клиента должны вести себя одинаково при любом типе ответа эндпоинта.
+ */
+class BaseBookingControllerTest {
+
+    private static final ResponseEntity<Object> BOOKING = ResponseEntity.ok(Map.of("id", 7, "status", "WAITING"));
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "shareit-gateway.mode=blocking")
+    class Blocking {
+
+        @MockBean
+        private BookingClient bookingClient;
+
+        @Autowired
+        private TestRestTemplate rest;
+
+        /**
+         * Method under test: {@link BaseBookingController#getBooking}
+         */
+        @Test
+        void getBooking_whenClientResponds_thenResponsePassedThrough() {
+            when(bookingClient.getBooking(1L, 7L)).thenReturn(BOOKING);
+
+            assertBookingReturned(rest);
+        }
+
+        /**
+         * Method under test: {@link BaseBookingController#getBookingsByOwner}
+         */
+        @Test
+        void getBookingsByOwner_whenSizeAboveLimit_thenBadRequestWithoutClientCall() {
+            assertOwnerPageRejected(rest);
+            verify(bookingClient, never()).getBookingsByOwner(anyLong(), any(), anyInt(), anyInt(), any());
+        }
+
+        /**
+         * Method under test: {@link BaseBookingController#approve}
+         */
+        @Test
+        void approve_whenApprovedMissing_thenBadRequestWithoutClientCall() {
+            assertApproveRejected(rest);
+            verify(bookingClient, never()).approve(anyLong(), anyLong(), anyBoolean());
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "shareit-gateway.mode=async")
+    class Async {
+
+        @MockBean
+        private BookingClient bookingClient;
+
+        @Autowired
+        private TestRestTemplate rest;
+
+        /**
+         * Method under test: {@link BaseBookingController#getBooking}
+         */
+        @Test
+        void getBooking_whenClientResponds_thenResponsePassedThrough() {
+            when(bookingClient.getBooking(1L, 7L)).thenReturn(BOOKING);
+
+            assertBookingReturned(rest);
+        }
+
+        /**
+         * Method under test: {@link BaseBookingController#getBookingsByOwner}
+         */
+        @Test
+        void getBookingsByOwner_whenSizeAboveLimit_thenBadRequestWithoutClientCall() {
+            assertOwnerPageRejected(rest);
+            verify(bookingClient, never()).getBookingsByOwner(anyLong(), any(), anyInt(), anyInt(), any());
+        }
+
+        /**
+         * Method under test: {@link BaseBookingController#approve}
+         */
+        @Test
+        void approve_whenApprovedMissing_thenBadRequestWithoutClientCall() {
+            assertApproveRejected(rest);
+            verify(bookingClient, never()).approve(anyLong(), anyLong(), anyBoolean());
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "shareit-gateway.mode=reactive")
+    class Reactive {
+
+        @MockBean
+        private ReactiveBookingClient bookingClient;
+
+        @Autowired
+        private TestRestTemplate rest;
+
+        /**
+         * Method under test: {@link BaseBookingController#getBooking}
+         */
+        @Test
+        void getBooking_whenClientResponds_thenResponsePassedThrough() {
+            when(bookingClient.getBooking(1L, 7L)).thenReturn(Mono.just(BOOKING));
+
+            assertBookingReturned(rest);
+        }
+
+        /**
+         * Method under test: {@link BaseBookingController#getBookingsByOwner}
+         */
+        @Test
+        void getBookingsByOwner_whenSizeAboveLimit_thenBadRequestWithoutClientCall() {
+            assertOwnerPageRejected(rest);
+            verify(bookingClient, never()).getBookingsByOwner(anyLong(), any(), anyInt(), anyInt(), any());
+        }
+
+        /**
+         * Method under test: {@link BaseBookingController#approve}
+         */
+        @Test
+        void approve_whenApprovedMissing_thenBadRequestWithoutClientCall() {
+            assertApproveRejected(rest);
+            verify(bookingClient, never()).approve(anyLong(), anyLong(), anyBoolean());
+        }
+    }
+
+    private static void assertBookingReturned(TestRestTemplate rest) {
+        ResponseEntity<Map> response = rest.exchange("/bookings/7", HttpMethod.GET, asUser(1L), Map.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("id", 7, "status", "WAITING"), response.getBody());
+    }
+
+    private static void assertOwnerPageRejected(TestRestTemplate rest) {
+        ResponseEntity<String> response = rest.exchange("/bookings/owner?size=101", HttpMethod.GET, asUser(1L),
+                String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private static void assertApproveRejected(TestRestTemplate rest) {
+        ResponseEntity<String> response = rest.exchange("/bookings/7", HttpMethod.PATCH, asUser(1L),
+                String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private static HttpEntity<Void> asUser(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return new HttpEntity<>(headers);
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.filter.admission;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionControllerTest {
+
+    private final AdmissionController controller = new AdmissionController(1);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    private final List<String> admitted = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Method under test: {@link AdmissionController#acquire}
+     */
+    @Test
+    void acquire_whenFree_thenAdmittedImmediately() throws InterruptedException {
+        assertEquals(AdmissionController.Decision.ADMITTED, controller.acquire(tier("critical", 0)));
+        assertEquals(1, controller.getInFlight());
+
+        controller.release(0);
+
+        assertEquals(0, controller.getInFlight());
+    }
+
+    /**
+     * Method under test: {@link AdmissionController#release}
+     */
+    @Test
+    void release_whenWaitersQueued_thenPriorityThenArrivalOrder() throws Exception {
+        controller.acquire(tier("critical", 0));
+        Future<AdmissionController.Decision> bulk = waitInQueue("bulk", tier("bulk", 20));
+        await(() -> controller.getQueued() == 1);
+        Future<AdmissionController.Decision> firstStandard = waitInQueue("standard-1", tier("standard", 10));
+        await(() -> controller.getQueued() == 2);
+        Future<AdmissionController.Decision> secondStandard = waitInQueue("standard-2", tier("standard", 10));
+        await(() -> controller.getQueued() == 3);
+
+        for (int released = 1; released <= 3; released++) {
+            controller.release(0);
+            int expected = released;
+            await(() -> admitted.size() == expected);
+        }
+
+        assertEquals(List.of("standard-1", "standard-2", "bulk"), admitted);
+        assertEquals(AdmissionController.Decision.QUEUED, bulk.get(5, TimeUnit.SECONDS));
+        assertEquals(AdmissionController.Decision.QUEUED, firstStandard.get(5, TimeUnit.SECONDS));
+        assertEquals(AdmissionController.Decision.QUEUED, secondStandard.get(5, TimeUnit.SECONDS));
+        assertEquals(1, controller.getInFlight());
+    }
+
+    /**
+     * Method under test: {@link AdmissionController#acquire}
+     */
+    @Test
+    void acquire_whenWaitExceedsMaxWait_thenShedTimeoutAndQueueCleared() throws InterruptedException {
+        controller.acquire(tier("critical", 0));
+        AdmissionProperties.Tier impatient = tier("bulk", 20);
+        impatient.setMaxWait(Duration.ofMillis(50));
+
+        assertEquals(AdmissionController.Decision.SHED_TIMEOUT, controller.acquire(impatient));
+        assertEquals(0, controller.getQueued());
+
+        controller.release(0);
+        assertEquals(0, controller.getInFlight());
+    }
+
+    /**
+     * Method under test: {@link AdmissionController#acquire}
+     */
+    @Test
+    void acquire_whenQueueDeeperThanTierAllows_thenShedQueueDepth() throws Exception {
+        controller.acquire(tier("critical", 0));
+        waitInQueue("standard", tier("standard", 10));
+        await(() -> controller.getQueued() == 1);
+        AdmissionProperties.Tier bulk = tier("bulk", 20);
+        bulk.setMaxQueueDepth(1);
+
+        assertEquals(AdmissionController.Decision.SHED_QUEUE_DEPTH, controller.acquire(bulk));
+        assertFalse(AdmissionController.Decision.SHED_QUEUE_DEPTH.isAdmitted());
+        assertEquals(1, controller.getQueued());
+    }
+
+    /**
+     * Method under test: {@link AdmissionController#acquire}
+     */
+    @Test
+    void acquire_whenAverageLatencyAboveTierThreshold_thenShedLatency() throws InterruptedException {
+        controller.acquire(tier("critical", 0));
+        controller.release(TimeUnit.SECONDS.toNanos(10));
+        controller.acquire(tier("critical", 0));
+        AdmissionProperties.Tier bulk = tier("bulk", 20);
+        bulk.setShedLatency(Duration.ofMillis(100));
+
+        assertEquals(AdmissionController.Decision.SHED_LATENCY, controller.acquire(bulk));
+        assertTrue(controller.getAverageLatency(TimeUnit.MILLISECONDS) > 100);
+    }
+
+    private Future<AdmissionController.Decision> waitInQueue(String name, AdmissionProperties.Tier tier) {
+        return executor.submit(() -> {
+            AdmissionController.Decision decision = controller.acquire(tier);
+            admitted.add(name);
+            return decision;
+        });
+    }
+
+    private static AdmissionProperties.Tier tier(String name, int priority) {
+        AdmissionProperties.Tier tier = new AdmissionProperties.Tier();
+        tier.setName(name);
+        tier.setPriority(priority);
+        tier.setMaxWait(Duration.ofSeconds(5));
+        return tier;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
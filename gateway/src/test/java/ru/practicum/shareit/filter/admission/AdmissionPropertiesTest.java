@@ -0,0 +1,55 @@
+package ru.practicum.shareit.filter.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionPropertiesTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(PropertiesConfig.class)
+            .withPropertyValues(
+                    "server.tomcat.threads.max=200",
+                    "shareit-gateway.admission.enabled=true",
+                    "shareit-gateway.admission.max-concurrent=100",
+                    "shareit-gateway.admission.tiers[0].name=critical",
+                    "shareit-gateway.admission.tiers[1].name=bulk",
+                    "shareit-gateway.admission.tiers[1].max-queue-depth=20");
+
+    /**
+     * Method under test: {@link AdmissionProperties#validate}
+     */
+    @Test
+    void validate_whenQueueFitsTomcatThreads_thenBound() {
+        runner.withPropertyValues("shareit-gateway.admission.tiers[0].max-queue-depth=100")
+                .run(context -> assertThat(context).hasNotFailed());
+    }
+
+    /**
+     * Method under test: {@link AdmissionProperties#validate}
+     */
+    @Test
+    void validate_whenQueueExceedsTomcatThreads_thenStartupFails() {
+        runner.withPropertyValues("shareit-gateway.admission.tiers[0].max-queue-depth=101")
+                .run(context -> assertThat(context).getFailure()
+                        .hasStackTraceContaining("must not exceed server.tomcat.threads.max (200)"));
+    }
+
+    /**
+     * Method under test: {@link AdmissionProperties#validate}
+     */
+    @Test
+    void validate_whenDisabled_thenNotChecked() {
+        runner.withPropertyValues("shareit-gateway.admission.enabled=false",
+                        "shareit-gateway.admission.tiers[0].max-queue-depth=500")
+                .run(context -> assertThat(context).hasNotFailed());
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(AdmissionProperties.class)
+    static class PropertiesConfig {
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.filter.capture;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CaptureFilterTest {
+
+    @Mock
+    private CaptureWriter writer;
+
+    /**
+     * Method under test: {@link CaptureFilter#doFilter}
+     */
+    @Test
+    void doFilter_whenBatchWithDefaultProperties_thenRequestIsNotWrapped() throws Exception {
+        CaptureProperties properties = new CaptureProperties();
+        properties.setSampleRate(1);
+        CaptureFilter filter = new CaptureFilter(properties, writer);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/batch");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        verify(writer, never()).submit(any());
+    }
+
+    /**
+     * Method under test: {@link CaptureFilter#doFilter}
+     */
+    @Test
+    void doFilter_whenSampled_thenRequestIsSubmitted() throws Exception {
+        CaptureProperties properties = new CaptureProperties();
+        properties.setSampleRate(1);
+        CaptureFilter filter = new CaptureFilter(properties, writer);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/1"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        verify(writer).submit(any());
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.filter.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(properties(), new SimpleMeterRegistry(),
+            new ObjectMapper());
+
+    /**
+     * Method under test: {@link RateLimitFilter#doFilter}
+     */
+    @Test
+    void doFilter_whenBucketEmpty_thenTooManyRequests() throws Exception {
+        assertEquals(HttpStatus.OK.value(), send("/items/1").getStatus());
+
+        MockHttpServletResponse rejected = send("/items/1");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("100", rejected.getHeader("Retry-After"));
+    }
+
+    /**
+     * Method under test: {@link RateLimitFilter#doFilter}
+     */
+    @Test
+    void doFilter_whenActuatorPath_thenNeverLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.OK.value(), send("/actuator/prometheus").getStatus());
+        }
+    }
+
+    /**
+     * Method under test: {@link RateLimitFilter#doFilter}
+     */
+    @Test
+    void doFilter_whenPathOutsideGroups_thenNotLimited() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.OK.value(), send("/unknown").getStatus());
+        }
+    }
+
+    /**
+     * Method under test: {@link RateLimitFilter#tryConsumeBatch}
+     */
+    @Test
+    void tryConsumeBatch_whenGroupExhausted_thenRejectedWithoutSpendingTokens() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/batch");
+        request.addHeader("X-Sharer-User-Id", "1");
+        List<BatchRequestDto> batch = List.of(
+                new BatchRequestDto("GET", "/items/1", null),
+                new BatchRequestDto("GET", "/items/search?text=drill", null),
+                new BatchRequestDto("GET", "/unknown", null));
+
+        assertEquals(100, filter.tryConsumeBatch(request, batch));
+        assertEquals(HttpStatus.OK.value(), send("/items/1").getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("/items/1").getStatus());
+    }
+
+    /**
+     * Method under test: {@link RateLimitFilter#tryConsumeBatch}
+     */
+    @Test
+    void tryConsumeBatch_whenTokensLeft_thenSubRequestsSpendThem() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/batch");
+        request.addHeader("X-Sharer-User-Id", "1");
+
+        assertEquals(0, filter.tryConsumeBatch(request, List.of(new BatchRequestDto("GET", "/items/1", null))));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("/items/1").getStatus());
+    }
+
+    private MockHttpServletResponse send(String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("X-Sharer-User-Id", "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    /**
+     * Группа ловит и /actuator/**, чтобы проверить, что исключение срабатывает раньше групп.
+     */
+    private static RateLimitProperties properties() {
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setName("default");
+        group.setPaths(List.of("/items/**", "/actuator/**"));
+        group.setCapacity(1);
+        group.setRefillPerSecond(0.01);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setGroups(List.of(group));
+        return properties;
+    }
+}
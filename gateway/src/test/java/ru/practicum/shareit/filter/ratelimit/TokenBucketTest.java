@@ -0,0 +1,52 @@
+package ru.practicum.shareit.filter.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Method under test: {@link TokenBucket#tryConsume}
+     */
+    @Test
+    void tryConsume_whenFull_thenBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 10, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(SECOND / 10, bucket.tryConsume(0));
+    }
+
+    /**
+     * Method under test: {@link TokenBucket#tryConsume}
+     */
+    @Test
+    void tryConsume_whenEmpty_thenWaitShrinksAsTokenRefills() {
+        TokenBucket bucket = new TokenBucket(1, 10, 0);
+        bucket.tryConsume(0);
+
+        assertEquals(SECOND / 20, bucket.tryConsume(SECOND / 20));
+        assertEquals(0, bucket.tryConsume(SECOND / 10));
+    }
+
+    /**
+     * Method under test: {@link TokenBucket#tryConsume}
+     */
+    @Test
+    void tryConsume_whenIdleForLong_thenRefillCappedAtCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 10, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        long later = 60 * SECOND;
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(0, bucket.tryConsume(later));
+        assertEquals(SECOND / 10, bucket.tryConsume(later));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.batch.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import ru.practicum.shareit.batch.BatchDispatcher;
+import ru.practicum.shareit.batch.BatchProperties;
+import ru.practicum.shareit.exceptions.ErrorResponse;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class BatchConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "shareit-server.batch")
+    public BatchProperties batchProperties() {
+        return new BatchProperties();
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor batchExecutor(BatchProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("batch-");
+        executor.setCorePoolSize(properties.getParallelism());
+        executor.setMaxPoolSize(properties.getParallelism());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean
+    public BatchDispatcher batchDispatcher(BatchProperties properties, ObjectMapper mapper,
+                                           ThreadPoolTaskExecutor batchExecutor) {
+        return new BatchDispatcher(properties, mapper, ErrorResponse::new, batchExecutor);
+    }
+}
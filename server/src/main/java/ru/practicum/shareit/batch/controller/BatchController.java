@@ -0,0 +1,37 @@
+package ru.practicum.shareit.batch.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.BatchDispatcher;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/batch")
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    /**
+     * Эндпоинт по выполнению нескольких запросов за один вызов.
+     * Подзапросы выполняются существующими контроллерами с заголовками исходного запроса: идущие подряд
+     * GET параллельно, изменяющие - по очереди.
+     * @param requests список подзапросов.
+     * @return Возвращает результаты подзапросов в том же порядке.
+     */
+    @PostMapping
+    public List<BatchResponseDto> executeBatch(@RequestBody List<BatchRequestDto> requests,
+                                               HttpServletRequest request,
+                                               HttpServletResponse response) {
+        return batchDispatcher.execute(requests, request, response);
+    }
+}
@@ -0,0 +1,287 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.ElementAlreadyExistsException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Индекс занятости вещей: активные (WAITING и APPROVED) бронирования, которые еще не закончились.
+ * Интервалы вещи загружаются из базы при первом обращении, дальше проверка пересечения идет в памяти.
+ * Бронирования одной вещи резервируются по очереди; резерв снимается, если транзакция не зафиксирована.
+ * Запросы к базе выполняются вне блокировки вещи, под ней - только работа с интервалами в памяти.
+ *
+ * <p>Индекс хранит не больше shareit-server.availability.max-items вещей: при превышении давно не
+ * использованные вещи вытесняются и при следующем обращении читаются из базы заново. Вещи с
+ * незафиксированными резервами не вытесняются.
+ *
+ * <p>Индекс действует в пределах одного экземпляра shareit-server. Гарантию для нескольких экземпляров
+ * дает ограничение bookings_no_overlap в Postgres (миграция V4__bookings_no_overlap.sql): при его нарушении
+ * интервалы вещи перечитываются из базы. Интервал, освобожденный другим экземпляром, обнаруживается при
+ * конфликте проверкой бронирования по id.
+ *
+ * <p>На H2 (профили ci и test) такого ограничения нет, и единственная защита от пересечений - этот индекс.
+ * Он не разделяется между экземплярами, поэтому несколько экземпляров на H2 могут сохранить пересекающиеся
+ * бронирования одной вещи.
+ */
+@Component
+public class AvailabilityIndex {
+
+    static final List<BookingStatus> ACTIVE = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+
+    private final int maxItems;
+
+    private final Map<Long, ItemSlots> items = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public AvailabilityIndex(BookingRepository bookingRepository,
+                             @Value("${shareit-server.availability.max-items:10000}") int maxItems) {
+        this.bookingRepository = bookingRepository;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Быстрая проверка до сохранения бронирования: свободен ли интервал вещи. Загруженные интервалы проверяются
+     * в памяти; к базе обращаются только за чтением интервалов вещи и за проверкой найденного пересечения,
+     * которое могло устареть. Окончательное решение все равно принимает {@link #reserve}.
+     */
+    public boolean isAvailable(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return ifFree(itemId, start, end, slots -> {
+        }) == null;
+    }
+
+    /**
+     * Занимает интервал бронирования или бросает {@link ElementAlreadyExistsException}, если он пересекается
+     * с активным бронированием вещи. Вызывается в транзакции сохранения, до вставки строки.
+     */
+    public void reserve(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        ItemSlots.Slot slot = new ItemSlots.Slot(booking.getStart(), booking.getEnd(), null);
+        List<ItemSlots> reserved = new ArrayList<>(1);
+        ItemSlots.Slot conflict = ifFree(itemId, slot.getStart(), slot.getEnd(), slots -> {
+            slots.add(slot);
+            slots.setPending(slots.getPending() + 1);
+            reserved.add(slots);
+        });
+        if (conflict != null) {
+            throw new ElementAlreadyExistsException(String.format(
+                    "The item with ID=%d is already booked from %s to %s!",
+                    itemId, conflict.getStart(), conflict.getEnd()));
+        }
+        ItemSlots slots = reserved.get(0);
+        afterCompletion(committed -> {
+            synchronized (slots) {
+                slots.setPending(slots.getPending() - 1);
+                if (!committed) {
+                    slots.remove(slot);
+                }
+            }
+        });
+    }
+
+    /**
+     * Привязывает резерв к сохраненному бронированию, чтобы его можно было освободить по id. Привязка
+     * выполняется после фиксации: до нее другие транзакции не видят строку и сочли бы резерв устаревшим.
+     */
+    public void confirm(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        afterCompletion(committed -> {
+            if (committed) {
+                ifPresent(itemId, slots -> {
+                    ItemSlots.Slot slot = slots.get(booking.getStart());
+                    if (slot != null && slot.getBookingId() == null && slot.getEnd().equals(booking.getEnd())) {
+                        slot.setBookingId(booking.getId());
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Освобождает интервал отклоненного бронирования после фиксации транзакции.
+     */
+    public void release(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        afterCompletion(committed -> {
+            if (committed) {
+                ifPresent(itemId, slots -> {
+                    ItemSlots.Slot slot = slots.get(booking.getStart());
+                    if (slot != null && booking.getId().equals(slot.getBookingId())) {
+                        slots.remove(slot);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Снимает резерв бронирования, которое отклонила база, и забывает прочитанные интервалы вещи:
+     * при следующем обращении они будут прочитаны из базы. Запись вещи остается в индексе и очищается
+     * под ее блокировкой, поэтому резервы других транзакций сохраняются.
+     */
+    public void invalidate(Booking booking) {
+        ifPresent(booking.getItem().getId(), slots -> {
+            ItemSlots.Slot slot = slots.get(booking.getStart());
+            if (slot != null && slot.getBookingId() == null && slot.getEnd().equals(booking.getEnd())) {
+                slots.remove(slot);
+            }
+            slots.invalidate();
+        });
+    }
+
+    /**
+     * Выполняет действие под блокировкой вещи, если интервал не пересекается с ее интервалами, иначе возвращает
+     * пересечение. Интервал, бронирование которого удалено, отклонено или изменено в обход этого экземпляра,
+     * считается устаревшим: он удаляется, и проверка повторяется.
+     */
+    private ItemSlots.Slot ifFree(Long itemId, LocalDateTime start, LocalDateTime end, Consumer<ItemSlots> action) {
+        while (true) {
+            ItemSlots.Slot conflict = withSlots(itemId, slots -> {
+                ItemSlots.Slot overlap = slots.findOverlap(start, end);
+                if (overlap == null) {
+                    action.accept(slots);
+                }
+                return overlap;
+            });
+            if (conflict == null || !isStale(conflict)) {
+                return conflict;
+            }
+            withSlots(itemId, slots -> {
+                slots.remove(conflict);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Выполняет действие под блокировкой загруженной записи вещи. Интервалы читаются из базы без
+     * блокировки; если запись за это время сбросили или вытеснили, чтение повторяется.
+     */
+    private <T> T withSlots(Long itemId, Function<ItemSlots, T> action) {
+        while (true) {
+            ItemSlots slots = items.get(itemId);
+            if (slots == null) {
+                slots = items.computeIfAbsent(itemId, ItemSlots::new);
+                if (items.size() > maxItems) {
+                    evict();
+                }
+            }
+            long version;
+            synchronized (slots) {
+                if (slots.isEvicted()) {
+                    continue;
+                }
+                if (slots.isLoaded()) {
+                    LocalDateTime now = LocalDateTime.now();
+                    slots.setLastUsed(System.nanoTime());
+                    slots.prune(now);
+                    return action.apply(slots);
+                }
+                version = slots.getVersion();
+            }
+            List<Booking> bookings = bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(
+                    itemId, ACTIVE, LocalDateTime.now());
+            synchronized (slots) {
+                if (!slots.isLoaded() && slots.getVersion() == version) {
+                    for (Booking b : bookings) {
+                        slots.add(new ItemSlots.Slot(b.getStart(), b.getEnd(), b.getId()));
+                    }
+                    slots.setLoaded(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Действие над записью вещи, если она есть в индексе; отсутствующая запись не загружается.
+     */
+    private void ifPresent(Long itemId, Consumer<ItemSlots> action) {
+        ItemSlots slots = items.get(itemId);
+        if (slots != null) {
+            synchronized (slots) {
+                if (!slots.isEvicted()) {
+                    action.accept(slots);
+                }
+            }
+        }
+    }
+
+    /**
+     * Вытесняет давно не использованные вещи, пока их не останется девять десятых от предела, чтобы
+     * не сортировать индекс на каждой новой вещи. Вытеснение выполняет один поток, остальные не ждут.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<ItemSlots> candidates = new ArrayList<>(items.values());
+            candidates.sort(Comparator.comparingLong(ItemSlots::getLastUsed));
+            int excess = items.size() - maxItems * 9 / 10;
+            for (ItemSlots slots : candidates) {
+                if (excess <= 0) {
+                    break;
+                }
+                synchronized (slots) {
+                    if (slots.getPending() == 0 && !slots.isEvicted()) {
+                        slots.setEvicted(true);
+                        items.remove(slots.getItemId(), slots);
+                        excess--;
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Проверяет по базе, вне блокировки вещи, что бронирование интервала еще активно и не изменено.
+     * Резерв без id (транзакция еще не завершена) устаревшим не считается.
+     */
+    private boolean isStale(ItemSlots.Slot slot) {
+        Long bookingId = slot.getBookingId();
+        if (bookingId == null) {
+            return false;
+        }
+        return bookingRepository.findById(bookingId)
+                .map(b -> !ACTIVE.contains(b.getStatus())
+                        || !b.getStart().equals(slot.getStart()) || !b.getEnd().equals(slot.getEnd()))
+                .orElse(true);
+    }
+
+    private static void afterCompletion(CompletionCallback callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.onCompletion(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.onCompletion(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private interface CompletionCallback {
+
+        void onCompletion(boolean committed);
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Занятые интервалы одной вещи, упорядоченные по началу. Интервалы не пересекаются, поэтому пересечение
+ * с новым интервалом возможно только у ближайшего слева и ближайшего справа соседа - проверка за O(log n).
+ * Интервалы полуоткрытые: бронирование может начаться в момент окончания предыдущего.
+ * Не потокобезопасен, доступ синхронизирует {@link AvailabilityIndex}.
+ */
+class ItemSlots {
+
+    private final NavigableMap<LocalDateTime, Slot> slots = new TreeMap<>();
+
+    @Getter
+    private final Long itemId;
+
+    @Getter
+    @Setter
+    private boolean loaded;
+
+    /**
+     * Увеличивается при каждом сбросе: интервалы, прочитанные из базы до сброса, не устанавливаются.
+     */
+    @Getter
+    private long version;
+
+    /**
+     * Число резервов, транзакции которых еще не завершены. Пока оно не ноль, вещь не вытесняется из индекса:
+     * незафиксированное бронирование не видно в базе и после перезагрузки было бы потеряно.
+     */
+    @Getter
+    @Setter
+    private int pending;
+
+    /**
+     * Запись удалена из индекса; поток, получивший ее раньше, берет новую.
+     */
+    @Getter
+    @Setter
+    private boolean evicted;
+
+    @Getter
+    @Setter
+    private volatile long lastUsed;
+
+    ItemSlots(Long itemId) {
+        this.itemId = itemId;
+        this.lastUsed = System.nanoTime();
+    }
+
+    Slot findOverlap(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Slot> before = slots.floorEntry(start);
+        if (before != null && before.getValue().getEnd().isAfter(start)) {
+            return before.getValue();
+        }
+        Map.Entry<LocalDateTime, Slot> after = slots.higherEntry(start);
+        if (after != null && after.getKey().isBefore(end)) {
+            return after.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * Пересекающиеся интервалы (бронирования, созданные до появления индекса) объединяются в один
+     * без идентификатора: такой интервал не проверяется на устаревание и освобождается только по окончании.
+     */
+    void add(Slot slot) {
+        Slot overlap = findOverlap(slot.getStart(), slot.getEnd());
+        if (overlap == null) {
+            slots.put(slot.getStart(), slot);
+            return;
+        }
+        slots.remove(overlap.getStart());
+        LocalDateTime start = overlap.getStart().isBefore(slot.getStart()) ? overlap.getStart() : slot.getStart();
+        LocalDateTime end = overlap.getEnd().isAfter(slot.getEnd()) ? overlap.getEnd() : slot.getEnd();
+        add(new Slot(start, end, null));
+    }
+
+    void remove(Slot slot) {
+        slots.remove(slot.getStart(), slot);
+    }
+
+    /**
+     * Забывает интервалы, прочитанные из базы. Резервы еще не зафиксированных бронирований остаются:
+     * перечитанная база их пока не содержит.
+     */
+    void invalidate() {
+        slots.values().removeIf(slot -> slot.getBookingId() != null);
+        loaded = false;
+        version++;
+    }
+
+    Slot get(LocalDateTime start) {
+        return slots.get(start);
+    }
+
+    /**
+     * Новые бронирования начинаются в будущем, поэтому закончившиеся интервалы больше ни с чем не пересекутся.
+     */
+    void prune(LocalDateTime now) {
+        while (!slots.isEmpty() && !slots.firstEntry().getValue().getEnd().isAfter(now)) {
+            slots.pollFirstEntry();
+        }
+    }
+
+    @Getter
+    static class Slot {
+
+        private final LocalDateTime start;
+
+        private final LocalDateTime end;
+
+        /**
+         * null, пока бронирование не сохранено.
+         */
+        @Setter
+        private volatile Long bookingId;
+
+        Slot(LocalDateTime start, LocalDateTime end, Long bookingId) {
+            this.start = start;
+            this.end = end;
+            this.bookingId = bookingId;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -11,12 +13,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
 import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 
 @Validated
@@ -27,6 +32,9 @@ public class BookingController {
 
     private final BookingService bookingService;
 
+    @Value("${shareit-server.etag.enabled:true}")
+    private boolean etagEnabled;
+
     /**
      * Эндпонит по добовлению бронированию.
      * @param userId id пользователя бронирующий продукт.
@@ -64,7 +72,14 @@ public class BookingController {
     @GetMapping("/{bookingId}")
     public BookingAllFieldsDto getBookingById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @PathVariable Long bookingId) {
+            @PathVariable Long bookingId,
+            WebRequest request) {
+        if (etagEnabled) {
+            Optional<String> etag = bookingService.getBookingEtag(userId, bookingId);
+            if (etag.isPresent() && request.checkNotModified(etag.get())) {
+                return null;
+            }
+        }
         return bookingService.getBookingById(userId, bookingId);
     }
 
@@ -72,29 +87,47 @@ public class BookingController {
      * Эндпоинт по получению списка всех бронирования пользователя, кто забронировал товар.
      * @param bookerId id пользователя
      * @param state параметр может принимать заначения: ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED
+     * @param cursor значение X-Next-Cursor предыдущей страницы; если задан, from не используется.
      * @return Возвралщает список бронирования.
      */
     @GetMapping
-    public List<BookingAllFieldsDto> getBookingsByBooker(
+    public ResponseEntity<List<BookingAllFieldsDto>> getBookingsByBooker(
             @RequestHeader("X-Sharer-User-Id") Long bookerId,
             @RequestParam String state,
             @RequestParam (defaultValue = "0") int from,
-            @RequestParam (defaultValue = "10") int size) {
-        return bookingService.getBookingsByBookerId(bookerId, state, new OffsetPageRequest(from, size));
+            @RequestParam (defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        List<BookingAllFieldsDto> bookings = cursor == null
+                ? bookingService.getBookingsByBookerId(bookerId, state, new OffsetPageRequest(from, size))
+                : bookingService.getBookingsByBookerId(bookerId, state, BookingCursor.decode(cursor), size);
+        return withNextCursor(bookings, size);
     }
 
     /**
      * Эндпоинт по получению списка всех бронирования владельца товара.
      * @param ownerId id пользователя
      * @param state параметр может принимать заначения: ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED
+     * @param cursor значение X-Next-Cursor предыдущей страницы; если задан, from не используется.
      * @return Возвралщает список бронирования.
      */
     @GetMapping("/owner")
-    public List<BookingAllFieldsDto> getBookingsByOwner(
+    public ResponseEntity<List<BookingAllFieldsDto>> getBookingsByOwner(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @RequestParam String state,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size) {
-        return bookingService.getBookingsByOwner(ownerId, state, new OffsetPageRequest(from, size));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        List<BookingAllFieldsDto> bookings = cursor == null
+                ? bookingService.getBookingsByOwner(ownerId, state, new OffsetPageRequest(from, size))
+                : bookingService.getBookingsByOwner(ownerId, state, BookingCursor.decode(cursor), size);
+        return withNextCursor(bookings, size);
+    }
+
+    private static ResponseEntity<List<BookingAllFieldsDto>> withNextCursor(List<BookingAllFieldsDto> bookings,
+                                                                            int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        BookingCursor.next(bookings, size)
+                .ifPresent(next -> response.header(BookingCursor.NEXT_CURSOR_HEADER, next.encode()));
+        return response.body(bookings);
     }
 }
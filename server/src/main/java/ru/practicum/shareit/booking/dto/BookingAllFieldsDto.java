@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import java.time.LocalDateTime;
@@ -25,4 +26,16 @@ public class BookingAllFieldsDto {
     private UserDto booker;
 
     private ItemDto item;
+
+    /**
+     * Проекция для списков бронирований (select new в JPQL и JDBC): ответ собирается прямо из столбцов,
+     * без сущностей Booking, Item и User в контексте персистентности.
+     */
+    public BookingAllFieldsDto(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                               Long bookerId, String bookerName, String bookerEmail,
+                               Long itemId, String itemName, String itemDescription, Boolean itemAvailable,
+                               Long itemRequestId) {
+        this(id, start, end, status.name(), new UserDto(bookerId, bookerName, bookerEmail),
+                new ItemDto(itemId, itemName, itemDescription, itemAvailable, itemRequestId));
+    }
 }
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.exceptions.InvalidDataException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Позиция в списке бронирований, упорядоченном по start desc, id desc: следующая страница начинается
+ * с бронирований строго после (start, id). Клиенту отдается непрозрачной строкой в заголовке X-Next-Cursor.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public final class BookingCursor {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime start;
+
+    private final Long id;
+
+    public static BookingCursor after(BookingAllFieldsDto booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    /**
+     * Курсор страницы, следующей за page. Полная страница получает курсор, в том числе при запросе по from:
+     * клиент может перейти на курсоры с любой страницы. Неполная страница - последняя.
+     */
+    public static Optional<BookingCursor> next(List<BookingAllFieldsDto> page, int size) {
+        if (page.isEmpty() || page.size() != size) {
+            return Optional.empty();
+        }
+        return Optional.of(after(page.get(page.size() - 1)));
+    }
+
+    public static BookingCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            return new BookingCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidDataException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
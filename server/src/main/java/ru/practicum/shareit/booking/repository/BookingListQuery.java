@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.Builder;
+import lombok.Getter;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Параметры списка бронирований для {@link BookingRepositoryCustom#findPage}. Задается либо state
+ * (ALL, CURRENT, PAST, FUTURE), либо status (WAITING, REJECTED, ...). Все сравнения со временем идут
+ * с одним моментом now, захваченным в начале запроса. Страница задается курсором after или смещением offset.
+ */
+@Getter
+@Builder
+public class BookingListQuery {
+
+    public enum Role {
+        BOOKER,
+        OWNER
+    }
+
+    private final Role role;
+
+    private final Long userId;
+
+    private final BookingState state;
+
+    private final BookingStatus status;
+
+    private final LocalDateTime now;
+
+    private final BookingCursor after;
+
+    private final long offset;
+
+    private final int size;
+}
@@ -1,17 +1,21 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    @EntityGraph(attributePaths = {"item", "booker"})
     List<Booking> findByItemIdAndItemOwnerIdAndStatusNotOrderByStartDesc(Long itemId, Long ownerId, BookingStatus status);
 
     @Query(value = "select distinct on(item_id, booker_id, status) b.* "
@@ -23,42 +27,27 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("status") String status
     );
 
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
-
-    List<Booking> findByBookerIdAndEndIsBeforeOrderByStartDesc(Long bookerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc(Long bookerId,
-                                                                                LocalDateTime start,
-                                                                                LocalDateTime end,
-                                                                                Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(Long bookerId,
-                                                                              LocalDateTime start,
-                                                                              LocalDateTime end,
-                                                                              Pageable pageable);
-
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId,
-                                                          BookingStatus bookingStatus,
-                                                          Pageable pageable);
-
-   List<Booking> findAllByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
-
-   List<Booking> findAllByItemOwnerIdAndStatusNotOrderByStartDesc(Long ownerId, BookingStatus status);
-
-   List<Booking> findByItemOwnerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc(Long ownerId,
-                                                                               LocalDateTime start,
-                                                                               LocalDateTime end,
-                                                                               Pageable pageable);
-
-   List<Booking> findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(Long ownerId,
-                                                                 LocalDateTime end,
-                                                                 Pageable pageable);
-
-   List<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(Long owner,
-                                                                                LocalDateTime start,
-                                                                                LocalDateTime end,
-                                                                                Pageable pageable);
-
-   List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findAllByItemOwnerIdAndStatusNotOrderByStartDesc(Long ownerId, BookingStatus status);
+
+   List<Booking> findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(Long itemId,
+                                                                    Collection<BookingStatus> statuses,
+                                                                    LocalDateTime end);
+
+   /**
+    * Блокирует строку бронирования до конца транзакции: одновременные подтверждение и отклонение
+    * одного бронирования выполняются по очереди, и второе видит уже не WAITING.
+    */
+   @Lock(LockModeType.PESSIMISTIC_WRITE)
+   @Query("select b from Booking b where b.id = :id")
+   Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+   /**
+    * Версии бронирования, арендатора и вещи для ETag. Строки нет, если бронирования нет или userId
+    * не арендатор и не владелец вещи: тогда ответ собирается полностью и завершается ошибкой.
+    */
+   @Query("select concat(b.version, '.', b.booker.version, '.', b.item.version) from Booking b "
+           + "where b.id = :id and (b.booker.id = :userId or b.item.owner.id = :userId)")
+   Optional<String> findVersions(@Param("id") Long id, @Param("userId") Long userId);
 
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * Страница бронирований в порядке start desc, id desc для любой пары роль × состояние. С курсором
+     * (keyset-пагинация) база переходит к позиции курсора по индексу, а не читает и отбрасывает offset строк.
+     * Выбираются только столбцы ответа, сущности не создаются.
+     */
+    List<BookingAllFieldsDto> findPage(BookingListQuery query);
+}
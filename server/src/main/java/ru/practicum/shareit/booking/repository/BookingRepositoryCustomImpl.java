@@ -0,0 +1,203 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Списки бронирований строятся из одного шаблона запроса. Текст запроса зависит только от формы: роль,
+ * состояние (или фильтр по статусу) и наличие курсора - не больше 2 × 5 × 2 = 20 строк. Все значения,
+ * включая id пользователя и момент now, передаются параметрами, поэтому Hibernate разбирает каждую форму
+ * один раз, а Postgres повторно использует подготовленный запрос и его план.
+ *
+ * <p>Списки на Postgres читаются индексом сразу в нужном порядке:
+ * <ul>
+ *     <li>BOOKER × ALL, FUTURE, PAST, CURRENT - bookings_booker_start_idx (booker_id, start_date, id):
+ *     равенство по booker_id и диапазон по start_date; для PAST и CURRENT end_date проверяется фильтром;</li>
+ *     <li>BOOKER × статус - bookings_booker_status_start_idx (booker_id, status, start_date, id);</li>
+ *     <li>OWNER - те же формы по bookings_owner_start_idx и bookings_owner_status_start_idx
+ *     (V6__bookings_owner_id.sql). Владелец вещи скопирован в bookings.owner_id, поэтому бронирования всех
+ *     вещей владельца лежат в индексе в общем порядке (start_date, id) и не сортируются на каждой странице;
+ *     items и users соединяются только для строк страницы.</li>
+ * </ul>
+ * PAST дополнительно ограничен start_date < now (следует из end_date < now), чтобы у индекса была граница
+ * диапазона. Столбцы, зафиксированные равенством, повторены в ORDER BY: порядок от этого не меняется,
+ * а H2 сопоставляет сортировку с индексом только по полному префиксу. Но и так H2 берет этот индекс
+ * только при диапазоне по start_date, то есть для страниц с курсором; первую страницу и страницы
+ * со смещением он читает по индексу внешнего ключа и сортирует все бронирования пользователя.
+ *
+ * <p>Запрос выбирает только столбцы {@link BookingAllFieldsDto}: через select new в JPQL или, при
+ * shareit-server.booking.jdbc-lists=true, тем же запросом в SQL через {@link RowMapper}. Сущности Booking,
+ * Item и User не создаются и не попадают в контекст персистентности, вещь и арендатор приходят в той же
+ * строке, без догрузки EAGER-связей.
+ */
+class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private static final String STATUS_FILTER = "STATUS";
+
+    private static final Map<String, String> TEMPLATES = new ConcurrentHashMap<>();
+
+    private static final RowMapper<BookingAllFieldsDto> ROW_MAPPER = (rs, rowNum) -> new BookingAllFieldsDto(
+            rs.getLong(1),
+            rs.getObject(2, LocalDateTime.class),
+            rs.getObject(3, LocalDateTime.class),
+            BookingStatus.valueOf(rs.getString(4)),
+            rs.getLong(5),
+            rs.getString(6),
+            rs.getString(7),
+            rs.getLong(8),
+            rs.getString(9),
+            rs.getString(10),
+            rs.getBoolean(11),
+            rs.getObject(12, Long.class));
+
+    private final EntityManager entityManager;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final boolean jdbcLists;
+
+    BookingRepositoryCustomImpl(EntityManager entityManager,
+                                NamedParameterJdbcTemplate jdbcTemplate,
+                                @Value("${shareit-server.booking.jdbc-lists:false}") boolean jdbcLists) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcLists = jdbcLists;
+    }
+
+    @Override
+    public List<BookingAllFieldsDto> findPage(BookingListQuery query) {
+        Dialect dialect = jdbcLists ? Dialect.SQL : Dialect.JPQL;
+        boolean seek = query.getAfter() != null;
+        String filter = query.getStatus() != null ? STATUS_FILTER : stateOrAll(query).name();
+        String template = TEMPLATES.computeIfAbsent(dialect + ":" + query.getRole() + ":" + filter + ":" + seek,
+                shape -> template(dialect, query.getRole(), filter, seek));
+
+        return jdbcLists ? findRows(template, query) : findProjections(template, query);
+    }
+
+    private List<BookingAllFieldsDto> findProjections(String jpql, BookingListQuery query) {
+        TypedQuery<BookingAllFieldsDto> page = entityManager.createQuery(jpql, BookingAllFieldsDto.class)
+                .setParameter("userId", query.getUserId())
+                .setMaxResults(query.getSize());
+        if (query.getStatus() != null) {
+            page.setParameter("status", query.getStatus());
+        } else if (stateOrAll(query) != BookingState.ALL) {
+            page.setParameter("now", query.getNow());
+        }
+        if (query.getAfter() != null) {
+            page.setParameter("afterStart", query.getAfter().getStart())
+                    .setParameter("afterId", query.getAfter().getId());
+        } else {
+            page.setFirstResult(Math.toIntExact(query.getOffset()));
+        }
+        return page.getResultList();
+    }
+
+    private List<BookingAllFieldsDto> findRows(String sql, BookingListQuery query) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", query.getUserId())
+                .addValue("size", query.getSize());
+        if (query.getStatus() != null) {
+            parameters.addValue("status", query.getStatus().name());
+        } else if (stateOrAll(query) != BookingState.ALL) {
+            parameters.addValue("now", query.getNow());
+        }
+        if (query.getAfter() != null) {
+            parameters.addValue("afterStart", query.getAfter().getStart())
+                    .addValue("afterId", query.getAfter().getId());
+        } else {
+            parameters.addValue("offset", query.getOffset());
+        }
+        return jdbcTemplate.query(sql, parameters, ROW_MAPPER);
+    }
+
+    private static BookingState stateOrAll(BookingListQuery query) {
+        return query.getState() == null ? BookingState.ALL : query.getState();
+    }
+
+    private static String template(Dialect dialect, BookingListQuery.Role role, String filter, boolean seek) {
+        boolean byOwner = role == BookingListQuery.Role.OWNER;
+        StringBuilder query = new StringBuilder(dialect.select)
+                .append(" where ")
+                .append(byOwner ? dialect.ownerId : dialect.bookerId)
+                .append(" = :userId");
+
+        switch (filter) {
+            case "FUTURE":
+                query.append(" and ").append(dialect.start).append(" > :now");
+                break;
+            case "PAST":
+                query.append(" and ").append(dialect.start).append(" < :now and ")
+                        .append(dialect.end).append(" < :now");
+                break;
+            case "CURRENT":
+                query.append(" and ").append(dialect.start).append(" < :now and ")
+                        .append(dialect.end).append(" > :now");
+                break;
+            case STATUS_FILTER:
+                query.append(" and b.status = :status");
+                break;
+            default:
+                break;
+        }
+
+        if (seek) {
+            query.append(" and ").append(dialect.start).append(" <= :afterStart and (")
+                    .append(dialect.start).append(" < :afterStart or b.id < :afterId)");
+        }
+
+        query.append(" order by ");
+        query.append(byOwner ? dialect.ownerId : dialect.bookerId)
+                .append(STATUS_FILTER.equals(filter) ? ", b.status, " : ", ")
+                .append(dialect.start).append(" desc, b.id desc");
+
+        if (dialect == Dialect.SQL) {
+            query.append(seek ? " limit :size" : " limit :size offset :offset");
+        }
+        return query.toString();
+    }
+
+    /**
+     * Имена столбцов и список выборки для JPQL и для SQL; условия и порядок у обоих одинаковые.
+     */
+    private enum Dialect {
+        JPQL("select new ru.practicum.shareit.booking.dto.BookingAllFieldsDto(b.id, b.start, b.end, b.status, "
+                + "u.id, u.name, u.email, i.id, i.name, i.description, i.available, i.request.id) "
+                + "from Booking b join b.item i join b.booker u",
+                "b.start", "b.end", "b.booker.id", "b.ownerId"),
+        SQL("select b.id, b.start_date, b.end_date, b.status, u.id, u.name, u.email, "
+                + "i.id, i.name, i.description, i.is_available, i.request_id "
+                + "from bookings b join items i on i.id = b.item_id join users u on u.id = b.booker_id",
+                "b.start_date", "b.end_date", "b.booker_id", "b.owner_id");
+
+        private final String select;
+
+        private final String start;
+
+        private final String end;
+
+        private final String bookerId;
+
+        private final String ownerId;
+
+        Dialect(String select, String start, String end, String bookerId, String ownerId) {
+            this.select = select;
+            this.start = start;
+            this.end = end;
+            this.bookerId = bookerId;
+            this.ownerId = ownerId;
+        }
+    }
+}
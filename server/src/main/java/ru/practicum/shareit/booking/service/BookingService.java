@@ -3,8 +3,10 @@ package ru.practicum.shareit.booking.service;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
 import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingService {
 
@@ -14,7 +16,16 @@ public interface BookingService {
 
     BookingAllFieldsDto getBookingById(Long userId, Long bookingId);
 
+    /**
+     * ETag бронирования по версиям строк, без загрузки сущностей; пусто, если бронирование недоступно.
+     */
+    Optional<String> getBookingEtag(Long userId, Long bookingId);
+
     List<BookingAllFieldsDto> getBookingsByBookerId(Long bookerId, String state, Pageable pageable);
 
     List<BookingAllFieldsDto> getBookingsByOwner(Long ownerId, String state, Pageable pageable);
+
+    List<BookingAllFieldsDto> getBookingsByBookerId(Long bookerId, String state, BookingCursor after, int size);
+
+    List<BookingAllFieldsDto> getBookingsByOwner(Long ownerId, String state, BookingCursor after, int size);
 }
@@ -1,16 +1,24 @@
 package ru.practicum.shareit.booking.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.AvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
 import ru.practicum.shareit.booking.dto.BookingSavingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
+import ru.practicum.shareit.booking.repository.BookingListQuery;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.etag.VersionEtag;
+import ru.practicum.shareit.exceptions.ElementAlreadyExistsException;
 import ru.practicum.shareit.exceptions.InvalidDataException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
@@ -21,14 +29,22 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
+@Timed("shareit.service")
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingRepository bookingRepository;
 
+    private final AvailabilityIndex availabilityIndex;
+
     private final ItemService itemService;
 
     private final UserService userService;
@@ -49,18 +65,55 @@ public class BookingServiceImpl implements BookingService {
                     String.format("The item with ID=%d cannot be booked by its own owner!", item.getId()));
         }
 
+        // занятый интервал отклоняется по индексу в памяти, до вставки строки; неизвестный пользователь
+        // получает 404 раньше и не узнает, заняты ли слоты вещи
+        if (!availabilityIndex.isAvailable(item.getId(), bookingSavingDto.getStart(), bookingSavingDto.getEnd())) {
+            throw alreadyBooked(item.getId());
+        }
+
         Booking booking = BookingMapper.mapToBooking(bookingSavingDto);
         booking.setItem(item);
         booking.setBooker(booker);
         booking.setStatus(BookingStatus.WAITING);
 
-        return BookingMapper.mapToBookingAllFieldsDto(bookingRepository.save(booking));
+        availabilityIndex.reserve(booking);
+        Booking saved;
+        try {
+            saved = bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            availabilityIndex.invalidate(booking);
+            throw alreadyBooked(item.getId());
+        }
+        availabilityIndex.confirm(saved);
+
+        return BookingMapper.mapToBookingAllFieldsDto(saved);
+    }
+
+    private static ElementAlreadyExistsException alreadyBooked(Long itemId) {
+        return new ElementAlreadyExistsException(String.format(
+                "The item with ID=%d is already booked for the requested time!", itemId));
+    }
+
+    /**
+     * Пересечение, которое индекс этого экземпляра не увидел (бронирование сделано через другой экземпляр),
+     * отклоняет ограничение bookings_no_overlap в Postgres (SQLSTATE 23P01 - exclusion_violation).
+     */
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
+        }
+        ConstraintViolationException violation = (ConstraintViolationException) e.getCause();
+        return EXCLUSION_VIOLATION.equals(violation.getSQLState())
+                || OVERLAP_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName());
     }
 
     @Override
     @Transactional
     public BookingAllFieldsDto approve(Long ownerId, Long bookingId, boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new NotFoundException(
+        Booking booking = bookingRepository.findByIdForUpdate(bookingId).orElseThrow(() -> new NotFoundException(
                 String.format("Booking with ID=%d cannot be found", bookingId)));
 
         if (!booking.getItem().getOwner().getId().equals(ownerId)) {
@@ -72,6 +125,9 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        if (!approved) {
+            availabilityIndex.release(booking);
+        }
 
         return BookingMapper.mapToBookingAllFieldsDto(bookingRepository.save(booking));
     }
@@ -90,63 +146,64 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingAllFieldsDto> getBookingsByBookerId(Long bookerId, String state, Pageable pageable) {
-        userService.getUserById(bookerId);
-
-        if (state == null || BookingState.ALL.name().equals(state)) {
-            return BookingMapper.mapToBookingAllFieldsDto(
-                    bookingRepository.findByBookerIdOrderByStartDesc(bookerId, pageable));
-        }
-
-        if (BookingState.FUTURE.name().equals(state)) {
-            return BookingMapper.mapToBookingAllFieldsDto(
-                    bookingRepository.findAllByBookerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc(
-                                    bookerId, LocalDateTime.now(), LocalDateTime.now(), pageable));
-        }
+    public Optional<String> getBookingEtag(Long userId, Long bookingId) {
+        return bookingRepository.findVersions(bookingId, userId).map(VersionEtag::of);
+    }
 
-        if (BookingState.PAST.name().equals(state)) {
-            return BookingMapper.mapToBookingAllFieldsDto(
-                    bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(
-                            bookerId, LocalDateTime.now(), pageable));
-        }
+    @Override
+    public List<BookingAllFieldsDto> getBookingsByBookerId(Long bookerId, String state, Pageable pageable) {
+        return findBookings(listQuery(BookingListQuery.Role.BOOKER, bookerId, state)
+                .offset(pageable.getOffset())
+                .size(pageable.getPageSize()));
+    }
 
-        if (BookingState.CURRENT.name().equals(state)) {
-            return BookingMapper.mapToBookingAllFieldsDto(
-                    bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                            bookerId, LocalDateTime.now(), LocalDateTime.now(), pageable));
-        }
+    @Override
+    public List<BookingAllFieldsDto> getBookingsByOwner(Long ownerId, String state, Pageable pageable) {
+        return findBookings(listQuery(BookingListQuery.Role.OWNER, ownerId, state)
+                .offset(pageable.getOffset())
+                .size(pageable.getPageSize()));
+    }
 
-            return BookingMapper.mapToBookingAllFieldsDto(bookingRepository
-                    .findByBookerIdAndStatusOrderByStartDesc(bookerId, BookingStatus.valueOf(state), pageable));
+    @Override
+    public List<BookingAllFieldsDto> getBookingsByBookerId(Long bookerId, String state, BookingCursor after, int size) {
+        return findBookings(listQuery(BookingListQuery.Role.BOOKER, bookerId, state).after(after).size(size));
     }
 
     @Override
-    public List<BookingAllFieldsDto> getBookingsByOwner(Long ownerId, String state, Pageable pageable) {
-        userService.getUserById(ownerId);
-        if (state == null || BookingState.ALL.name().equals(state)) {
-            List<Booking> booking = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageable);
-            return BookingMapper.mapToBookingAllFieldsDto(booking);
-        }
+    public List<BookingAllFieldsDto> getBookingsByOwner(Long ownerId, String state, BookingCursor after, int size) {
+        return findBookings(listQuery(BookingListQuery.Role.OWNER, ownerId, state).after(after).size(size));
+    }
 
-        if (BookingState.FUTURE.name().equals(state)) {
-            return BookingMapper.mapToBookingAllFieldsDto(
-                    bookingRepository.findByItemOwnerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc(
-                            ownerId, LocalDateTime.now(), LocalDateTime.now(), pageable));
-        }
+    private List<BookingAllFieldsDto> findBookings(BookingListQuery.BookingListQueryBuilder query) {
+        BookingListQuery listQuery = query.build();
+        userService.getUserById(listQuery.getUserId());
+        return bookingRepository.findPage(listQuery);
+    }
 
-        if (BookingState.PAST.name().equals(state)) {
-            return BookingMapper.mapToBookingAllFieldsDto(
-                    bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(
-                            ownerId, LocalDateTime.now(), pageable));
+    /**
+     * Состояние ALL, CURRENT, PAST, FUTURE или статус бронирования; null означает ALL.
+     * Момент now берется один раз на запрос.
+     */
+    private static BookingListQuery.BookingListQueryBuilder listQuery(BookingListQuery.Role role,
+                                                                      Long userId,
+                                                                      String state) {
+        BookingListQuery.BookingListQueryBuilder query = BookingListQuery.builder()
+                .role(role)
+                .userId(userId)
+                .now(LocalDateTime.now());
+        if (state == null) {
+            return query.state(BookingState.ALL);
         }
-
-        if (BookingState.CURRENT.name().equals(state)) {
-            return BookingMapper.mapToBookingAllFieldsDto(
-                    bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                            ownerId, LocalDateTime.now(), LocalDateTime.now(), pageable));
+        for (BookingState bookingState : BookingState.values()) {
+            if (bookingState.name().equals(state)) {
+                return query.state(bookingState);
+            }
         }
-
-        return BookingMapper.mapToBookingAllFieldsDto(bookingRepository
-                    .findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.valueOf(state), pageable));
+        for (BookingStatus status : BookingStatus.values()) {
+            if (status.name().equals(state)) {
+                return query.status(status);
+            }
+        }
+        throw new InvalidDataException("Unknown state: " + state);
     }
 }
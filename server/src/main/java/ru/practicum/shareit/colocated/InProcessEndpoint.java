@@ -0,0 +1,296 @@
+package ru.practicum.shareit.colocated;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.ErrorHandler;
+import ru.practicum.shareit.exceptions.InvalidDataException;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.colocated.InProcessOperation.ADD_NEW_COMMENT;
+import static ru.practicum.shareit.colocated.InProcessOperation.ADD_NEW_ITEM;
+import static ru.practicum.shareit.colocated.InProcessOperation.APPROVE;
+import static ru.practicum.shareit.colocated.InProcessOperation.BOOK_ITEM;
+import static ru.practicum.shareit.colocated.InProcessOperation.CREATE_ITEM_REQUEST;
+import static ru.practicum.shareit.colocated.InProcessOperation.CREATE_USER;
+import static ru.practicum.shareit.colocated.InProcessOperation.DELETE_USER;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ALL_ITEM_REQUESTS;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ALL_USERS;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_BOOKING;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_BOOKINGS;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_BOOKINGS_BY_OWNER;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ITEM_BY_ID;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ITEM_BY_SEARCH;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ITEM_BY_USER_ID;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ITEM_REQUEST_BY_ID;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_ITEM_REQUEST_BY_OWNER_ID;
+import static ru.practicum.shareit.colocated.InProcessOperation.GET_USER_BY_ID;
+import static ru.practicum.shareit.colocated.InProcessOperation.UPDATE_ITEM;
+import static ru.practicum.shareit.colocated.InProcessOperation.UPDATE_USER;
+
+/**
+ * shareit-server внутри процесса gateway (профиль colocated gateway): вызовы клиентов gateway выполняются
+ * сервисами напрямую, без HTTP, Tomcat и фильтров сервера. Gateway загружает сервер в отдельном загрузчике
+ * классов (у обоих приложений есть классы с одинаковыми именами), поэтому на границе только типы JDK:
+ * запрос и ответ - Map, тела - JSON в byte[].
+ *
+ * <p>Имена операций и ключи запроса и ответа общие с gateway: {@link InProcessOperation} и {@link InProcessKeys}
+ * из модуля shareit-colocated. Ответ такой же, как у контроллера: тот же JSON, X-Next-Cursor у списков
+ * бронирований, ошибки от {@link ErrorHandler}. Условные запросы (ETag), двоичные форматы и таймауты запросов
+ * относятся к HTTP-слою и здесь не действуют.
+ */
+@Slf4j
+public class InProcessEndpoint implements Function<Map<String, Object>, Map<String, Object>>, Closeable {
+
+    private final ConfigurableApplicationContext context;
+
+    private final ObjectMapper mapper;
+
+    private final ErrorHandler errorHandler;
+
+    private final ExceptionHandlerMethodResolver errorHandlerMethods =
+            new ExceptionHandlerMethodResolver(ErrorHandler.class);
+
+    private final Map<InProcessOperation, Operation> operations = new EnumMap<>(InProcessOperation.class);
+
+    InProcessEndpoint(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.mapper = context.getBean(ObjectMapper.class);
+        this.errorHandler = context.getBean(ErrorHandler.class);
+        registerUsers(context.getBean(UserService.class));
+        registerItems(context.getBean(ItemService.class));
+        registerItemRequests(context.getBean(ItemRequestService.class));
+        registerBookings(context.getBean(BookingService.class));
+        if (operations.size() != InProcessOperation.values().length) {
+            EnumSet<InProcessOperation> missing = EnumSet.complementOf(EnumSet.copyOf(operations.keySet()));
+            throw new IllegalStateException("In-process operations are not implemented: " + missing);
+        }
+    }
+
+    /**
+     * Запускает shareit-server без веб-сервера. Вызывается gateway через отражение.
+     * @param args аргументы командной строки сервера, например --spring.datasource.url=...
+     */
+    public static InProcessEndpoint start(String[] args) {
+        return new InProcessEndpoint(new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args));
+    }
+
+    @Override
+    public Map<String, Object> apply(Map<String, Object> request) {
+        Thread thread = Thread.currentThread();
+        ClassLoader callerClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(getClass().getClassLoader());
+        try {
+            return operation((String) request.get(InProcessKeys.OPERATION)).call(new Call(request));
+        } catch (Exception ex) {
+            return error(ex);
+        } finally {
+            thread.setContextClassLoader(callerClassLoader);
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void registerUsers(UserService userService) {
+        register(CREATE_USER, call -> userService.createUser(call.body(UserDto.class)));
+        register(UPDATE_USER, call -> userService.updateUser(call.body(UserDto.class), call.userId()));
+        register(GET_USER_BY_ID, call -> userService.getUserById(call.userId()));
+        register(GET_ALL_USERS, call -> userService.getAllUsers());
+        register(DELETE_USER, call -> {
+            userService.deleteUser(call.userId());
+            return null;
+        });
+    }
+
+    private void registerItems(ItemService itemService) {
+        register(ADD_NEW_ITEM, call -> itemService.addNewItem(call.userId(), call.body(ItemDto.class)));
+        register(ADD_NEW_COMMENT, call -> itemService.addNewComment(call.userId(), call.id(InProcessKeys.ITEM_ID),
+                call.body(CommentDto.class)));
+        register(UPDATE_ITEM, call -> itemService.updateItem(call.userId(), call.id(InProcessKeys.ITEM_ID),
+                call.body(ItemDto.class)));
+        register(GET_ITEM_BY_ID, call -> itemService.getItemById(call.id(InProcessKeys.ITEM_ID), call.userId()));
+        register(GET_ITEM_BY_SEARCH, call -> itemService.getItemBySearch(call.string(InProcessKeys.TEXT),
+                call.userId(), call.page(20)));
+        register(GET_ITEM_BY_USER_ID, call -> itemService.getItemByUserId(call.userId(), call.page(10)));
+    }
+
+    private void registerItemRequests(ItemRequestService itemRequestService) {
+        register(CREATE_ITEM_REQUEST, call -> itemRequestService.createItemRequest(call.userId(),
+                call.body(ItemRequestDto.class)));
+        register(GET_ITEM_REQUEST_BY_OWNER_ID, call -> itemRequestService.getItemRequestByOwnerId(call.userId()));
+        register(GET_ALL_ITEM_REQUESTS, call -> itemRequestService.getAllItemRequests(
+                call.integer(InProcessKeys.FROM, 0), call.integer(InProcessKeys.SIZE, 10), call.userId()));
+        register(GET_ITEM_REQUEST_BY_ID, call -> itemRequestService.getItemRequestById(
+                call.id(InProcessKeys.REQUEST_ID), call.userId()));
+    }
+
+    private void registerBookings(BookingService bookingService) {
+        register(BOOK_ITEM, call -> bookingService.saveBooking(call.userId(), call.body(BookingSavingDto.class)));
+        register(GET_BOOKING, call -> bookingService.getBookingById(call.userId(), call.id(InProcessKeys.BOOKING_ID)));
+        register(APPROVE, call -> bookingService.approve(call.userId(), call.id(InProcessKeys.BOOKING_ID),
+                call.required(InProcessKeys.APPROVED, Boolean.class)));
+        operations.put(GET_BOOKINGS, call -> {
+            int size = call.integer(InProcessKeys.SIZE, 10);
+            String cursor = call.string(InProcessKeys.CURSOR);
+            String state = call.required(InProcessKeys.STATE, String.class);
+            return bookingPage(cursor == null
+                    ? bookingService.getBookingsByBookerId(call.userId(), state, call.page(10))
+                    : bookingService.getBookingsByBookerId(call.userId(), state, BookingCursor.decode(cursor), size),
+                    size);
+        });
+        operations.put(GET_BOOKINGS_BY_OWNER, call -> {
+            int size = call.integer(InProcessKeys.SIZE, 10);
+            String cursor = call.string(InProcessKeys.CURSOR);
+            String state = call.required(InProcessKeys.STATE, String.class);
+            return bookingPage(cursor == null
+                    ? bookingService.getBookingsByOwner(call.userId(), state, call.page(10))
+                    : bookingService.getBookingsByOwner(call.userId(), state, BookingCursor.decode(cursor), size),
+                    size);
+        });
+    }
+
+    private Operation operation(String name) {
+        try {
+            return operations.get(InProcessOperation.valueOf(name));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown in-process operation " + name, e);
+        }
+    }
+
+    private void register(InProcessOperation operation, Function<Call, Object> service) {
+        operations.put(operation, call -> response(HttpStatus.OK, new HttpHeaders(), service.apply(call)));
+    }
+
+    private Map<String, Object> bookingPage(List<BookingAllFieldsDto> bookings, int size) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        BookingCursor.next(bookings, size)
+                .ifPresent(next -> headers.set(BookingCursor.NEXT_CURSOR_HEADER, next.encode()));
+        return response(HttpStatus.OK, headers, bookings);
+    }
+
+    /**
+     * Исключение отображается обработчиком {@link ErrorHandler}, как у контроллеров: статус из его
+     * {@link ResponseStatus}, тело - его результат.
+     */
+    private Map<String, Object> error(Exception ex) {
+        try {
+            Method handler = errorHandlerMethods.resolveMethodByThrowable(ex);
+            ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(handler, ResponseStatus.class);
+            return response(status.code(), new HttpHeaders(), handler.invoke(errorHandler, ex));
+        } catch (IOException | IllegalAccessException | InvocationTargetException | RuntimeException e) {
+            log.warn("[IN-PROCESS ERROR]: failed to map {}: {}", ex, e.getMessage());
+            return Map.of(InProcessKeys.STATUS, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    InProcessKeys.HEADERS, Map.of());
+        }
+    }
+
+    private Map<String, Object> response(HttpStatus status, HttpHeaders headers, Object body) throws IOException {
+        Map<String, Object> response = new HashMap<>();
+        response.put(InProcessKeys.STATUS, status.value());
+        if (body != null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            response.put(InProcessKeys.BODY, mapper.writeValueAsBytes(body));
+        }
+        response.put(InProcessKeys.HEADERS, new HashMap<>(headers));
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+
+        Map<String, Object> call(Call call) throws IOException;
+    }
+
+    /**
+     * Аргументы одного вызова.
+     */
+    private final class Call {
+
+        private final Map<String, Object> request;
+
+        private Call(Map<String, Object> request) {
+            this.request = request;
+        }
+
+        /**
+         * Обязательный аргумент: без него операция - ошибка вызывающей стороны, а не null в сервисе.
+         */
+        <T> T required(String name, Class<T> type) {
+            Object value = request.get(name);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing in-process argument " + name);
+            }
+            return type.cast(value);
+        }
+
+        Long userId() {
+            return id(InProcessKeys.USER_ID);
+        }
+
+        Long id(String name) {
+            Number value = (Number) request.get(name);
+            return value == null ? null : value.longValue();
+        }
+
+        int integer(String name, int defaultValue) {
+            Number value = (Number) request.get(name);
+            return value == null ? defaultValue : value.intValue();
+        }
+
+        String string(String name) {
+            return (String) request.get(name);
+        }
+
+        OffsetPageRequest page(int defaultSize) {
+            return new OffsetPageRequest(integer(InProcessKeys.FROM, 0), integer(InProcessKeys.SIZE, defaultSize));
+        }
+
+        <T> T body(Class<T> type) {
+            byte[] body = (byte[]) request.get(InProcessKeys.BODY);
+            if (body == null) {
+                throw new InvalidDataException("Required request body is missing.");
+            }
+            try {
+                return mapper.readValue(body, type);
+            } catch (IOException e) {
+                throw new InvalidDataException("Unreadable request body: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.deadline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.exceptions.ErrorResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Превращает заголовок X-Request-Timeout (сколько миллисекунд gateway готов ждать ответа)
+ * в крайний срок запроса. По нему {@link DeadlineTransactionManager} ограничивает транзакции и запросы к БД.
+ * Подзапросы POST /batch наследуют срок пакета через атрибут запроса.
+ */
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    static final String DEADLINE_ATTRIBUTE = RequestDeadline.class.getName();
+
+    private final ObjectMapper objectMapper;
+
+    public DeadlineFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long deadline = resolveDeadline(request);
+        if (deadline == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (deadline - System.nanoTime() <= 0) {
+            log.info("[DEADLINE EXCEEDED]: {} {}", request.getMethod(), request.getRequestURI());
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), new ErrorResponse("Request deadline exceeded."));
+            return;
+        }
+
+        Long previous = RequestDeadline.get();
+        request.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+        RequestDeadline.set(deadline);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.set(previous);
+        }
+    }
+
+    private Long resolveDeadline(HttpServletRequest request) {
+        Object inherited = request.getAttribute(DEADLINE_ATTRIBUTE);
+        if (inherited instanceof Long) {
+            return (Long) inherited;
+        }
+        String timeout = request.getHeader(TIMEOUT_HEADER);
+        if (timeout == null) {
+            return null;
+        }
+        try {
+            return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Long.parseLong(timeout.trim()));
+        } catch (NumberFormatException ex) {
+            log.info("[DEADLINE]: ignoring malformed {} header: {}", TIMEOUT_HEADER, timeout);
+            return null;
+        }
+    }
+}
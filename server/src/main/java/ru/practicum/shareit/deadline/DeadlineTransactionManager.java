@@ -0,0 +1,90 @@
+package ru.practicum.shareit.deadline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.OptionalLong;
+
+/**
+ * JPA-менеджер транзакций, который ограничивает новую транзакцию оставшимся временем запроса.
+ * Spring передает остаток каждому запросу Spring Data JPA как javax.persistence.query.timeout
+ * и не дает начать запрос после истечения срока, а в PostgreSQL дополнительно выставляется
+ * SET LOCAL statement_timeout — так запрос, от которого gateway уже отказался, прерывает сама БД
+ * и соединение возвращается в пул. Собственный таймаут транзакции Hibernate не используется:
+ * он считается в целых секундах и срабатывает раньше срока.
+ *
+ * <p>СУБД определяется по соединению, а не по диалекту Hibernate: диалект PostgreSQL задан для всех профилей,
+ * в том числе для H2 в ci и test, где SET LOCAL не поддерживается.
+ */
+@Slf4j
+public class DeadlineTransactionManager extends JpaTransactionManager {
+
+    private static final String POSTGRES_PRODUCT_NAME = "PostgreSQL";
+
+    private volatile Boolean postgres;
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        OptionalLong remaining = RequestDeadline.remainingMillis();
+        if (remaining.isEmpty()) {
+            super.doBegin(transaction, definition);
+            return;
+        }
+
+        long timeoutMillis = timeoutMillis(definition, remaining.getAsLong());
+        super.doBegin(transaction, definition);
+
+        EntityManagerHolder holder =
+                (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+        if (holder != null) {
+            holder.setTimeoutInMillis(timeoutMillis);
+            applyStatementTimeout(holder.getEntityManager().unwrap(Session.class), timeoutMillis);
+        }
+    }
+
+    /**
+     * Таймаут транзакции в миллисекундах: оставшееся время запроса или объявленный таймаут, если он меньше.
+     */
+    static long timeoutMillis(TransactionDefinition definition, long remainingMillis) {
+        if (remainingMillis <= 0) {
+            throw new TransactionTimedOutException("Request deadline exceeded before transaction start.");
+        }
+        if (definition.getTimeout() == TransactionDefinition.TIMEOUT_DEFAULT) {
+            return remainingMillis;
+        }
+        return Math.min(definition.getTimeout() * 1000L, remainingMillis);
+    }
+
+    private void applyStatementTimeout(Session session, long timeoutMillis) {
+        try {
+            session.doWork(connection -> {
+                if (!isPostgres(connection)) {
+                    return;
+                }
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL statement_timeout = " + timeoutMillis);
+                }
+            });
+        } catch (RuntimeException ex) {
+            log.warn("[DEADLINE]: statement_timeout was not applied: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Все соединения берутся из одного пула, поэтому СУБД определяется один раз, по первому соединению.
+     */
+    private boolean isPostgres(Connection connection) throws SQLException {
+        if (postgres == null) {
+            postgres = POSTGRES_PRODUCT_NAME.equals(connection.getMetaData().getDatabaseProductName());
+        }
+        return postgres;
+    }
+}
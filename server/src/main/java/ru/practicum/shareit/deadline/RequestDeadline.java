@@ -0,0 +1,39 @@
+package ru.practicum.shareit.deadline;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Крайний срок обработки текущего запроса (по System.nanoTime), выставленный {@link DeadlineFilter}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    /**
+     * Сколько миллисекунд осталось до крайнего срока; пусто, если запрос пришел без срока.
+     */
+    public static OptionalLong remainingMillis() {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    }
+
+    static Long get() {
+        return DEADLINE.get();
+    }
+
+    static void set(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadlineNanos);
+        }
+    }
+}
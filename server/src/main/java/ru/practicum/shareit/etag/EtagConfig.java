@@ -0,0 +1,35 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * Слабые ETag (MD5 тела ответа) для списков, которые клиенты опрашивают в ожидании изменений.
+ * Если If-None-Match совпадает с ETag, вместо тела отдается 304 Not Modified.
+ * ETag слабый, потому что хэш считается до сжатия: Tomcat и gateway отдают одно и то же представление
+ * и в gzip, и без сжатия, а сильный ETag обещал бы одинаковые байты для обоих кодирований.
+ * Экономится только передача тела по сети: фильтр считает хэш уже готового ответа, поэтому
+ * обработчик, запросы к базе и сериализация выполняются на каждый запрос, в том числе на 304.
+ *
+ * <p>Одиночные бронирование, вещь и запрос, а также /requests/all сами проверяют If-None-Match по версиям
+ * строк ({@link VersionEtag}) до загрузки сущностей, поэтому фильтр на них не ставится. Для остальных
+ * списков страница зависит от многих строк, и хэш тела остается запасным вариантом.
+ * Свойство shareit-server.etag.enabled выключает обе проверки: контроллеры читают его сами и при false
+ * не запрашивают версии строк.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.etag.enabled", havingValue = "true", matchIfMissing = true)
+public class EtagConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/bookings", "/bookings/owner", "/items", "/items/search", "/requests");
+        return registration;
+    }
+}
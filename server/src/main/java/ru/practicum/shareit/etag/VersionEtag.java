@@ -0,0 +1,24 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ETag одиночного ресурса по версиям строк, из которых собирается его представление. Версии читаются
+ * одним запросом без загрузки сущностей, и при совпадении с If-None-Match обработчик отвечает 304
+ * через {@link org.springframework.web.context.request.WebRequest#checkNotModified(String)}, не собирая ответ.
+ * ETag слабый по той же причине, что и в {@link EtagConfig}: одно представление уходит и в gzip, и без сжатия.
+ */
+public final class VersionEtag {
+
+    private VersionEtag() {
+    }
+
+    /**
+     * @param versions версии и счетчики строк представления, например "3.1.7"; в ETag попадает их MD5.
+     */
+    public static String of(String versions) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(versions.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
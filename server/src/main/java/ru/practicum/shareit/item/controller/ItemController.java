@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
 import ru.practicum.shareit.item.service.ItemService;
@@ -18,6 +20,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 
 @Validated
@@ -28,6 +31,9 @@ public class ItemController {
 
     private final ItemService itemService;
 
+    @Value("${shareit-server.etag.enabled:true}")
+    private boolean etagEnabled;
+
 
     /**
      * Эндпоинт по добовлению предмета.
@@ -78,7 +84,14 @@ public class ItemController {
     @GetMapping("/{itemId}")
     public ItemAllFieldsDto getItemById(
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
-            @PathVariable Long itemId) {
+            @PathVariable Long itemId,
+            WebRequest request) {
+        if (etagEnabled) {
+            Optional<String> etag = itemService.getItemEtag(itemId, ownerId);
+            if (etag.isPresent() && request.checkNotModified(etag.get())) {
+                return null;
+            }
+        }
         return itemService.getItemById(itemId, ownerId);
     }
 
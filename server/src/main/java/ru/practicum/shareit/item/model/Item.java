@@ -14,12 +14,11 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 
-@Builder
 @Setter
 @Getter
-@AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "items")
@@ -48,4 +47,19 @@ public class Item {
     @JoinColumn(name = "request_id")
     private ItemRequest request;
 
+    /**
+     * Растет при каждом изменении строки; по нему строится ETag представлений, в которые входит вещь.
+     */
+    @Version
+    private long version;
+
+    @Builder
+    public Item(Long id, User owner, String name, String description, Boolean available, ItemRequest request) {
+        this.id = id;
+        this.owner = owner;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.request = request;
+    }
 }
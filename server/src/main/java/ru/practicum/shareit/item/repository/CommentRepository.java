@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.item.model.Comment;
 
@@ -7,7 +8,9 @@ import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = {"item", "author"})
     List<Comment> findAllByItemIdOrderByCreated(Long itemId);
 
+    @EntityGraph(attributePaths = {"item", "author"})
     List<Comment> findByItemIdInOrderByItemId(List<Long> itemIds);
 }
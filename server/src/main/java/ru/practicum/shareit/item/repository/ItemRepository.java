@@ -3,9 +3,12 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
@@ -19,4 +22,21 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByRequestId(Long requestId);
 
     List<Item> findAllByRequestIdIn(List<Long> requestIds);
+
+    /**
+     * Версии представления вещи для ETag: версия вещи, число и наибольший id комментариев с версиями их авторов,
+     * а для владельца - те же счетчики неотклоненных бронирований и число уже начавшихся (от него зависит,
+     * какое бронирование последнее, а какое следующее).
+     */
+    @Query(value = "SELECT CONCAT_WS('.', i.version, "
+            + "(SELECT CONCAT_WS('.', COUNT(c.id), COALESCE(MAX(c.id), 0), COALESCE(SUM(u.version), 0)) "
+            + "FROM comments c LEFT JOIN users u ON u.id = c.author_id WHERE c.item_id = i.id), "
+            + "CASE WHEN i.owner_id = :userId THEN "
+            + "(SELECT CONCAT_WS('.', COUNT(b.id), COALESCE(MAX(b.id), 0), COALESCE(SUM(b.version), 0), "
+            + "COUNT(CASE WHEN b.start_date < :now THEN 1 END)) "
+            + "FROM bookings b WHERE b.item_id = i.id AND b.status <> 'REJECTED') ELSE 'guest' END) "
+            + "FROM items i WHERE i.id = :itemId", nativeQuery = true)
+    Optional<String> findVersions(@Param("itemId") Long itemId,
+                                  @Param("userId") Long userId,
+                                  @Param("now") LocalDateTime now);
 }
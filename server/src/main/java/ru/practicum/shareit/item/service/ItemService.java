@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemService {
 
@@ -16,6 +17,11 @@ public interface ItemService {
 
     ItemAllFieldsDto getItemById(Long itemId, Long ownerId);
 
+    /**
+     * ETag вещи по версиям строк, без загрузки сущностей; пусто, если вещи нет.
+     */
+    Optional<String> getItemEtag(Long itemId, Long ownerId);
+
     Item getItemByIdAllField(Long id);
 
     List<ItemAllFieldsDto> getItemByUserId(Long userId, Pageable pageable);
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -7,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.etag.VersionEtag;
 import ru.practicum.shareit.exceptions.InvalidDataException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
@@ -28,11 +30,13 @@ import ru.practicum.shareit.user.service.UserService;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static java.util.Comparator.comparing;
 
 @Service
+@Timed("shareit.service")
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
@@ -98,6 +102,11 @@ public class ItemServiceImpl implements ItemService {
         return ItemMapper.mapToItemAllFieldsDto(item, getNextBooking(bookings), getLastBooking(bookings), comments);
  }
 
+    @Override
+    public Optional<String> getItemEtag(Long itemId, Long ownerId) {
+        return itemRepository.findVersions(itemId, ownerId, LocalDateTime.now()).map(VersionEtag::of);
+    }
+
     @Override
     public Item getItemByIdAllField(Long id) {
         return itemRepository.findById(id)
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Таймеры задержек: http.server.requests по маршрутам контроллеров и shareit.service по методам сервисов
+ * (классы с {@code @Timed("shareit.service")}). Оба помечены тегом state, если запрос или метод принимает
+ * состояние бронирований, иначе state=none. Гистограммы включаются свойствами
+ * management.metrics.distribution.percentiles-histogram.*, выгрузка - /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry, MetricsConfig::tags);
+    }
+
+    @Bean
+    public WebMvcTagsContributor stateTagContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                return Tags.of(StateTag.NAME, StateTag.of(request.getParameter(StateTag.NAME)));
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return Tags.empty();
+            }
+        };
+    }
+
+    /**
+     * Заменяет теги TimedAspect по умолчанию, поэтому class и method добавляются здесь же.
+     */
+    private static Iterable<Tag> tags(ProceedingJoinPoint joinPoint) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Tags tags = Tags.of("class", signature.getDeclaringTypeName(), "method", signature.getName());
+        String[] names = signature.getParameterNames();
+        Object[] arguments = joinPoint.getArgs();
+        for (int i = 0; names != null && i < names.length; i++) {
+            if (StateTag.NAME.equals(names[i]) && (arguments[i] == null || arguments[i] instanceof String)) {
+                return tags.and(StateTag.NAME, StateTag.of((String) arguments[i]));
+            }
+        }
+        return tags.and(StateTag.NAME, StateTag.NONE);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Значение тега state: состояние, по которому выбираются бронирования. Произвольная строка из запроса
+ * превратилась бы в новый ряд метрик, поэтому все, что не является состоянием, помечается UNKNOWN.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StateTag {
+
+    public static final String NAME = "state";
+
+    public static final String NONE = "none";
+
+    private static final Set<String> STATES = Stream.concat(
+                    Arrays.stream(BookingState.values()).map(Enum::name),
+                    Arrays.stream(BookingStatus.values()).map(Enum::name))
+            .collect(Collectors.toUnmodifiableSet());
+
+    public static String of(@Nullable String state) {
+        if (state == null) {
+            return NONE;
+        }
+        return STATES.contains(state) ? state : "UNKNOWN";
+    }
+}
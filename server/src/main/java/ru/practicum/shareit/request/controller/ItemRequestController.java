@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -10,10 +11,12 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
 import java.util.List;
+import java.util.Optional;
 
 @Validated
 @RestController
@@ -23,6 +26,9 @@ public class ItemRequestController {
 
     private final ItemRequestService itemRequestService;
 
+    @Value("${shareit-server.etag.enabled:true}")
+    private boolean etagEnabled;
+
 
     @PostMapping
     public ItemRequestDto createItemRequest(
@@ -40,14 +46,28 @@ public class ItemRequestController {
     public List<ItemRequestDto> getAllItemRequests(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam (defaultValue = "0") Integer from,
-            @RequestParam (defaultValue = "10") Integer size) {
+            @RequestParam (defaultValue = "10") Integer size,
+            WebRequest request) {
+        if (etagEnabled) {
+            Optional<String> etag = itemRequestService.getAllItemRequestsEtag(userId);
+            if (etag.isPresent() && request.checkNotModified(etag.get())) {
+                return null;
+            }
+        }
         return itemRequestService.getAllItemRequests(from, size, userId);
     }
 
     @GetMapping("{id}")
     public ItemRequestDto getItemRequestById(
             @RequestHeader("X-Sharer-User-Id") Long userId,
-            @PathVariable(value = "id") Long requestId) {
+            @PathVariable(value = "id") Long requestId,
+            WebRequest request) {
+        if (etagEnabled) {
+            Optional<String> etag = itemRequestService.getItemRequestEtag(requestId, userId);
+            if (etag.isPresent() && request.checkNotModified(etag.get())) {
+                return null;
+            }
+        }
         return itemRequestService.getItemRequestById(requestId, userId);
     }
 }
@@ -2,13 +2,39 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
     List<ItemRequest> findAllByRequesterIdOrderByCreatedDesc(Long requesterId);
 
     List<ItemRequest> findAllByRequesterIdNot(Long requesterId, Pageable page);
+
+    /**
+     * Версии списка чужих запросов для ETag: число и наибольший id запросов и те же счетчики с версиями
+     * вещей, созданных в ответ на них. Строки нет, если пользователя нет.
+     */
+    @Query(value = "SELECT CONCAT_WS('.', u.id, "
+            + "(SELECT CONCAT_WS('.', COUNT(r.id), COALESCE(MAX(r.id), 0)) "
+            + "FROM requests r WHERE r.requester_id <> u.id), "
+            + "(SELECT CONCAT_WS('.', COUNT(i.id), COALESCE(MAX(i.id), 0), COALESCE(SUM(i.version), 0)) "
+            + "FROM items i JOIN requests r ON r.id = i.request_id WHERE r.requester_id <> u.id)) "
+            + "FROM users u WHERE u.id = :userId", nativeQuery = true)
+    Optional<String> findAllVersions(@Param("userId") Long userId);
+
+    /**
+     * Версии запроса для ETag: число, наибольший id и версии вещей, созданных в ответ на него.
+     * Строки нет, если нет запроса или пользователя.
+     */
+    @Query(value = "SELECT CONCAT_WS('.', r.id, "
+            + "(SELECT CONCAT_WS('.', COUNT(i.id), COALESCE(MAX(i.id), 0), COALESCE(SUM(i.version), 0)) "
+            + "FROM items i WHERE i.request_id = r.id)) "
+            + "FROM requests r WHERE r.id = :requestId AND EXISTS (SELECT 1 FROM users u WHERE u.id = :userId)",
+            nativeQuery = true)
+    Optional<String> findVersions(@Param("requestId") Long requestId, @Param("userId") Long userId);
 }
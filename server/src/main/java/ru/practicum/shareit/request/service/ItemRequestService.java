@@ -3,6 +3,7 @@ package ru.practicum.shareit.request.service;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestService {
 
@@ -13,5 +14,15 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllItemRequests(Integer from, Integer size, Long userId);
 
+    /**
+     * ETag списка чужих запросов по версиям строк, без загрузки сущностей; пусто, если пользователя нет.
+     */
+    Optional<String> getAllItemRequestsEtag(Long userId);
+
     ItemRequestDto getItemRequestById(Long requestId, Long userId);
+
+    /**
+     * ETag запроса по версиям строк, без загрузки сущностей; пусто, если нет запроса или пользователя.
+     */
+    Optional<String> getItemRequestEtag(Long requestId, Long userId);
 }
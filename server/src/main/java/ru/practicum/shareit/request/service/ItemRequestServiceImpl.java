@@ -1,8 +1,10 @@
 package ru.practicum.shareit.request.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.etag.VersionEtag;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -18,9 +20,11 @@ import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("shareit.service")
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
@@ -72,6 +76,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Optional<String> getAllItemRequestsEtag(Long userId) {
+        return itemRequestRepository.findAllVersions(userId).map(VersionEtag::of);
+    }
+
     @Override
     public ItemRequestDto getItemRequestById(Long requestId, Long userId) {
         checkPermission(userId);
@@ -81,6 +90,11 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.mapToItemRequestDto(itemRequest, items);
     }
 
+    @Override
+    public Optional<String> getItemRequestEtag(Long requestId, Long userId) {
+        return itemRequestRepository.findVersions(requestId, userId).map(VersionEtag::of);
+    }
+
     private User checkPermission(Long userId) {
         return userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException("You don't have permission to perform this operation."));
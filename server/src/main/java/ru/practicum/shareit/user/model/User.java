@@ -1,6 +1,5 @@
 package ru.practicum.shareit.user.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,14 +11,13 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 
-@Builder
 @Setter
 @Getter
 @Entity
 @NoArgsConstructor
-@AllArgsConstructor
 @Table(name = "users")
 public class User {
 
@@ -32,4 +30,17 @@ public class User {
 
     @Column(nullable = false, unique = true)
     private String email;
+
+    /**
+     * Растет при каждом изменении строки; по нему строится ETag представлений, в которые входит пользователь.
+     */
+    @Version
+    private long version;
+
+    @Builder
+    public User(Long id, String name, String email) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+    }
 }
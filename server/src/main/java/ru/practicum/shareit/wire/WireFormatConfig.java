@@ -0,0 +1,47 @@
+package ru.practicum.shareit.wire;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Двоичные форматы CBOR (application/cbor) и Smile (application/x-jackson-smile) для запросов и ответов
+ * контроллеров. Их запрашивает gateway через Accept и Content-Type; конвертеры стоят после JSON,
+ * поэтому клиенты без явного Accept по-прежнему получают JSON.
+ * Spring MVC создает эти конвертеры сам, но без настроек Spring Boot (модули, формат дат),
+ * поэтому им выдаются ObjectMapper с теми же настройками, что у JSON.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    public WireFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2CborHttpMessageConverter) {
+                ((MappingJackson2CborHttpMessageConverter) converter)
+                        .setObjectMapper(builder().factory(new CBORFactory()).build());
+            } else if (converter instanceof MappingJackson2SmileHttpMessageConverter) {
+                ((MappingJackson2SmileHttpMessageConverter) converter)
+                        .setObjectMapper(builder().factory(new SmileFactory()).build());
+            }
+        }
+    }
+
+    private Jackson2ObjectMapperBuilder builder() {
+        return objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::json);
+    }
+}
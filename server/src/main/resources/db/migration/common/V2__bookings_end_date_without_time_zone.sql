@@ -0,0 +1,2 @@
+-- Начало и конец бронирования хранятся в одном типе: по ним строится tsrange ограничения bookings_no_overlap.
+ALTER TABLE bookings ALTER COLUMN end_date SET DATA TYPE TIMESTAMP;
@@ -0,0 +1,7 @@
+-- Версии строк (@Version), из которых собираются ETag бронирования, вещи и запросов.
+-- Запросы и комментарии не изменяются, для них достаточно числа строк и наибольшего id.
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE items ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE bookings ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,11 @@
+-- Владелец вещи, скопированный в бронирование: списки OWNER читаются индексом без соединения с items.
+-- Владелец вещи не меняется, поэтому копия не расходится с items.owner_id.
+ALTER TABLE bookings ADD COLUMN owner_id BIGINT;
+
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id);
+
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS bookings_owner_start_idx ON bookings (owner_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS bookings_owner_status_start_idx ON bookings (owner_id, status, start_date DESC, id DESC);
@@ -0,0 +1,14 @@
+-- Только на Postgres. Активные бронирования одной вещи не могут пересекаться по времени: это гарантия базы
+-- для нескольких экземпляров shareit-server поверх индекса занятости в памяти (AvailabilityIndex).
+-- Если в базе уже есть пересекающиеся активные бронирования, миграция завершится ошибкой и сервер
+-- не запустится: такие бронирования нужно отклонить вручную до обновления.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Ограничение могло остаться от прежнего скрипта инициализации, который создавал его при каждом старте.
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_no_overlap;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap EXCLUDE USING gist (
+    item_id WITH =,
+    tsrange(start_date, end_date) WITH &&
+) WHERE (status IN ('WAITING', 'APPROVED'));
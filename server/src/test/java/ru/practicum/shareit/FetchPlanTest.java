@@ -0,0 +1,168 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Число SQL-запросов списочных эндпоинтов не зависит от размера страницы: у каждой вещи на странице
+ * свой арендатор и свои авторы комментариев, так что догрузка связей по строкам сразу видна в счетчике.
+ */
+@SpringBootTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"})
+class FetchPlanTest {
+
+    private static final int ITEMS = 10;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private Statistics statistics;
+
+    private User owner;
+
+    private User booker;
+
+    private User requester;
+
+    private final List<Item> items = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = createUser();
+        booker = createUser();
+        requester = createUser();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < ITEMS; i++) {
+            ItemRequest request = itemRequestRepository.save(new ItemRequest(null, "Нужна дрель", requester, now));
+            Item item = itemRepository.save(Item.builder().owner(owner).name("Дрель").description("Простая дрель")
+                    .available(true).request(request).build());
+            items.add(item);
+
+            User otherBooker = createUser();
+            bookingRepository.save(new Booking(null, now.plusDays(i + 1), now.plusDays(i + 2), item, booker,
+                    BookingStatus.WAITING));
+            bookingRepository.save(new Booking(null, now.minusDays(i + 2), now.minusDays(i + 1), item, otherBooker,
+                    BookingStatus.APPROVED));
+            commentRepository.save(new Comment(null, "Хорошая дрель", item, otherBooker, now));
+        }
+    }
+
+    /**
+     * Method under test: {@link BookingService#getBookingsByBookerId}
+     */
+    @Test
+    void getBookingsByBookerId_whenPageGrows_thenStatementCountIsFixed() {
+        assertStatements(2, () -> bookingService.getBookingsByBookerId(booker.getId(), "ALL",
+                new OffsetPageRequest(0, 2)));
+        assertStatements(2, () -> bookingService.getBookingsByBookerId(booker.getId(), "ALL",
+                new OffsetPageRequest(0, ITEMS)));
+    }
+
+    /**
+     * Method under test: {@link BookingService#getBookingsByOwner}
+     */
+    @Test
+    void getBookingsByOwner_whenPageGrows_thenStatementCountIsFixed() {
+        assertStatements(2, () -> bookingService.getBookingsByOwner(owner.getId(), "ALL",
+                new OffsetPageRequest(0, 2)));
+        assertStatements(2, () -> bookingService.getBookingsByOwner(owner.getId(), "ALL",
+                new OffsetPageRequest(0, 2 * ITEMS)));
+    }
+
+    /**
+     * Method under test: {@link ItemService#getItemByUserId}
+     */
+    @Test
+    void getItemByUserId_whenPageGrows_thenStatementCountIsFixed() {
+        assertStatements(3, () -> itemService.getItemByUserId(owner.getId(), new OffsetPageRequest(0, 2)));
+        assertStatements(3, () -> itemService.getItemByUserId(owner.getId(), new OffsetPageRequest(0, ITEMS)));
+    }
+
+    /**
+     * Method under test: {@link ItemService#getItemById}
+     */
+    @Test
+    void getItemById_whenItemHasBookingsAndComments_thenStatementCountIsFixed() {
+        assertStatements(3, () -> itemService.getItemById(items.get(0).getId(), owner.getId()));
+    }
+
+    /**
+     * Method under test: {@link ItemRequestService#getAllItemRequests}
+     */
+    @Test
+    void getAllItemRequests_whenPageGrows_thenStatementCountIsFixed() {
+        assertStatements(3, () -> itemRequestService.getAllItemRequests(0, 2, owner.getId()));
+        assertStatements(3, () -> itemRequestService.getAllItemRequests(0, ITEMS, owner.getId()));
+    }
+
+    /**
+     * Method under test: {@link ItemRequestService#getItemRequestByOwnerId}
+     */
+    @Test
+    void getItemRequestByOwnerId_whenRequestsHaveItems_thenStatementCountIsFixed() {
+        assertStatements(3, () -> itemRequestService.getItemRequestByOwnerId(requester.getId()));
+    }
+
+    private void assertStatements(long expected, Runnable endpoint) {
+        statistics.clear();
+        endpoint.run();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+    }
+
+    private User createUser() {
+        return userRepository.save(new User(null, "user", UUID.randomUUID() + "@mail.com"));
+    }
+}
@@ -0,0 +1,229 @@
+package ru.practicum.shareit.batch.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BatchControllerTest {
+
+    private static final int READS = 16;
+
+    private static final int ROUNDS = 20;
+
+    private static final int PARALLEL_READS = 4;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private ItemService itemService;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private final UserDto userDto = new UserDto(1L, "Mike", "mike@gmail.com");
+
+    private final ItemAllFieldsDto itemDto = new ItemAllFieldsDto(5L, "Drill", "Power drill", true,
+            null, null, Collections.emptyList());
+
+    /**
+     * Method under test: {@link BatchController#executeBatch}
+     */
+    @Test
+    void executeBatch_whenRequestsAreValid_thenReturnsOrderedResults() throws Exception {
+        when(userService.getUserById(1L)).thenReturn(userDto);
+        when(userService.getUserById(99L)).thenThrow(new NotFoundException("User with ID=99 was not found!"));
+        when(userService.createUser(any())).thenReturn(userDto);
+        when(itemService.getItemById(5L, 1L)).thenReturn(itemDto);
+
+        List<BatchRequestDto> batch = List.of(
+                new BatchRequestDto("GET", "/users/1", null),
+                new BatchRequestDto("GET", "/items/5", null),
+                new BatchRequestDto("GET", "/users/99", null),
+                new BatchRequestDto("POST", "/users", mapper.valueToTree(userDto)),
+                new BatchRequestDto("GET", "/unknown", null));
+
+        ResponseEntity<String> response = rest.postForEntity("/batch", entity(batch), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode results = mapper.readTree(response.getBody());
+        assertEquals(5, results.size());
+        assertEquals(200, results.get(0).get("status").asInt());
+        assertEquals(userDto, mapper.treeToValue(results.get(0).get("body"), UserDto.class));
+        assertEquals(200, results.get(1).get("status").asInt());
+        assertEquals("Drill", results.get(1).get("body").get("name").asText());
+        assertEquals(404, results.get(2).get("status").asInt());
+        assertEquals("User with ID=99 was not found!", results.get(2).get("body").get("error").asText());
+        assertEquals(200, results.get(3).get("status").asInt());
+        assertEquals(404, results.get(4).get("status").asInt());
+        verify(userService).createUser(userDto);
+        verify(itemService).getItemById(5L, 1L);
+    }
+
+    /**
+     * Method under test: {@link BatchController#executeBatch}
+     */
+    @Test
+    void executeBatch_whenMethodIsUnsupported_thenReturnsBadRequest() {
+        List<BatchRequestDto> batch = List.of(new BatchRequestDto("TRACE", "/users/1", null));
+
+        ResponseEntity<String> response = rest.postForEntity("/batch", entity(batch), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    /**
+     * Method under test: {@link BatchController#executeBatch}
+     */
+    @Test
+    void executeBatch_whenBatchIsNested_thenReturnsBadRequest() {
+        List<BatchRequestDto> batch = List.of(new BatchRequestDto("POST", "/batch", null));
+
+        ResponseEntity<String> response = rest.postForEntity("/batch", entity(batch), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().contains("Invalid batch path"));
+    }
+
+    /**
+     * Method under test: {@link BatchController#executeBatch}
+     */
+    @Test
+    void executeBatch_whenFilterWrapsRequest_thenReadsKeepTheirPaths() throws Exception {
+        List<BatchRequestDto> batch = new ArrayList<>();
+        for (long id = 1; id <= READS; id++) {
+            when(userService.getUserById(id)).thenReturn(new UserDto(id, "user" + id, "user" + id + "@gmail.com"));
+            batch.add(new BatchRequestDto("GET", "/users/" + id, null));
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            JsonNode results = mapper.readTree(rest.postForEntity("/batch", entity(batch), String.class).getBody());
+            for (int i = 0; i < READS; i++) {
+                assertEquals(200, results.get(i).get("status").asInt());
+                assertEquals(i + 1, results.get(i).get("body").get("id").asLong());
+            }
+        }
+    }
+
+    /**
+     * Method under test: {@link BatchController#executeBatch}
+     */
+    @Test
+    void executeBatch_whenConsecutiveReads_thenExecutedInParallel() throws Exception {
+        CyclicBarrier allReadsStarted = new CyclicBarrier(PARALLEL_READS);
+        List<BatchRequestDto> batch = new ArrayList<>();
+        for (long id = 1; id <= PARALLEL_READS; id++) {
+            long userId = id;
+            when(userService.getUserById(userId)).thenAnswer(invocation -> {
+                // каждое чтение ждет остальные: последовательное выполнение не дойдет до барьера
+                allReadsStarted.await(5, TimeUnit.SECONDS);
+                return new UserDto(userId, "user" + userId, "user" + userId + "@gmail.com");
+            });
+            batch.add(new BatchRequestDto("GET", "/users/" + id, null));
+        }
+
+        JsonNode results = mapper.readTree(rest.postForEntity("/batch", entity(batch), String.class).getBody());
+
+        for (int i = 0; i < PARALLEL_READS; i++) {
+            assertEquals(200, results.get(i).get("status").asInt());
+            assertEquals(i + 1, results.get(i).get("body").get("id").asLong());
+        }
+    }
+
+    /**
+     * Method under test: {@link BatchController#executeBatch}
+     */
+    @Test
+    void executeBatch_whenWriteBetweenReads_thenWriteWaitsForEarlierReadsAndPrecedesLaterOnes() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        when(userService.getUserById(1L)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            events.add("read 1");
+            return userDto;
+        });
+        when(userService.createUser(any())).thenAnswer(invocation -> {
+            events.add("write");
+            return userDto;
+        });
+        when(userService.getUserById(2L)).thenAnswer(invocation -> {
+            events.add("read 2");
+            return userDto;
+        });
+        List<BatchRequestDto> batch = List.of(
+                new BatchRequestDto("GET", "/users/1", null),
+                new BatchRequestDto("POST", "/users", mapper.valueToTree(userDto)),
+                new BatchRequestDto("GET", "/users/2", null));
+
+        rest.postForEntity("/batch", entity(batch), String.class);
+
+        assertEquals(List.of("read 1", "write", "read 2"), events);
+    }
+
+    private HttpEntity<List<BatchRequestDto>> entity(List<BatchRequestDto> batch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Sharer-User-Id", "1");
+        return new HttpEntity<>(batch, headers);
+    }
+
+    /**
+     * Фильтр, оборачивающий запрос и ответ, как ShallowEtagHeaderFilter: подзапросы пакета
+     * не должны делить его обертки.
+     */
+    @TestConfiguration
+    static class WrappingFilterConfig {
+
+        @Bean
+        FilterRegistrationBean<OncePerRequestFilter> wrappingFilter() {
+            return new FilterRegistrationBean<>(new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                FilterChain filterChain) throws ServletException, IOException {
+                    filterChain.doFilter(new HttpServletRequestWrapper(request), new HttpServletResponseWrapper(response));
+                }
+            });
+        }
+    }
+}
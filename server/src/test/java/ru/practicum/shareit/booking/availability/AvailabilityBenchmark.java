@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка свободного интервала вещи с N бронированиями: запрос пересечений в базу (H2) против
+ * {@link AvailabilityIndex}. Время на проверку в микросекундах, первое обращение к индексу (загрузка
+ * интервалов вещи) в замер не входит.
+ * Запуск: mvn -P benchmark test -pl server -Dtest=AvailabilityBenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {"logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"})
+@Import(AvailabilityIndex.class)
+class AvailabilityBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    private static final String OVERLAP_QUERY = "select count(b) from Booking b where b.item.id = :itemId "
+            + "and b.status in :statuses and b.start < :end and b.end > :start";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Test
+    void compareAvailabilityChecks() {
+        User owner = userRepository.save(new User(null, "owner", "bench-owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "bench-booker@mail.com"));
+        LocalDateTime origin = LocalDateTime.now().plusDays(1).withNano(0);
+
+        System.out.printf("%8s %14s %14s%n", "bookings", "query us/op", "index us/op");
+        for (int size : new int[]{100, 1_000, 10_000}) {
+            Item item = itemRepository.save(Item.builder()
+                    .owner(owner).name("Дрель").description("Простая дрель").available(true).build());
+            insertBookings(item.getId(), owner.getId(), booker.getId(), origin, size);
+
+            List<LocalDateTime> probes = probes(origin, size);
+            Predicate<LocalDateTime> query = start -> entityManager.createQuery(OVERLAP_QUERY, Long.class)
+                    .setParameter("itemId", item.getId())
+                    .setParameter("statuses", AvailabilityIndex.ACTIVE)
+                    .setParameter("start", start)
+                    .setParameter("end", start.plusHours(1))
+                    .getSingleResult() == 0;
+            Predicate<LocalDateTime> index = start -> availabilityIndex.isAvailable(item.getId(), start,
+                    start.plusHours(1));
+            for (LocalDateTime probe : probes.subList(0, 100)) {
+                assertEquals(query.test(probe), index.test(probe));
+            }
+
+            System.out.printf("%8d %14.2f %14.2f%n", size, micros(query, probes), micros(index, probes));
+        }
+    }
+
+    /**
+     * Бронирования по два часа через каждые три часа: половина проверок попадает в свободный промежуток.
+     */
+    private void insertBookings(Long itemId, Long ownerId, Long bookerId, LocalDateTime origin, int size) {
+        List<Object[]> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime start = origin.plusHours(3L * i);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(2)), itemId, ownerId,
+                    bookerId, (i % 2 == 0 ? BookingStatus.APPROVED : BookingStatus.WAITING).name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, owner_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static List<LocalDateTime> probes(LocalDateTime origin, int size) {
+        Random random = new Random(42);
+        List<LocalDateTime> probes = new ArrayList<>(MEASURED_ITERATIONS);
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            probes.add(origin.plusMinutes(random.nextInt(size * 180)));
+        }
+        return probes;
+    }
+
+    private static double micros(Predicate<LocalDateTime> check, List<LocalDateTime> probes) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            check.test(probes.get(i));
+        }
+        long start = System.nanoTime();
+        for (LocalDateTime probe : probes) {
+            check.test(probe);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / probes.size();
+    }
+}
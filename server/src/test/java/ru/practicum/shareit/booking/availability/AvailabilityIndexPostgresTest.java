@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты {@link AvailabilityIndexTest} на настоящем Postgres: при старте применяется миграция
+ * V4__bookings_no_overlap.sql из db/migration/postgresql, а пересечение, которого индекс в памяти не видит,
+ * отклоняет ограничение bookings_no_overlap.
+ * Postgres поднимается в Testcontainers; без Docker тест пропускается, если не задана готовая база:
+ * -Dshareit.test.postgres-url=jdbc:postgresql://localhost:5432/shareit (пользователь и пароль - из
+ * shareit.test.postgres-user и shareit.test.postgres-password, по умолчанию shareit).
+ */
+@AutoConfigureMockMvc
+@EnabledIf("isPostgresAvailable")
+class AvailabilityIndexPostgresTest extends AvailabilityIndexTest {
+
+    private static final String POSTGRES_URL = System.getProperty("shareit.test.postgres-url");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mvc;
+
+    static boolean isPostgresAvailable() {
+        return POSTGRES_URL != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        if (POSTGRES_URL != null) {
+            registry.add("spring.datasource.url", () -> POSTGRES_URL);
+            registry.add("spring.datasource.username",
+                    () -> System.getProperty("shareit.test.postgres-user", "shareit"));
+            registry.add("spring.datasource.password",
+                    () -> System.getProperty("shareit.test.postgres-password", "shareit"));
+        } else {
+            PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14-alpine");
+            postgres.start();
+            registry.add("spring.datasource.url", postgres::getJdbcUrl);
+            registry.add("spring.datasource.username", postgres::getUsername);
+            registry.add("spring.datasource.password", postgres::getPassword);
+        }
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+    }
+
+    @Test
+    void schema_whenAppliedOnPostgres_thenOverlapConstraintExists() {
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conname = 'bookings_no_overlap'", Integer.class));
+    }
+
+    /**
+     * Бронирование, сделанное в обход индекса (другим экземпляром shareit-server), индекс не видит:
+     * вставку отклоняет Postgres, а клиент получает тот же ответ 409, что и при конфликте в индексе.
+     */
+    @Test
+    void saveBooking_whenConflictingRowBehindIndex_thenConflict() throws Exception {
+        assertTrue(availabilityIndex.isAvailable(item.getId(), start, end));
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, owner_id, booker_id, status) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)", Timestamp.valueOf(start), Timestamp.valueOf(end), item.getId(),
+                owner.getId(), createUser("booker").getId(), BookingStatus.WAITING.name());
+
+        Long booker = createUser("booker").getId();
+        String body = String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}", item.getId(),
+                start.plusHours(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                end.plusHours(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+
+        mvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", booker)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict());
+        assertEquals(1, bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(
+                item.getId(), AvailabilityIndex.ACTIVE, start).size());
+        // после отказа базы индекс перечитал вещь и видит бронирование сам
+        assertFalse(availabilityIndex.isAvailable(item.getId(), start, end));
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.ElementAlreadyExistsException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AvailabilityIndexTest {
+
+    private static final int THREADS = 16;
+
+    private static final int RACE_ROUNDS = 20;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ItemService itemService;
+
+    UserDto owner;
+
+    ItemDto item;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser("owner");
+        item = itemService.addNewItem(owner.getId(), new ItemDto(null, "Дрель", "Простая дрель", true, null));
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        end = start.plusDays(2);
+    }
+
+    /**
+     * Method under test: {@link AvailabilityIndex#reserve}
+     */
+    @Test
+    void saveBooking_whenSameRangeBookedConcurrently_thenOnlyOneSucceeds() throws Exception {
+        List<UserDto> bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(createUser("booker"));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<BookingAllFieldsDto>> results = new ArrayList<>();
+        try {
+            for (UserDto booker : bookers) {
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    return bookingService.saveBooking(booker.getId(), booking(start, end));
+                }));
+            }
+            ready.await();
+            go.countDown();
+
+            int saved = 0;
+            for (Future<BookingAllFieldsDto> result : results) {
+                try {
+                    assertNotNull(result.get());
+                    saved++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ElementAlreadyExistsException.class, e.getCause());
+                }
+            }
+            assertEquals(1, saved);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(
+                item.getId(), AvailabilityIndex.ACTIVE, LocalDateTime.now()).size());
+        assertFalse(availabilityIndex.isAvailable(item.getId(), start, end));
+    }
+
+    /**
+     * Method under test: {@link AvailabilityIndex#release}
+     */
+    @Test
+    void saveBooking_whenOverlappingBookingRejected_thenRangeIsFreeAgain() {
+        BookingAllFieldsDto first = bookingService.saveBooking(createUser("booker").getId(), booking(start, end));
+        Long secondBooker = createUser("booker").getId();
+        assertThrows(ElementAlreadyExistsException.class,
+                () -> bookingService.saveBooking(secondBooker, booking(start.plusHours(1), end.plusHours(1))));
+
+        bookingService.approve(owner.getId(), first.getId(), false);
+
+        BookingAllFieldsDto second = bookingService.saveBooking(secondBooker, booking(start.plusHours(1),
+                end.plusHours(1)));
+        assertEquals(BookingStatus.WAITING.name(), second.getStatus());
+    }
+
+    /**
+     * Method under test: {@link AvailabilityIndex#release}
+     */
+    @Test
+    void approve_whenRejectRacesWithNewBooking_thenRangeIsNeverDoubleBooked() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < RACE_ROUNDS; round++) {
+                LocalDateTime from = start.plusDays(3L * round);
+                LocalDateTime to = from.plusDays(2);
+                BookingAllFieldsDto first = bookingService.saveBooking(createUser("booker").getId(), booking(from, to));
+                Long secondBooker = createUser("booker").getId();
+                CountDownLatch go = new CountDownLatch(1);
+                Future<BookingAllFieldsDto> reject = executor.submit(() -> {
+                    go.await();
+                    return bookingService.approve(owner.getId(), first.getId(), false);
+                });
+                Future<BookingAllFieldsDto> second = executor.submit(() -> {
+                    go.await();
+                    return bookingService.saveBooking(secondBooker, booking(from.plusHours(1), to.plusHours(1)));
+                });
+                go.countDown();
+
+                assertEquals(BookingStatus.REJECTED.name(), reject.get().getStatus());
+                boolean saved;
+                try {
+                    saved = second.get() != null;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ElementAlreadyExistsException.class, e.getCause());
+                    saved = false;
+                }
+                long active = bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(
+                                item.getId(), AvailabilityIndex.ACTIVE, LocalDateTime.now()).stream()
+                        .filter(b -> !b.getStart().isBefore(from) && b.getStart().isBefore(to))
+                        .count();
+                assertEquals(saved ? 1 : 0, active);
+                // отклонение зафиксировано: интервал занят только вторым бронированием, если оно сохранено
+                if (saved) {
+                    assertThrows(ElementAlreadyExistsException.class,
+                            () -> bookingService.saveBooking(secondBooker, booking(from, to)));
+                } else {
+                    assertNotNull(bookingService.saveBooking(secondBooker, booking(from.plusHours(1),
+                            to.plusHours(1))));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Method under test: {@link AvailabilityIndex#isAvailable}
+     */
+    @Test
+    void isAvailable_whenRangesAreAdjacent_thenAvailable() {
+        bookingService.saveBooking(createUser("booker").getId(), booking(start, end));
+
+        assertTrue(availabilityIndex.isAvailable(item.getId(), end, end.plusDays(1)));
+        assertTrue(availabilityIndex.isAvailable(item.getId(), start.minusDays(1), start));
+        assertFalse(availabilityIndex.isAvailable(item.getId(), start.minusDays(1), start.plusSeconds(1)));
+        assertFalse(availabilityIndex.isAvailable(item.getId(), start.plusHours(1), end.minusHours(1)));
+        assertNotNull(bookingService.saveBooking(createUser("booker").getId(), booking(end, end.plusDays(1))));
+    }
+
+    UserDto createUser(String name) {
+        return userService.createUser(new UserDto(null, name, UUID.randomUUID() + "@mail.com"));
+    }
+
+    BookingSavingDto booking(LocalDateTime from, LocalDateTime to) {
+        return new BookingSavingDto(null, from, to, item.getId(), null, null);
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityIndexUnitTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Method under test: {@link AvailabilityIndex#invalidate}
+     */
+    @Test
+    void invalidate_whenReservationsPending_thenOwnReservationDroppedAndOthersKept() {
+        Booking saved = booking(7L, 1L, start);
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(eq(1L), any(), any()))
+                .thenReturn(List.of(saved));
+        when(bookingRepository.findById(7L)).thenReturn(Optional.of(saved));
+        AvailabilityIndex index = new AvailabilityIndex(bookingRepository, 100);
+        TransactionSynchronizationManager.initSynchronization();
+
+        Booking pending = booking(null, 1L, start.plusDays(2));
+        Booking rejected = booking(null, 1L, start.plusDays(4));
+        index.reserve(pending);
+        index.reserve(rejected);
+        index.invalidate(rejected);
+
+        assertFalse(index.isAvailable(1L, saved.getStart(), saved.getEnd()));
+        assertFalse(index.isAvailable(1L, pending.getStart(), pending.getEnd()));
+        assertTrue(index.isAvailable(1L, rejected.getStart(), rejected.getEnd()));
+        verify(bookingRepository, times(2)).findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(eq(1L), any(),
+                any());
+    }
+
+    /**
+     * Method under test: {@link AvailabilityIndex#isAvailable}
+     */
+    @Test
+    void isAvailable_whenConflictingBookingRejectedElsewhere_thenAvailable() {
+        Booking stale = booking(7L, 1L, start);
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(eq(1L), any(), any()))
+                .thenReturn(List.of(stale));
+        when(bookingRepository.findById(7L)).thenReturn(Optional.of(new Booking(7L, stale.getStart(),
+                stale.getEnd(), stale.getItem(), null, BookingStatus.REJECTED)));
+        AvailabilityIndex index = new AvailabilityIndex(bookingRepository, 100);
+
+        assertTrue(index.isAvailable(1L, stale.getStart(), stale.getEnd()));
+        assertTrue(index.isAvailable(1L, stale.getStart(), stale.getEnd()));
+
+        verify(bookingRepository, times(1)).findById(7L);
+    }
+
+    /**
+     * Method under test: {@link AvailabilityIndex#isAvailable}
+     */
+    @Test
+    void isAvailable_whenMoreItemsThanLimit_thenLeastRecentlyUsedReloaded() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(anyLong(), any(), any()))
+                .thenReturn(List.of());
+        AvailabilityIndex index = new AvailabilityIndex(bookingRepository, 2);
+
+        for (long itemId = 1; itemId <= 3; itemId++) {
+            assertTrue(index.isAvailable(itemId, start, start.plusDays(1)));
+        }
+        assertTrue(index.isAvailable(1L, start, start.plusDays(1)));
+
+        verify(bookingRepository, times(2)).findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(eq(1L), any(),
+                any());
+    }
+
+    /**
+     * Method under test: {@link AvailabilityIndex#reserve}
+     */
+    @Test
+    void reserve_whenItemHasPendingReservation_thenItemIsNotEvicted() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(anyLong(), any(), any()))
+                .thenReturn(List.of());
+        AvailabilityIndex index = new AvailabilityIndex(bookingRepository, 2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        Booking pending = booking(null, 1L, start);
+        index.reserve(pending);
+        for (long itemId = 2; itemId <= 4; itemId++) {
+            assertTrue(index.isAvailable(itemId, start, start.plusDays(1)));
+        }
+
+        assertFalse(index.isAvailable(1L, pending.getStart(), pending.getEnd()));
+        verify(bookingRepository, times(1)).findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(eq(1L), any(),
+                any());
+    }
+
+    /**
+     * Method under test: {@link AvailabilityIndex#isAvailable}
+     */
+    @Test
+    void isAvailable_whenItemIsLoading_thenItemIsNotLocked() {
+        AvailabilityIndex index = new AvailabilityIndex(bookingRepository, 100);
+        AtomicBoolean first = new AtomicBoolean(true);
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(eq(1L), any(), any()))
+                .thenAnswer(invocation -> {
+                    if (first.getAndSet(false)) {
+                        assertTrue(isAvailableInOtherThread(index));
+                    }
+                    return List.of();
+                });
+
+        assertTrue(index.isAvailable(1L, start, start.plusDays(1)));
+    }
+
+    /**
+     * Method under test: {@link AvailabilityIndex#reserve}
+     */
+    @Test
+    void reserve_whenConflictIsVerified_thenItemIsNotLocked() {
+        Booking stale = booking(7L, 1L, start);
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStartAsc(eq(1L), any(), any()))
+                .thenReturn(List.of(stale));
+        AvailabilityIndex index = new AvailabilityIndex(bookingRepository, 100);
+        when(bookingRepository.findById(7L)).thenAnswer(invocation -> {
+            assertTrue(isAvailableInOtherThread(index));
+            return Optional.of(new Booking(7L, stale.getStart(), stale.getEnd(), stale.getItem(), null,
+                    BookingStatus.REJECTED));
+        });
+
+        index.reserve(booking(null, 1L, start));
+
+        assertFalse(index.isAvailable(1L, start, start.plusDays(1)));
+    }
+
+    /**
+     * Проверка другого интервала той же вещи из другого потока: если вызывающий поток держит блокировку
+     * вещи, она не завершится.
+     */
+    private boolean isAvailableInOtherThread(AvailabilityIndex index) throws Exception {
+        return executor.submit(() -> index.isAvailable(1L, start.plusDays(10), start.plusDays(11)))
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    private static Booking booking(Long id, Long itemId, LocalDateTime from) {
+        Item item = Item.builder().id(itemId).build();
+        return new Booking(id, from, from.plusDays(1), item, null, BookingStatus.WAITING);
+    }
+}
@@ -2,9 +2,11 @@ package ru.practicum.shareit.booking.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.anyBoolean;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -29,6 +31,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
 import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
@@ -169,7 +172,7 @@ class BookingControllerTest {
     }
 
     /**
-     * Method under test: {@link BookingController#getBookingsByOwner(Long, String, int, int)}
+     * Method under test: {@link BookingController#getBookingsByOwner(Long, String, int, int, String)}
      */
     @Test
     void getBookingsByOwner() throws Exception {
@@ -193,7 +196,7 @@ class BookingControllerTest {
     }
 
     /**
-     * Method under test: {@link BookingController#getBookingsByBooker(Long, String, int, int)}
+     * Method under test: {@link BookingController#getBookingsByBooker(Long, String, int, int, String)}
      */
     @Test
     void testGetBookingsByBooker() throws Exception {
@@ -214,5 +217,41 @@ class BookingControllerTest {
 
         assertEquals(List.of(bookingAllFields), actualResult);
     }
-}
 
+    /**
+     * Method under test: {@link BookingController#getBookingsByOwner(Long, String, int, int, String)}
+     */
+    @Test
+    void getBookingsByOwner_whenCursorGiven_thenSeekPageWithNextCursor() throws Exception {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 10, 0), 7L);
+        when(bookingService.getBookingsByOwner(anyLong(), anyString(), any(BookingCursor.class), anyInt()))
+                .thenReturn(List.of(bookingAllFields));
+
+        String nextCursor = mvc.perform(get("/bookings/owner")
+                        .header(headerShareUserId, userId)
+                        .param("state", "ALL")
+                        .param("size", "1")
+                        .param("cursor", cursor.encode()))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(BookingCursor.NEXT_CURSOR_HEADER);
+
+        BookingCursor next = BookingCursor.decode(nextCursor);
+        assertEquals(bookingAllFields.getStart(), next.getStart());
+        assertEquals(bookingAllFields.getId(), next.getId());
+        verify(bookingService).getBookingsByOwner(userId, "ALL", cursor, 1);
+    }
+
+    /**
+     * Method under test: {@link BookingController#getBookingsByBooker(Long, String, int, int, String)}
+     */
+    @Test
+    void getBookingsByBooker_whenCursorInvalid_thenBadRequest() throws Exception {
+        mvc.perform(get("/bookings")
+                        .header(headerShareUserId, userId)
+                        .param("state", "ALL")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
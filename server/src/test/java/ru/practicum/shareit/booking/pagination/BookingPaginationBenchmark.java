@@ -0,0 +1,161 @@
+package ru.practicum.shareit.booking.pagination;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingListQuery;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Страница GET /bookings?state=ALL (size=20) на глубине from для пользователя со 100 000 бронирований:
+ * смещение против курсора (start, id). Время на страницу в микросекундах (H2); при from=0
+ * курсора еще нет, это первая страница. То же для GET /bookings/owner у владельца 100 вещей,
+ * между которыми распределены 100 000 бронирований.
+ * Запуск: mvn -P benchmark test -pl server -Dtest=BookingPaginationBenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {"logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"})
+class BookingPaginationBenchmark {
+
+    private static final int BOOKINGS = 100_000;
+
+    private static final int OWNER_ITEMS = 100;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int[] DEPTHS = {0, 1_000, 10_000, 50_000, 90_000};
+
+    private static final int WARMUP_ITERATIONS = 50;
+
+    private static final int MEASURED_ITERATIONS = 100;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void compareOffsetAndCursorPages() {
+        User owner = userRepository.save(new User(null, "owner", "page-owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "page-booker@mail.com"));
+        Item item = itemRepository.save(Item.builder()
+                .owner(owner).name("Дрель").description("Простая дрель").available(true).build());
+        insertBookings(List.of(item.getId()), owner.getId(), booker.getId());
+
+        compare(BookingListQuery.Role.BOOKER, booker.getId(), "b.booker_id = ?");
+    }
+
+    /**
+     * Список владельца собирается из бронирований всех его вещей; порядок (start, id) для них общий
+     * благодаря копии владельца в bookings.owner_id и индексу bookings_owner_start_idx.
+     */
+    @Test
+    void compareOwnerOffsetAndCursorPages() {
+        User owner = userRepository.save(new User(null, "owner", "page-many-owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "page-many-booker@mail.com"));
+        List<Long> itemIds = new ArrayList<>(OWNER_ITEMS);
+        for (int i = 0; i < OWNER_ITEMS; i++) {
+            itemIds.add(itemRepository.save(Item.builder()
+                    .owner(owner).name("Дрель " + i).description("Простая дрель").available(true).build()).getId());
+        }
+        insertBookings(itemIds, owner.getId(), booker.getId());
+
+        compare(BookingListQuery.Role.OWNER, owner.getId(), "b.owner_id = ?");
+    }
+
+    private void compare(BookingListQuery.Role role, Long userId, String condition) {
+        // иначе H2 отдает повторный одинаковый запрос из кэша результатов
+        jdbcTemplate.execute("SET OPTIMIZE_REUSE_RESULTS FALSE");
+
+        System.out.printf("%s%n%8s %16s %16s%n", role, "from", "offset us/page", "cursor us/page");
+        for (int from : DEPTHS) {
+            BookingCursor cursor = from == 0 ? null : cursorAt(condition, userId, from);
+            Supplier<List<BookingAllFieldsDto>> offset = () -> bookingRepository.findPage(page(role, userId)
+                    .offset(from)
+                    .build());
+            Supplier<List<BookingAllFieldsDto>> seek = () -> bookingRepository.findPage(page(role, userId)
+                    .after(cursor)
+                    .build());
+            assertEquals(offset.get().get(0).getStart(), seek.get().get(0).getStart());
+
+            System.out.printf("%8d %16.2f %16.2f%n", from, micros(offset), micros(seek));
+        }
+    }
+
+    /**
+     * У каждого второго бронирования начало совпадает с соседним: курсор должен различать их по id.
+     * Бронирования раскладываются по вещам по кругу.
+     */
+    private void insertBookings(List<Long> itemIds, Long ownerId, Long bookerId) {
+        LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 10, 0);
+        List<Object[]> rows = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = origin.plusHours(i / 2);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+                    itemIds.get(i % itemIds.size()), ownerId, bookerId,
+                    BookingStatus.APPROVED.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, owner_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Курсор, который клиент получил бы вместе со страницей, заканчивающейся строкой from.
+     */
+    private BookingCursor cursorAt(String condition, Long userId, int from) {
+        return jdbcTemplate.queryForObject("SELECT b.start_date, b.id FROM bookings b WHERE " + condition
+                        + " ORDER BY b.start_date DESC, b.id DESC LIMIT 1 OFFSET ?",
+                (rs, rowNum) -> new BookingCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                userId, from - 1);
+    }
+
+    private static BookingListQuery.BookingListQueryBuilder page(BookingListQuery.Role role, Long userId) {
+        return BookingListQuery.builder()
+                .role(role)
+                .userId(userId)
+                .size(PAGE_SIZE);
+    }
+
+    private double micros(Supplier<List<BookingAllFieldsDto>> page) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            page.get();
+            entityManager.clear();
+        }
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            page.get();
+            elapsed += System.nanoTime() - start;
+            entityManager.clear();
+        }
+        return elapsed / 1_000.0 / MEASURED_ITERATIONS;
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Страница GET /bookings?state=ALL: сущности Booking → Item → User и BookingMapper против проекции
+ * select new и JDBC RowMapper. Выделено байт и микросекунд на страницу, у каждого бронирования
+ * своя вещь. H2 работает в том же потоке и его выделения входят в замер, поэтому бронирований всего
+ * сто: разница между путями - это разбор строк и сборка ответа, а не работа базы. Сущности читаются
+ * в обычной сессии и в read-only, как в @Transactional(readOnly = true) сервиса, где Hibernate не хранит
+ * снимков для dirty checking.
+ * Запуск: mvn -P benchmark test -pl server -Dtest=BookingProjectionBenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest(showSql = false, properties = {"logging.level.org.springframework.transaction.interceptor=INFO",
+        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=INFO"})
+class BookingProjectionBenchmark {
+
+    private static final int BOOKINGS = 100;
+
+    private static final int WARMUP_ITERATIONS = 200;
+
+    private static final int MEASURED_ITERATIONS = 500;
+
+    private static final String ENTITY_QUERY = "select b from Booking b join fetch b.item i join fetch b.booker "
+            + "where b.booker.id = :userId order by b.booker.id, b.start desc, b.id desc";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void compareEntityAndProjectionPages() {
+        User owner = userRepository.save(new User(null, "owner", "projection-owner@mail.com"));
+        User booker = userRepository.save(new User(null, "booker", "projection-booker@mail.com"));
+        insertBookings(owner, booker.getId());
+        // иначе H2 отдает повторный одинаковый запрос из кэша результатов
+        jdbcTemplate.execute("SET OPTIMIZE_REUSE_RESULTS FALSE");
+        BookingRepositoryCustom jpql = new BookingRepositoryCustomImpl(entityManager, namedParameterJdbcTemplate,
+                false);
+        BookingRepositoryCustom jdbc = new BookingRepositoryCustomImpl(entityManager, namedParameterJdbcTemplate,
+                true);
+        Session session = entityManager.unwrap(Session.class);
+
+        System.out.printf("%6s %-20s %12s %12s%n", "size", "path", "bytes/page", "us/page");
+        for (int size : new int[]{20, 100}) {
+            BookingListQuery query = BookingListQuery.builder()
+                    .role(BookingListQuery.Role.BOOKER)
+                    .userId(booker.getId())
+                    .size(size)
+                    .build();
+            Supplier<List<BookingAllFieldsDto>> entities = () -> BookingMapper.mapToBookingAllFieldsDto(
+                    entityManager.createQuery(ENTITY_QUERY, Booking.class)
+                            .setParameter("userId", booker.getId())
+                            .setMaxResults(size)
+                            .getResultList());
+            assertEquals(entities.get(), jpql.findPage(query));
+            assertEquals(entities.get(), jdbc.findPage(query));
+            entityManager.clear();
+
+            print(size, "entities", entities);
+            session.setDefaultReadOnly(true);
+            print(size, "entities, read-only", entities);
+            session.setDefaultReadOnly(false);
+            print(size, "select new", () -> jpql.findPage(query));
+            print(size, "jdbc row mapper", () -> jdbc.findPage(query));
+        }
+    }
+
+    private void insertBookings(User owner, Long bookerId) {
+        LocalDateTime origin = LocalDateTime.of(2020, 1, 1, 10, 0);
+        List<Object[]> rows = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .owner(owner).name("Дрель " + i).description("Простая дрель").available(true).build());
+            LocalDateTime start = origin.plusHours(i);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)), item.getId(),
+                    owner.getId(), bookerId, BookingStatus.APPROVED.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, owner_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        entityManager.clear();
+    }
+
+    private void print(int size, String path, Supplier<List<BookingAllFieldsDto>> page) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            page.get();
+            entityManager.clear();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long bytes = 0;
+        long elapsed = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long allocated = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            page.get();
+            // сущности живут в контексте персистентности до его очистки: это тоже цена страницы
+            entityManager.clear();
+            elapsed += System.nanoTime() - start;
+            bytes += threads.getThreadAllocatedBytes(thread) - allocated;
+        }
+        System.out.printf("%6d %-20s %12d %12.2f%n", size, path, bytes / MEASURED_ITERATIONS,
+                elapsed / 1_000.0 / MEASURED_ITERATIONS);
+    }
+}
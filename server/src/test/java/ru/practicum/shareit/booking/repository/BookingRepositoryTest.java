@@ -4,20 +4,28 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.pagination.BookingCursor;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -40,6 +48,12 @@ class BookingRepositoryTest {
 
     ItemRepository itemRepository;
 
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    NamedParameterJdbcTemplate jdbcTemplate;
+
     private User owner;
 
     private User booker;
@@ -54,7 +68,9 @@ class BookingRepositoryTest {
 
     private Booking bookingCurrent;
 
-    private final PageRequest page = PageRequest.of(0, 4);
+    private static final int PAGE_SIZE = 4;
+
+    private final LocalDateTime now = LocalDateTime.now();
 
     @BeforeEach
     void setUp() {
@@ -134,84 +150,86 @@ class BookingRepositoryTest {
 
     /**
      * Method under test:
-     * {@link BookingRepository#findByBookerIdOrderByStartDesc(Long, Pageable)}
+     * {@link BookingRepository#findPage(BookingListQuery)}
      */
     @Test
-    void findByBookerIdOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository
-                .findByBookerIdOrderByStartDesc(booker.getId(), page);
+    void findPage_whenBookerAndAll_thenOrderedByStartDesc() {
+        List<BookingAllFieldsDto> actualBookings = bookingRepository.findPage(
+                query(BookingListQuery.Role.BOOKER, booker)
+                        .state(BookingState.ALL)
+                        .build());
 
-        assertEquals(List.of(bookingFuture, bookingCurrent, bookingPast), actualBookings);
+        assertEquals(ids(bookingFuture, bookingCurrent, bookingPast), ids(actualBookings));
     }
 
     /**
      * Method under test:
-     * {@link BookingRepository#findByBookerIdAndEndIsBeforeOrderByStartDesc(Long, LocalDateTime, Pageable)}
+     * {@link BookingRepository#findPage(BookingListQuery)}
      */
     @Test
-    void findByBookerIdAndEndIsBeforeOrderByStartDesc() {
-        PageRequest page = PageRequest.of(0, 4);
-        List<Booking> actualBookings = bookingRepository
-                .findByBookerIdAndEndIsBeforeOrderByStartDesc(booker.getId(), LocalDateTime.now(), page);
+    void findPage_whenBookerAndPast_thenOrderedByStartDesc() {
+        List<BookingAllFieldsDto> actualBookings = bookingRepository.findPage(
+                query(BookingListQuery.Role.BOOKER, booker)
+                        .state(BookingState.PAST)
+                        .build());
 
-        assertEquals(List.of(bookingPast), actualBookings);
+        assertEquals(ids(bookingPast), ids(actualBookings));
     }
 
     /**
      * Method under test:
-     * {@link BookingRepository#findAllByBookerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc(
-     * Long, LocalDateTime, LocalDateTime, Pageable)}
+     * {@link BookingRepository#findPage(BookingListQuery)}
      */
     @Test
-    void findAllByBookerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository
-                .findAllByBookerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc(
-                        booker.getId(),
-                        LocalDateTime.now(),
-                        LocalDateTime.now(),
-                        page);
-
+    void findPage_whenBookerAndFuture_thenOrderedByStartDesc() {
+        List<BookingAllFieldsDto> actualBookings = bookingRepository.findPage(
+                query(BookingListQuery.Role.BOOKER, booker)
+                        .state(BookingState.FUTURE)
+                        .build());
 
-        assertEquals(List.of(bookingFuture), actualBookings);
+        assertEquals(ids(bookingFuture), ids(actualBookings));
     }
 
     /**
      * Method under test:
-     * {@link BookingRepository#findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-     * Long, LocalDateTime, LocalDateTime, Pageable)}
+     * {@link BookingRepository#findPage(BookingListQuery)}
      */
     @Test
-    void findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                booker.getId(),
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                page);
-
-        assertEquals(List.of(bookingCurrent), actualBookings);
+    void findPage_whenBookerAndCurrent_thenOrderedByStartDesc() {
+        List<BookingAllFieldsDto> actualBookings = bookingRepository.findPage(
+                query(BookingListQuery.Role.BOOKER, booker)
+                        .state(BookingState.CURRENT)
+                        .build());
+
+        assertEquals(ids(bookingCurrent), ids(actualBookings));
     }
 
     /**
      * Method under test:
-     * {@link BookingRepository#findByBookerIdAndStatusOrderByStartDesc(Long, BookingStatus, Pageable)}
+     * {@link BookingRepository#findPage(BookingListQuery)}
      */
     @Test
-    void findByBookerIdAndStatusOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository
-                .findByBookerIdAndStatusOrderByStartDesc(booker.getId(), BookingStatus.APPROVED, page);
+    void findPage_whenBookerAndStatus_thenOrderedByStartDesc() {
+        List<BookingAllFieldsDto> actualBookings = bookingRepository.findPage(
+                query(BookingListQuery.Role.BOOKER, booker)
+                        .status(BookingStatus.APPROVED)
+                        .build());
 
-        assertEquals(List.of(bookingFuture, bookingCurrent), actualBookings);
+        assertEquals(ids(bookingFuture, bookingCurrent), ids(actualBookings));
     }
 
     /**
      * Method under test:
-     * {@link BookingRepository#findAllByItemOwnerIdOrderByStartDesc(Long, Pageable)}
+     * {@link BookingRepository#findPage(BookingListQuery)}
      */
     @Test
-    void findAllByItemOwnerIdOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(owner.getId(), page);
+    void findPage_whenOwnerAndAll_thenOrderedByStartDesc() {
+        List<BookingAllFieldsDto> actualBookings = bookingRepository.findPage(
+                query(BookingListQuery.Role.OWNER, owner)
+                        .state(BookingState.ALL)
+                        .build());
 
-        assertEquals(List.of(bookingFuture, bookingCurrent, bookingPast), actualBookings);
+        assertEquals(ids(bookingFuture, bookingCurrent, bookingPast), ids(actualBookings));
     }
 
     /**
@@ -228,59 +246,175 @@ class BookingRepositoryTest {
 
     /**
      * Method under test:
-     * {@link BookingRepository#findByItemOwnerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc(
-     * Long, LocalDateTime, LocalDateTime, Pageable)}
+     * {@link BookingRepository#findPage(BookingListQuery)}
      */
     @Test
-    void findByItemOwnerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findByItemOwnerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc(
-                owner.getId(),
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                page);
+    void findPage_whenOwnerAndFuture_thenOrderedByStartDesc() {
+        List<BookingAllFieldsDto> actualBookings = bookingRepository.findPage(
+                query(BookingListQuery.Role.OWNER, owner)
+                        .state(BookingState.FUTURE)
+                        .build());
 
-        assertEquals(List.of(bookingFuture), actualBookings);
+        assertEquals(ids(bookingFuture), ids(actualBookings));
     }
 
     /**
      * Method under test:
-     * {@link BookingRepository#findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(Long, LocalDateTime, Pageable)}
+     * {@link BookingRepository#findPage(BookingListQuery)}
      */
     @Test
-    void findByItemOwnerIdAndEndIsBeforeOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(
-                owner.getId(),
-                LocalDateTime.now(),
-                page);
+    void findPage_whenOwnerAndPast_thenOrderedByStartDesc() {
+        List<BookingAllFieldsDto> actualBookings = bookingRepository.findPage(
+                query(BookingListQuery.Role.OWNER, owner)
+                        .state(BookingState.PAST)
+                        .build());
 
-        assertEquals(List.of(bookingPast), actualBookings);
+        assertEquals(ids(bookingPast), ids(actualBookings));
     }
 
     /**
      * Method under test:
-     * {@link BookingRepository#findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-     * Long, LocalDateTime, LocalDateTime, Pageable)}
+     * {@link BookingRepository#findPage(BookingListQuery)}
      */
     @Test
-    void findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                owner.getId(),
-                LocalDateTime.now(),
-                LocalDateTime.now(),
-                page);
+    void findPage_whenOwnerAndCurrent_thenOrderedByStartDesc() {
+        List<BookingAllFieldsDto> actualBookings = bookingRepository.findPage(
+                query(BookingListQuery.Role.OWNER, owner)
+                        .state(BookingState.CURRENT)
+                        .build());
 
-        assertEquals(List.of(bookingCurrent), actualBookings);
+        assertEquals(ids(bookingCurrent), ids(actualBookings));
     }
 
     /**
      * Method under test:
-     * {@link BookingRepository#findByItemOwnerIdAndStatusOrderByStartDesc(Long, BookingStatus, Pageable)}
+     * {@link BookingRepository#findPage(BookingListQuery)}
      */
     @Test
-    void findByItemOwnerIdAndStatusOrderByStartDesc() {
-        List<Booking> actualBookings = bookingRepository
-                .findByItemOwnerIdAndStatusOrderByStartDesc(owner.getId(), BookingStatus.APPROVED, page);
+    void findPage_whenOwnerAndStatus_thenOrderedByStartDesc() {
+        List<BookingAllFieldsDto> actualBookings = bookingRepository.findPage(
+                query(BookingListQuery.Role.OWNER, owner)
+                        .status(BookingStatus.APPROVED)
+                        .build());
 
-        assertEquals(List.of(bookingFuture, bookingCurrent), actualBookings);
+        assertEquals(ids(bookingFuture, bookingCurrent), ids(actualBookings));
+    }
+
+    /**
+     * Method under test:
+     * {@link BookingRepository#findPage(BookingListQuery)}
+     */
+    @Test
+    void findPage_whenPagingWithCursor_thenEachBookingReturnedOnce() {
+        Booking sameStart = bookingRepository.save(new Booking(
+                null,
+                bookingFuture.getStart(),
+                bookingFuture.getEnd().plusDays(1),
+                item,
+                booker,
+                BookingStatus.WAITING));
+
+        List<BookingAllFieldsDto> firstPage = bookingRepository.findPage(query(BookingListQuery.Role.BOOKER, booker)
+                .size(2)
+                .build());
+        List<BookingAllFieldsDto> secondPage = bookingRepository.findPage(query(BookingListQuery.Role.BOOKER, booker)
+                .after(BookingCursor.after(firstPage.get(1)))
+                .size(2)
+                .build());
+
+        assertEquals(ids(sameStart, bookingFuture), ids(firstPage));
+        assertEquals(ids(bookingCurrent, bookingPast), ids(secondPage));
+    }
+
+    /**
+     * Method under test:
+     * {@link BookingRepository#findPage(BookingListQuery)}
+     */
+    @Test
+    void findPage_whenOwnerAndCursor_thenFilteredAfterCursor() {
+        assertEquals(ids(bookingCurrent, bookingPast), ids(bookingRepository.findPage(
+                query(BookingListQuery.Role.OWNER, owner)
+                        .after(cursorAfter(bookingFuture))
+                        .build())));
+        assertEquals(ids(bookingPast), ids(bookingRepository.findPage(query(BookingListQuery.Role.OWNER, owner)
+                .status(BookingStatus.REJECTED)
+                .after(cursorAfter(bookingCurrent))
+                .build())));
+    }
+
+    /**
+     * Method under test:
+     * {@link BookingRepository#findPage(BookingListQuery)}
+     */
+    @Test
+    void findPage_whenProjected_thenDtoHasBookerAndItem() {
+        BookingAllFieldsDto actualBooking = bookingRepository.findPage(query(BookingListQuery.Role.OWNER, owner)
+                .status(BookingStatus.REJECTED)
+                .build()).get(0);
+
+        assertEquals(bookingPast.getId(), actualBooking.getId());
+        assertEquals(bookingPast.getStart(), actualBooking.getStart());
+        assertEquals(bookingPast.getEnd(), actualBooking.getEnd());
+        assertEquals(BookingStatus.REJECTED.name(), actualBooking.getStatus());
+        assertEquals(new UserDto(booker.getId(), "Mike", "mike.doe@example.org"), actualBooking.getBooker());
+        assertEquals(new ItemDto(item.getId(), "Трактор", "Навый трактор", true, request.getId()),
+                actualBooking.getItem());
+    }
+
+    /**
+     * Method under test:
+     * {@link BookingRepositoryCustomImpl#findPage(BookingListQuery)} с shareit-server.booking.jdbc-lists=true
+     */
+    @Test
+    void findPage_whenJdbcLists_thenSameResultAsJpql() {
+        Item withoutRequest = itemRepository.save(Item.builder()
+                .owner(owner).name("Дрель").description("Простая дрель").available(true).build());
+        bookingRepository.save(new Booking(null, bookingFuture.getStart().plusHours(1),
+                bookingFuture.getEnd(), withoutRequest, booker, BookingStatus.WAITING));
+        entityManager.flush();
+        BookingRepositoryCustom jdbcLists = new BookingRepositoryCustomImpl(entityManager, jdbcTemplate, true);
+
+        for (BookingListQuery.Role role : BookingListQuery.Role.values()) {
+            User user = role == BookingListQuery.Role.OWNER ? owner : booker;
+            for (BookingState state : BookingState.values()) {
+                BookingListQuery query = query(role, user).state(state).build();
+                assertEquals(bookingRepository.findPage(query), jdbcLists.findPage(query), role + " " + state);
+            }
+            for (BookingStatus status : BookingStatus.values()) {
+                BookingListQuery query = query(role, user).status(status).build();
+                assertEquals(bookingRepository.findPage(query), jdbcLists.findPage(query), role + " " + status);
+            }
+            assertEquals(4, jdbcLists.findPage(query(role, user).build()).size());
+            BookingListQuery afterFuture = query(role, user).after(cursorAfter(bookingFuture)).build();
+            assertEquals(bookingRepository.findPage(afterFuture), jdbcLists.findPage(afterFuture));
+            BookingListQuery withOffset = query(role, user).offset(1).build();
+            assertEquals(bookingRepository.findPage(withOffset), jdbcLists.findPage(withOffset));
+        }
+    }
+
+    /**
+     * Сущность в памяти хранит время с наносекундами, а база - с точностью до микросекунд.
+     */
+    private static BookingCursor cursorAfter(Booking booking) {
+        return new BookingCursor(booking.getStart().truncatedTo(ChronoUnit.MICROS), booking.getId());
+    }
+
+    /**
+     * Запрос первой страницы без фильтра по состоянию, как при state=ALL.
+     */
+    private BookingListQuery.BookingListQueryBuilder query(BookingListQuery.Role role, User user) {
+        return BookingListQuery.builder()
+                .role(role)
+                .userId(user.getId())
+                .now(now)
+                .size(PAGE_SIZE);
+    }
+
+    private static List<Long> ids(Booking... bookings) {
+        return Arrays.stream(bookings).map(Booking::getId).collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(List<BookingAllFieldsDto> bookings) {
+        return bookings.stream().map(BookingAllFieldsDto::getId).collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
@@ -3,15 +3,20 @@ package ru.practicum.shareit.booking.service;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.availability.AvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
 import ru.practicum.shareit.booking.dto.BookingSavingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingListQuery;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.ElementAlreadyExistsException;
 import ru.practicum.shareit.exceptions.InvalidDataException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -29,6 +34,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -43,6 +50,9 @@ class BookingServiceImplUnitTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
     @Mock
     private UserServiceImpl userService;
 
@@ -130,6 +140,7 @@ class BookingServiceImplUnitTest {
     @Test
     void saveBooking() {
         when(itemService.getItemByIdAllField(anyLong())).thenReturn(item);
+        when(availabilityIndex.isAvailable(any(), any(), any())).thenReturn(true);
         when(userService.getUserById(anyLong())).thenReturn(userDto);
         when(bookingRepository.save(any())).thenReturn(booking);
 
@@ -139,6 +150,35 @@ class BookingServiceImplUnitTest {
 
     }
 
+    /**
+     * Method under test: {@link BookingService#saveBooking(Long, BookingSavingDto)}
+     */
+    @Test
+    void saveBooking_whenRangeIsBooked_thenThrowElementAlreadyExistsExceptionBeforeReserve() {
+        when(itemService.getItemByIdAllField(anyLong())).thenReturn(item);
+        when(userService.getUserById(anyLong())).thenReturn(userDto);
+        when(availabilityIndex.isAvailable(any(), any(), any())).thenReturn(false);
+
+        ElementAlreadyExistsException exception = assertThrows(ElementAlreadyExistsException.class,
+                () -> bookingService.saveBooking(userId, bookingSaving));
+        assertEquals("The item with ID=1 is already booked for the requested time!", exception.getMessage());
+        verify(availabilityIndex, never()).reserve(any());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    /**
+     * Method under test: {@link BookingService#saveBooking(Long, BookingSavingDto)}
+     */
+    @Test
+    void saveBooking_whenUserNotFound_thenThrowNotFoundExceptionBeforeAvailabilityCheck() {
+        when(itemService.getItemByIdAllField(anyLong())).thenReturn(item);
+        when(userService.getUserById(anyLong())).thenThrow(new NotFoundException("User with ID=2 was not found!"));
+
+        assertThrows(NotFoundException.class, () -> bookingService.saveBooking(userId, bookingSaving));
+        verify(availabilityIndex, never()).isAvailable(any(), any(), any());
+        verify(bookingRepository, never()).save(any());
+    }
+
     /**
      * Method under test: {@link BookingService#saveBooking(Long, BookingSavingDto)}
      */
@@ -178,7 +218,7 @@ class BookingServiceImplUnitTest {
     @Test
     void approve() {
         booking.setStatus(BookingStatus.WAITING);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(booking));
         when(bookingRepository.save(any())).thenReturn(booking);
 
         BookingAllFieldsDto actualBooking = bookingService.approve(ownerId, 1L, true);
@@ -192,7 +232,7 @@ class BookingServiceImplUnitTest {
     @Test
     void approve_whenBookingNotFound_thenThrowNotFoundException() {
         String message = "Booking with ID=1 cannot be found";
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> bookingService.approve(ownerId, 1L, true));
@@ -207,7 +247,7 @@ class BookingServiceImplUnitTest {
     void approve_whenInvalidItemOwner_thenThrowNotFoundException() {
         Long wrongUserId = 2L;
         String message = "Only the item owner can approve or reject the rental request.";
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(booking));
 
         NotFoundException exception = assertThrows(NotFoundException.class,
                 () -> bookingService.approve(wrongUserId, 1L, true));
@@ -248,13 +288,16 @@ class BookingServiceImplUnitTest {
      */
     @Test
     void getBookingsByBookerId_whenBookingStateAll_thenReturnBookingByState() {
-        when(bookingRepository.findByBookerIdOrderByStartDesc(anyLong(), any(OffsetPageRequest.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(bookingAllFields));
 
         List<BookingAllFieldsDto> actualBookings = bookingService
                 .getBookingsByBookerId(ownerId, "ALL", new OffsetPageRequest(0, 2));
 
         assertEquals(List.of(bookingAllFields), actualBookings);
+        BookingListQuery query = capturePageQuery();
+        assertEquals(BookingListQuery.Role.BOOKER, query.getRole());
+        assertEquals(BookingState.ALL, query.getState());
+        assertNull(query.getStatus());
     }
 
     /**
@@ -262,17 +305,16 @@ class BookingServiceImplUnitTest {
      */
     @Test
     void getBookingsByBookerId_whenBookingStateFUTURE_thenReturnBookingByState() {
-        when(bookingRepository.findAllByBookerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc(
-                        anyLong(),
-                        any(LocalDateTime.class),
-                        any(LocalDateTime.class),
-                        any(OffsetPageRequest.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(bookingAllFields));
 
         List<BookingAllFieldsDto> actualBookings = bookingService
                 .getBookingsByBookerId(ownerId, "FUTURE", new OffsetPageRequest(0, 2));
 
         assertEquals(List.of(bookingAllFields), actualBookings);
+        BookingListQuery query = capturePageQuery();
+        assertEquals(BookingListQuery.Role.BOOKER, query.getRole());
+        assertEquals(BookingState.FUTURE, query.getState());
+        assertNull(query.getStatus());
     }
 
     /**
@@ -280,17 +322,16 @@ class BookingServiceImplUnitTest {
      */
     @Test
     void getBookingsByBookerId_whenBookingStateCURRENT_thenReturnBookingByState() {
-        when(bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                        anyLong(),
-                        any(LocalDateTime.class),
-                        any(LocalDateTime.class),
-                        any(OffsetPageRequest.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(bookingAllFields));
 
         List<BookingAllFieldsDto> actualBookings = bookingService
                 .getBookingsByBookerId(ownerId, "CURRENT", new OffsetPageRequest(0, 2));
 
         assertEquals(List.of(bookingAllFields), actualBookings);
+        BookingListQuery query = capturePageQuery();
+        assertEquals(BookingListQuery.Role.BOOKER, query.getRole());
+        assertEquals(BookingState.CURRENT, query.getState());
+        assertNull(query.getStatus());
     }
 
     /**
@@ -298,16 +339,16 @@ class BookingServiceImplUnitTest {
      */
     @Test
     void getBookingsByBookerId_whenBookingStatePAST_thenReturnBookingByState() {
-        when(bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(
-                        anyLong(),
-                        any(LocalDateTime.class),
-                        any(OffsetPageRequest.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(bookingAllFields));
 
         List<BookingAllFieldsDto> actualBookings = bookingService
                 .getBookingsByBookerId(ownerId, "PAST", new OffsetPageRequest(0, 2));
 
         assertEquals(List.of(bookingAllFields), actualBookings);
+        BookingListQuery query = capturePageQuery();
+        assertEquals(BookingListQuery.Role.BOOKER, query.getRole());
+        assertEquals(BookingState.PAST, query.getState());
+        assertNull(query.getStatus());
     }
 
     /**
@@ -315,14 +356,16 @@ class BookingServiceImplUnitTest {
      */
     @Test
     void getBookingsByBookerId_whenBookingHasStatus_thenReturnBookingByStatus() {
-        when(bookingRepository
-                .findByBookerIdAndStatusOrderByStartDesc(anyLong(), any(BookingStatus.class), any(OffsetPageRequest.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(bookingAllFields));
 
         List<BookingAllFieldsDto> actualBookings = bookingService
                 .getBookingsByBookerId(ownerId, "APPROVED", new OffsetPageRequest(0, 2));
 
         assertEquals(List.of(bookingAllFields), actualBookings);
+        BookingListQuery query = capturePageQuery();
+        assertEquals(BookingListQuery.Role.BOOKER, query.getRole());
+        assertNull(query.getState());
+        assertEquals(BookingStatus.APPROVED, query.getStatus());
     }
 
     /**
@@ -330,13 +373,16 @@ class BookingServiceImplUnitTest {
      */
     @Test
     void getBookingsByOwner_whenBookingStateALL_thenReturnBookingByState() {
-        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(anyLong(), any(OffsetPageRequest.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(bookingAllFields));
 
         List<BookingAllFieldsDto> actualBooking = bookingService
                 .getBookingsByOwner(ownerId, "ALL", new OffsetPageRequest(0, 2));
 
         assertEquals(List.of(bookingAllFields), actualBooking);
+        BookingListQuery query = capturePageQuery();
+        assertEquals(BookingListQuery.Role.OWNER, query.getRole());
+        assertEquals(BookingState.ALL, query.getState());
+        assertNull(query.getStatus());
     }
 
     /**
@@ -344,18 +390,16 @@ class BookingServiceImplUnitTest {
      */
     @Test
     void getBookingsByOwner_whenBookingStateFUTURE_thenReturnBookingByState() {
-        when(bookingRepository
-                .findByItemOwnerIdAndStartIsAfterAndEndIsAfterOrderByStartDesc(
-                        anyLong(),
-                        any(LocalDateTime.class),
-                        any(LocalDateTime.class),
-                        any(OffsetPageRequest.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(bookingAllFields));
 
         List<BookingAllFieldsDto> actualBooking = bookingService
                 .getBookingsByOwner(ownerId, "FUTURE", new OffsetPageRequest(0, 2));
 
         assertEquals(List.of(bookingAllFields), actualBooking);
+        BookingListQuery query = capturePageQuery();
+        assertEquals(BookingListQuery.Role.OWNER, query.getRole());
+        assertEquals(BookingState.FUTURE, query.getState());
+        assertNull(query.getStatus());
     }
 
     /**
@@ -363,17 +407,16 @@ class BookingServiceImplUnitTest {
      */
     @Test
     void getBookingsByOwner_whenBookingStatePAST_thenReturnBookingByState() {
-        when(bookingRepository
-                .findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(
-                        anyLong(),
-                        any(LocalDateTime.class),
-                        any(OffsetPageRequest.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(bookingAllFields));
 
         List<BookingAllFieldsDto> actualBooking = bookingService
                 .getBookingsByOwner(ownerId, "PAST", new OffsetPageRequest(0, 2));
 
         assertEquals(List.of(bookingAllFields), actualBooking);
+        BookingListQuery query = capturePageQuery();
+        assertEquals(BookingListQuery.Role.OWNER, query.getRole());
+        assertEquals(BookingState.PAST, query.getState());
+        assertNull(query.getStatus());
     }
 
     /**
@@ -381,18 +424,16 @@ class BookingServiceImplUnitTest {
      */
     @Test
     void getBookingsByOwner_whenBookingStateCURRENT_thenReturnBookingByState() {
-        when(bookingRepository
-                .findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(
-                        anyLong(),
-                        any(LocalDateTime.class),
-                        any(LocalDateTime.class),
-                        any(OffsetPageRequest.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(bookingAllFields));
 
         List<BookingAllFieldsDto> actualBooking = bookingService
                 .getBookingsByOwner(ownerId, "CURRENT", new OffsetPageRequest(0, 2));
 
         assertEquals(List.of(bookingAllFields), actualBooking);
+        BookingListQuery query = capturePageQuery();
+        assertEquals(BookingListQuery.Role.OWNER, query.getRole());
+        assertEquals(BookingState.CURRENT, query.getState());
+        assertNull(query.getStatus());
     }
 
     /**
@@ -400,16 +441,36 @@ class BookingServiceImplUnitTest {
      */
     @Test
     void getBookingsByOwner_whenBookingHasStatus_thenReturnBookingByStatus() {
-        when(bookingRepository
-                .findByItemOwnerIdAndStatusOrderByStartDesc(
-                        anyLong(),
-                        any(BookingStatus.class),
-                        any(OffsetPageRequest.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPage(any(BookingListQuery.class))).thenReturn(List.of(bookingAllFields));
 
         List<BookingAllFieldsDto> actualBooking = bookingService
                 .getBookingsByOwner(ownerId, "APPROVED", new OffsetPageRequest(0, 2));
 
         assertEquals(List.of(bookingAllFields), actualBooking);
+        BookingListQuery query = capturePageQuery();
+        assertEquals(BookingListQuery.Role.OWNER, query.getRole());
+        assertNull(query.getState());
+        assertEquals(BookingStatus.APPROVED, query.getStatus());
+    }
+
+    /**
+     * Method under test: {@link BookingService#getBookingsByOwner(Long, String, Pageable)}
+     */
+    @Test
+    void getBookingsByOwner_whenUnknownState_thenThrowInvalidDataException() {
+        InvalidDataException exception = assertThrows(InvalidDataException.class,
+                () -> bookingService.getBookingsByOwner(ownerId, "UNSUPPORTED_STATUS", new OffsetPageRequest(0, 2)));
+
+        assertEquals("Unknown state: UNSUPPORTED_STATUS", exception.getMessage());
+        verify(bookingRepository, never()).findPage(any());
+    }
+
+    private BookingListQuery capturePageQuery() {
+        ArgumentCaptor<BookingListQuery> query = ArgumentCaptor.forClass(BookingListQuery.class);
+        verify(bookingRepository).findPage(query.capture());
+        assertEquals(0, query.getValue().getOffset());
+        assertEquals(2, query.getValue().getSize());
+        assertNotNull(query.getValue().getNow());
+        return query.getValue();
     }
-}
\ No newline at end of file
+}
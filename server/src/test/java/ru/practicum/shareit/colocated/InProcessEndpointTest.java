@@ -0,0 +1,134 @@
+package ru.practicum.shareit.colocated;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class InProcessEndpointTest {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    private InProcessEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new InProcessEndpoint(context);
+    }
+
+    /**
+     * Method under test: {@link InProcessEndpoint#apply}
+     */
+    @Test
+    void apply_whenUserCreated_thenReadByIdAsJson() throws Exception {
+        Map<String, Object> created = endpoint.apply(request(InProcessOperation.CREATE_USER, null,
+                mapper.writeValueAsBytes(new UserDto(null, "User", "in-process-user@mail.com"))));
+        UserDto user = mapper.readValue((byte[]) created.get(InProcessKeys.BODY), UserDto.class);
+
+        Map<String, Object> found = endpoint.apply(request(InProcessOperation.GET_USER_BY_ID, user.getId(), null));
+
+        assertEquals(200, created.get(InProcessKeys.STATUS));
+        assertEquals(200, found.get(InProcessKeys.STATUS));
+        assertEquals(List.of("application/json"), headers(found).get("Content-Type"));
+        assertEquals(user, mapper.readValue((byte[]) found.get(InProcessKeys.BODY), UserDto.class));
+    }
+
+    /**
+     * Method under test: {@link InProcessEndpoint#apply}
+     */
+    @Test
+    void apply_whenUserMissing_thenNotFoundFromErrorHandler() throws Exception {
+        Map<String, Object> response = endpoint.apply(request(InProcessOperation.GET_USER_BY_ID, Long.MAX_VALUE, null));
+
+        assertEquals(404, response.get(InProcessKeys.STATUS));
+        assertTrue(mapper.readTree((byte[]) response.get(InProcessKeys.BODY)).has("error"));
+    }
+
+    /**
+     * Method under test: {@link InProcessEndpoint#apply}
+     */
+    @Test
+    void apply_whenBodyMissing_thenBadRequest() {
+        Map<String, Object> response = endpoint.apply(request(InProcessOperation.CREATE_USER, null, null));
+
+        assertEquals(400, response.get(InProcessKeys.STATUS));
+    }
+
+    /**
+     * Method under test: {@link InProcessEndpoint#apply}
+     */
+    @Test
+    void apply_whenRequiredArgumentMissing_thenErrorNamesArgument() throws Exception {
+        Map<String, Object> request = request(InProcessOperation.APPROVE, 1L, null);
+        request.put(InProcessKeys.BOOKING_ID, 1L);
+
+        Map<String, Object> response = endpoint.apply(request);
+
+        assertEquals(500, response.get(InProcessKeys.STATUS));
+        assertTrue(mapper.readTree((byte[]) response.get(InProcessKeys.BODY)).get("error").asText()
+                .contains(InProcessKeys.APPROVED));
+    }
+
+    /**
+     * Method under test: {@link InProcessEndpoint#apply}
+     */
+    @Test
+    void apply_whenOperationUnknown_thenServerError() {
+        Map<String, Object> request = request(InProcessOperation.GET_ALL_USERS, null, null);
+        request.put(InProcessKeys.OPERATION, "getAllUsers");
+
+        assertEquals(500, endpoint.apply(request).get(InProcessKeys.STATUS));
+    }
+
+    /**
+     * Gateway загружает endpoint по имени из общего контракта.
+     */
+    @Test
+    void endpointClass_whenLoadedByGateway_thenNameMatchesContract() {
+        assertEquals(InProcessKeys.ENDPOINT_CLASS, InProcessEndpoint.class.getName());
+    }
+
+    /**
+     * Method under test: {@link InProcessEndpoint#apply}
+     */
+    @Test
+    void apply_whenUserDeleted_thenOkWithoutBody() throws Exception {
+        Map<String, Object> created = endpoint.apply(request(InProcessOperation.CREATE_USER, null,
+                mapper.writeValueAsBytes(new UserDto(null, "User", "in-process-delete@mail.com"))));
+        UserDto user = mapper.readValue((byte[]) created.get(InProcessKeys.BODY), UserDto.class);
+
+        Map<String, Object> response = endpoint.apply(request(InProcessOperation.DELETE_USER, user.getId(), null));
+
+        assertEquals(200, response.get(InProcessKeys.STATUS));
+        assertNull(response.get(InProcessKeys.BODY));
+    }
+
+    private static Map<String, Object> request(InProcessOperation operation, Long userId, byte[] body) {
+        Map<String, Object> request = new HashMap<>();
+        request.put(InProcessKeys.OPERATION, operation.name());
+        request.put(InProcessKeys.USER_ID, userId);
+        request.put(InProcessKeys.BODY, body);
+        return request;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<String>> headers(Map<String, Object> response) {
+        return (Map<String, List<String>>) response.get(InProcessKeys.HEADERS);
+    }
+}
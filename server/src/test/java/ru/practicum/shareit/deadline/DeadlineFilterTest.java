@@ -0,0 +1,84 @@
+package ru.practicum.shareit.deadline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineFilterTest {
+
+    private final DeadlineFilter filter = new DeadlineFilter(new ObjectMapper());
+
+    /**
+     * Method under test: {@link DeadlineFilter#doFilterInternal}
+     */
+    @Test
+    void doFilter_whenTimeoutHeaderPresent_thenDeadlineIsVisibleInsideChain() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/search");
+        request.addHeader(DeadlineFilter.TIMEOUT_HEADER, "2000");
+        AtomicReference<OptionalLong> remaining = new AtomicReference<>();
+        FilterChain chain = (req, res) -> remaining.set(RequestDeadline.remainingMillis());
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertTrue(remaining.get().isPresent());
+        assertTrue(remaining.get().getAsLong() > 0 && remaining.get().getAsLong() <= 2000);
+        assertFalse(RequestDeadline.remainingMillis().isPresent());
+    }
+
+    /**
+     * Method under test: {@link DeadlineFilter#doFilterInternal}
+     */
+    @Test
+    void doFilter_whenNoTimeoutHeader_thenNoDeadline() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/search");
+        AtomicReference<OptionalLong> remaining = new AtomicReference<>();
+        FilterChain chain = (req, res) -> remaining.set(RequestDeadline.remainingMillis());
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertFalse(remaining.get().isPresent());
+    }
+
+    /**
+     * Method under test: {@link DeadlineFilter#doFilterInternal}
+     */
+    @Test
+    void doFilter_whenDeadlineAlreadyExpired_thenReturnsGatewayTimeout() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/search");
+        request.addHeader(DeadlineFilter.TIMEOUT_HEADER, "0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Boolean> invoked = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> invoked.set(true));
+
+        assertNull(invoked.get());
+        assertEquals(504, response.getStatus());
+        assertEquals("{\"error\":\"Request deadline exceeded.\"}", response.getContentAsString());
+    }
+
+    /**
+     * Method under test: {@link DeadlineFilter#doFilterInternal}
+     */
+    @Test
+    void doFilter_whenHeaderMalformed_thenRequestPassesWithoutDeadline() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/search");
+        request.addHeader(DeadlineFilter.TIMEOUT_HEADER, "soon");
+        AtomicReference<OptionalLong> remaining = new AtomicReference<>();
+
+        FilterChain chain = (req, res) -> remaining.set(RequestDeadline.remainingMillis());
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertFalse(remaining.get().isPresent());
+    }
+}
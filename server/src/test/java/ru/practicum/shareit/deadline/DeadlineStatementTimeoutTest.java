@@ -0,0 +1,140 @@
+package ru.practicum.shareit.deadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Транзакция со сроком запроса на H2 профиля test: диалект Hibernate там PostgreSQL,
+ * но SET LOCAL statement_timeout выполняться не должен.
+ */
+@SpringBootTest
+class DeadlineStatementTimeoutTest {
+
+    private static final List<String> EXECUTED_SQL = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setDeadline() {
+        EXECUTED_SQL.clear();
+        RequestDeadline.set(System.nanoTime() + TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @AfterEach
+    void resetDeadline() {
+        RequestDeadline.set(null);
+    }
+
+    /**
+     * Method under test: {@link DeadlineTransactionManager#doBegin}
+     */
+    @Test
+    void doBegin_whenDatabaseIsNotPostgres_thenNoStatementTimeoutIssued() {
+        assertInstanceOf(DeadlineTransactionManager.class, transactionManager);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> userRepository.count());
+
+        assertTrue(EXECUTED_SQL.stream().anyMatch(sql -> sql.toLowerCase().contains("count")));
+        assertFalse(EXECUTED_SQL.stream().anyMatch(sql -> sql.contains("statement_timeout")), EXECUTED_SQL::toString);
+    }
+
+    /**
+     * Запоминает SQL всех Statement и PreparedStatement, созданных через DataSource приложения.
+     */
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource)) {
+                        return bean;
+                    }
+                    return proxy(DataSource.class, bean, (method, args, call) -> {
+                        Object result = call.proceed();
+                        return result instanceof Connection
+                                ? proxy(Connection.class, result, RecordingDataSourceConfig::recordConnection)
+                                : result;
+                    });
+                }
+            };
+        }
+
+        private static Object recordConnection(Method method, Object[] args, Invocation call) throws Throwable {
+            if (method.getName().startsWith("prepare")) {
+                record(args);
+            }
+            Object result = call.proceed();
+            if (method.getName().equals("createStatement")) {
+                return proxy(Statement.class, result, (statementMethod, statementArgs, statementCall) -> {
+                    if (statementMethod.getName().startsWith("execute")) {
+                        record(statementArgs);
+                    }
+                    return statementCall.proceed();
+                });
+            }
+            return result;
+        }
+
+        /**
+         * SQL запоминается до выполнения: ошибочный запрос тоже должен попасть в список.
+         */
+        private static void record(Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                EXECUTED_SQL.add((String) args[0]);
+            }
+        }
+
+        private static <T> T proxy(Class<T> type, Object target, Interceptor interceptor) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> interceptor.intercept(method, args, () -> {
+                        try {
+                            return method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    })));
+        }
+
+        @FunctionalInterface
+        private interface Interceptor {
+
+            Object intercept(Method method, Object[] args, Invocation call) throws Throwable;
+        }
+
+        @FunctionalInterface
+        private interface Invocation {
+
+            Object proceed() throws Throwable;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.deadline;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeadlineTransactionManagerTest {
+
+    /**
+     * Method under test: {@link DeadlineTransactionManager#timeoutMillis}
+     */
+    @Test
+    void timeoutMillis_whenDefaultTimeout_thenRemainingTimeUsed() {
+        assertEquals(250, DeadlineTransactionManager.timeoutMillis(new DefaultTransactionDefinition(), 250));
+    }
+
+    /**
+     * Method under test: {@link DeadlineTransactionManager#timeoutMillis}
+     */
+    @Test
+    void timeoutMillis_whenDeclaredTimeoutShorter_thenDeclaredTimeoutKept() {
+        DefaultTransactionDefinition declared = new DefaultTransactionDefinition();
+        declared.setTimeout(5);
+
+        assertEquals(5000, DeadlineTransactionManager.timeoutMillis(declared, 30_000));
+    }
+
+    /**
+     * Method under test: {@link DeadlineTransactionManager#timeoutMillis}
+     */
+    @Test
+    void timeoutMillis_whenDeclaredTimeoutLonger_thenRemainingTimeUsed() {
+        DefaultTransactionDefinition declared = new DefaultTransactionDefinition();
+        declared.setTimeout(5);
+
+        assertEquals(1200, DeadlineTransactionManager.timeoutMillis(declared, 1200));
+    }
+
+    /**
+     * Method under test: {@link DeadlineTransactionManager#timeoutMillis}
+     */
+    @Test
+    void timeoutMillis_whenDeadlinePassed_thenThrowsTransactionTimedOutException() {
+        assertThrows(TransactionTimedOutException.class,
+                () -> DeadlineTransactionManager.timeoutMillis(new DefaultTransactionDefinition(), 0));
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ответ с ETag сжимается Tomcat, а один и тот же слабый ETag подходит обоим кодированиям.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EtagCompressionTest {
+
+    private static final int ITEMS = 10;
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Method under test: {@link EtagConfig#etagFilter}
+     */
+    @Test
+    void getItemByUserId_whenGzipAccepted_thenCompressedWithWeakEtag() throws Exception {
+        UserDto owner = rest.postForObject("/users", new UserDto(null, "Owner", "etag-gzip-owner@mail.com"),
+                UserDto.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(owner.getId()));
+        for (int i = 0; i < ITEMS; i++) {
+            rest.postForObject("/items", new HttpEntity<>(new ItemDto(null, "Дрель " + i,
+                    "Аккумуляторная дрель с двумя батареями и кейсом для хранения, номер " + i, true, null),
+                    headers), ItemDto.class);
+        }
+
+        HttpResponse<byte[]> gzip = get(owner.getId(), "gzip", null);
+        HttpResponse<byte[]> identity = get(owner.getId(), "identity", null);
+
+        assertEquals(200, gzip.statusCode());
+        assertEquals("gzip", gzip.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        assertTrue(identity.headers().firstValue(HttpHeaders.CONTENT_ENCODING).isEmpty());
+        String etag = gzip.headers().firstValue(HttpHeaders.ETAG).orElse(null);
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/\""), "ETag must be weak");
+        assertEquals(etag, identity.headers().firstValue(HttpHeaders.ETAG).orElse(null));
+        assertEquals(304, get(owner.getId(), "identity", etag).statusCode());
+    }
+
+    private HttpResponse<byte[]> get(Long userId, String acceptEncoding, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items"))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
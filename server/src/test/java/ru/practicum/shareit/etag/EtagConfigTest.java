@@ -0,0 +1,120 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BookingController.class)
+@Import(EtagConfig.class)
+class EtagConfigTest {
+
+    @MockBean
+    private BookingService bookingService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final String headerShareUserId = "X-Sharer-User-Id";
+
+    private final BookingAllFieldsDto booking = new BookingAllFieldsDto(
+            1L,
+            LocalDateTime.of(2030, 1, 1, 10, 0),
+            LocalDateTime.of(2030, 1, 2, 10, 0),
+            "WAITING",
+            new UserDto(2L, "Mike", "mike@mail.com"),
+            new ItemDto(1L, "Дрель", "Аккумуляторная дрель", true, null));
+
+    /**
+     * Method under test: {@link BookingController#getBookingById}
+     */
+    @Test
+    void getBookingById_whenIfNoneMatchEqualsVersionEtag_thenNotModifiedWithoutLoadingBooking() throws Exception {
+        when(bookingService.getBookingEtag(1L, 1L)).thenReturn(Optional.of(VersionEtag.of("0.0.0")));
+        when(bookingService.getBookingById(1L, 1L)).thenReturn(booking);
+
+        String etag = mvc.perform(get("/bookings/1").header(headerShareUserId, 1L))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        assertEquals(VersionEtag.of("0.0.0"), etag);
+        assertTrue(etag.startsWith("W/\""), "ETag must be weak");
+
+        String body = mvc.perform(get("/bookings/1")
+                        .header(headerShareUserId, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals("", body);
+        verify(bookingService, times(1)).getBookingById(1L, 1L);
+    }
+
+    /**
+     * Method under test: {@link BookingController#getBookingById}
+     */
+    @Test
+    void getBookingById_whenVersionChanged_thenReturnsNewEtag() throws Exception {
+        when(bookingService.getBookingEtag(1L, 1L)).thenReturn(Optional.of(VersionEtag.of("1.0.0")));
+        when(bookingService.getBookingById(1L, 1L)).thenReturn(booking);
+
+        String newEtag = mvc.perform(get("/bookings/1")
+                        .header(headerShareUserId, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, VersionEtag.of("0.0.0")))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        assertEquals(VersionEtag.of("1.0.0"), newEtag);
+    }
+
+    /**
+     * Method under test: {@link EtagConfig#etagFilter}
+     */
+    @Test
+    void getBookingsByBooker_whenIfNoneMatchEqualsBodyEtag_thenReturnsNotModified() throws Exception {
+        when(bookingService.getBookingsByBookerId(any(), any(), any(Pageable.class))).thenReturn(List.of(booking));
+
+        String etag = mvc.perform(get("/bookings").header(headerShareUserId, 2L).param("state", "ALL"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        assertNotNull(etag);
+        assertTrue(etag.startsWith("W/\""), "ETag must be weak");
+        mvc.perform(get("/bookings")
+                        .header(headerShareUserId, 2L)
+                        .param("state", "ALL")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+}
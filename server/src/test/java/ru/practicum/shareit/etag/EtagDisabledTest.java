@@ -0,0 +1,57 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BookingController.class, properties = "shareit-server.etag.enabled=false")
+class EtagDisabledTest {
+
+    @MockBean
+    private BookingService bookingService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final BookingAllFieldsDto booking = new BookingAllFieldsDto(
+            1L,
+            LocalDateTime.of(2030, 1, 1, 10, 0),
+            LocalDateTime.of(2030, 1, 2, 10, 0),
+            "WAITING",
+            new UserDto(2L, "Mike", "mike@mail.com"),
+            new ItemDto(1L, "Дрель", "Аккумуляторная дрель", true, null));
+
+    /**
+     * Method under test: {@link BookingController#getBookingById}
+     */
+    @Test
+    void getBookingById_whenEtagDisabled_thenNoVersionQueryAndNoEtag() throws Exception {
+        when(bookingService.getBookingById(1L, 1L)).thenReturn(booking);
+
+        mvc.perform(get("/bookings/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, VersionEtag.of("0.0.0")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+
+        verify(bookingService, never()).getBookingEtag(any(), any());
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.booking.dto.BookingSavingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag по версиям строк на настоящей схеме: запросы версий выполняются на H2, а ETag меняется
+ * вместе с каждой частью представления.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class VersionEtagTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private UserDto owner;
+
+    private UserDto booker;
+
+    private ItemDto item;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser("owner");
+        booker = createUser("booker");
+        item = itemService.addNewItem(owner.getId(), new ItemDto(null, "Дрель", "Простая дрель", true, null));
+        start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * Method under test: {@link BookingController#getBookingById}
+     */
+    @Test
+    void getBookingById_whenBookingOrBookerChanged_thenEtagChanges() throws Exception {
+        BookingAllFieldsDto booking = bookingService.saveBooking(booker.getId(),
+                new BookingSavingDto(null, start, start.plusDays(1), item.getId(), null, null));
+        String path = "/bookings/" + booking.getId();
+
+        String etag = etag(path, booker.getId(), null, status().isOk());
+        assertEquals(etag, etag(path, owner.getId(), null, status().isOk()));
+        etag(path, booker.getId(), etag, status().isNotModified());
+
+        bookingService.approve(owner.getId(), booking.getId(), true);
+        String approved = etag(path, booker.getId(), etag, status().isOk());
+        assertNotEquals(etag, approved);
+
+        userService.updateUser(new UserDto(null, "renamed", null), booker.getId());
+        assertNotEquals(approved, etag(path, booker.getId(), approved, status().isOk()));
+    }
+
+    /**
+     * Method under test: {@link BookingController#getBookingById}
+     */
+    @Test
+    void getBookingById_whenUserIsNeitherBookerNorOwner_thenNotFoundDespiteMatchingEtag() throws Exception {
+        BookingAllFieldsDto booking = bookingService.saveBooking(booker.getId(),
+                new BookingSavingDto(null, start, start.plusDays(1), item.getId(), null, null));
+        String path = "/bookings/" + booking.getId();
+        String etag = etag(path, booker.getId(), null, status().isOk());
+
+        mvc.perform(get(path)
+                        .header("X-Sharer-User-Id", createUser("stranger").getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Method under test: {@link ItemController#getItemById}
+     */
+    @Test
+    void getItemById_whenItemBooked_thenOnlyOwnerEtagChanges() throws Exception {
+        String path = "/items/" + item.getId();
+        String ownerEtag = etag(path, owner.getId(), null, status().isOk());
+        String guestEtag = etag(path, booker.getId(), null, status().isOk());
+        assertNotEquals(ownerEtag, guestEtag);
+
+        bookingService.saveBooking(booker.getId(),
+                new BookingSavingDto(null, start, start.plusDays(1), item.getId(), null, null));
+
+        assertNotEquals(ownerEtag, etag(path, owner.getId(), ownerEtag, status().isOk()));
+        etag(path, booker.getId(), guestEtag, status().isNotModified());
+
+        itemService.updateItem(owner.getId(), item.getId(), new ItemDto(null, null, "Дрель с кейсом", null, null));
+        assertNotEquals(guestEtag, etag(path, booker.getId(), guestEtag, status().isOk()));
+    }
+
+    /**
+     * Method under test: {@link ItemRequestController#getAllItemRequests}
+     */
+    @Test
+    void getAllItemRequests_whenRequestAnswered_thenEtagChanges() throws Exception {
+        ItemRequestDto request = itemRequestService.createItemRequest(booker.getId(),
+                new ItemRequestDto(null, "Нужна дрель", null, null));
+        String etag = etag("/requests/all", owner.getId(), null, status().isOk());
+        etag("/requests/all", owner.getId(), etag, status().isNotModified());
+
+        itemService.addNewItem(owner.getId(), new ItemDto(null, "Дрель", "Ударная дрель", true, request.getId()));
+
+        assertNotEquals(etag, etag("/requests/all", owner.getId(), etag, status().isOk()));
+    }
+
+    private String etag(String path, Long userId, String ifNoneMatch, ResultMatcher expectedStatus) throws Exception {
+        MockHttpServletRequestBuilder request = get(path).header("X-Sharer-User-Id", userId);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        String etag = mvc.perform(request)
+                .andExpect(expectedStatus)
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private UserDto createUser(String name) {
+        return userService.createUser(new UserDto(null, name, UUID.randomUUID() + "@mail.com"));
+    }
+}
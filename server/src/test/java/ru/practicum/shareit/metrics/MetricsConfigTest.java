@@ -0,0 +1,98 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMetrics
+class MetricsConfigTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Method under test: {@link MetricsConfig#timedAspect}
+     */
+    @Test
+    void getBookingsByOwner_whenCalled_thenServiceAndRouteAreTimedByState() throws InterruptedException {
+        UserDto owner = rest.postForObject("/users", new UserDto(null, "Owner", "metrics-owner@mail.com"),
+                UserDto.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(owner.getId()));
+
+        ResponseEntity<String> response = rest.exchange("/bookings/owner?state=FUTURE", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Timer service = meterRegistry.find("shareit.service")
+                .tag("class", BookingServiceImpl.class.getName())
+                .tag("method", "getBookingsByOwner")
+                .tag(StateTag.NAME, "FUTURE")
+                .timer();
+        assertNotNull(service);
+        assertEquals(1, service.count());
+        assertNotNull(awaitRouteTimer("/bookings/owner", "FUTURE"));
+        assertNotNull(meterRegistry.find("shareit.service")
+                .tag("method", "createUser")
+                .tag(StateTag.NAME, StateTag.NONE)
+                .timer());
+    }
+
+    /**
+     * Method under test: {@link StateTag#of(String)}
+     */
+    @Test
+    void stateTag_whenValueIsNotAState_thenUnknown() {
+        assertEquals("WAITING", StateTag.of("WAITING"));
+        assertEquals("UNKNOWN", StateTag.of("DROP TABLE"));
+        assertEquals(StateTag.NONE, StateTag.of(null));
+    }
+
+    @Test
+    void prometheus_whenScraped_thenExposesHistogramBuckets() throws InterruptedException {
+        rest.getForObject("/users", String.class);
+        assertNotNull(awaitRouteTimer("/users", StateTag.NONE));
+
+        String scrape = rest.getForObject("/actuator/prometheus", String.class);
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(scrape.contains("shareit_service_seconds_bucket{"));
+        assertTrue(scrape.contains("application=\"shareit-server\""));
+    }
+
+    /**
+     * Таймер запроса записывается после того, как ответ уже отдан клиенту.
+     */
+    private Timer awaitRouteTimer(String uri, String state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Timer timer = null;
+        while (timer == null && System.nanoTime() < deadline) {
+            timer = meterRegistry.find("http.server.requests").tag("uri", uri).tag(StateTag.NAME, state).timer();
+            if (timer == null) {
+                Thread.sleep(20);
+            }
+        }
+        return timer;
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.wire;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingAllFieldsDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAllFieldsDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Типичные страницы ответов сервера и замер CPU для бенчмарков внутреннего участка gateway → server.
+ */
+final class BenchmarkPages {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+
+    private static final int MEASURED_ITERATIONS = 50_000;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private BenchmarkPages() {
+    }
+
+    /**
+     * ObjectMapper с настройками сервера (даты строками) для формата фабрики, null - JSON.
+     */
+    static ObjectMapper mapper(JsonFactory factory) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (factory != null) {
+            builder.factory(factory);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Среднее процессорное время текущего потока на один вызов, в микросекундах.
+     */
+    static double cpuMicros(Call call) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.run();
+        }
+        long start = THREADS.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            call.run();
+        }
+        return (THREADS.getCurrentThreadCpuTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+    }
+
+    static List<BookingAllFieldsDto> bookingsPage(int size) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(i -> new BookingAllFieldsDto(
+                        (long) i,
+                        start.plusDays(i),
+                        start.plusDays(i + 1),
+                        i % 3 == 0 ? "WAITING" : "APPROVED",
+                        new UserDto((long) i + 100, "Booker " + i, "booker" + i + "@mail.com"),
+                        new ItemDto((long) i, "Дрель " + i, "Аккумуляторная дрель, два аккумулятора", true, null)))
+                .collect(Collectors.toList());
+    }
+
+    static List<ItemAllFieldsDto> itemsPage(int size) {
+        LocalDateTime created = LocalDateTime.of(2029, 12, 1, 12, 30);
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(i -> new ItemAllFieldsDto(
+                        (long) i,
+                        "Дрель " + i,
+                        "Аккумуляторная дрель, два аккумулятора",
+                        true,
+                        new ItemAllFieldsDto.BookingDto((long) i * 2, (long) i + 100),
+                        new ItemAllFieldsDto.BookingDto((long) i * 2 + 1, (long) i + 101),
+                        List.of(new CommentDto((long) i, "Отличная дрель, рекомендую", "Booker " + i,
+                                created.plusHours(i)))))
+                .collect(Collectors.toList());
+    }
+
+    static List<ItemRequestDto> requestsPage(int size) {
+        LocalDateTime created = LocalDateTime.of(2029, 12, 1, 12, 30);
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(i -> new ItemRequestDto(
+                        (long) i,
+                        "Нужна дрель на выходные, желательно с набором сверл",
+                        created.plusMinutes(i),
+                        List.of(new ItemDto((long) i, "Дрель " + i, "Аккумуляторная дрель", true, (long) i),
+                                new ItemDto((long) i + 1000, "Перфоратор " + i, "Перфоратор SDS+", true, (long) i))))
+                .collect(Collectors.toList());
+    }
+
+    @FunctionalInterface
+    interface Call {
+
+        void run() throws IOException;
+    }
+}
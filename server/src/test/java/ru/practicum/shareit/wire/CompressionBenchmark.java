@@ -0,0 +1,78 @@
+package ru.practicum.shareit.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сжатие gzip JSON-страниц GET /bookings/owner, GET /items и GET /requests/all: сколько байт экономится
+ * и сколько CPU стоит сжатие на сервере (Tomcat, уровень 6 по умолчанию) и распаковка.
+ * Gateway пересылает сжатое тело клиенту как есть и распаковывает только для клиентов без gzip.
+ * Запуск: mvn -P benchmark test -pl server -Dtest=CompressionBenchmark
+ */
+@Tag("benchmark")
+class CompressionBenchmark {
+
+    @Test
+    void compareGzipLevels() throws IOException {
+        ObjectMapper json = BenchmarkPages.mapper(null);
+        List<String> rows = new ArrayList<>();
+        for (int size : new int[]{10, 100}) {
+            rows.addAll(measure("/bookings/owner size=" + size, json.writeValueAsBytes(BenchmarkPages.bookingsPage(size))));
+            rows.addAll(measure("/items size=" + size, json.writeValueAsBytes(BenchmarkPages.itemsPage(size))));
+            rows.addAll(measure("/requests/all size=" + size, json.writeValueAsBytes(BenchmarkPages.requestsPage(size))));
+        }
+        System.out.printf("%-24s %-6s %8s %8s %7s %14s %14s%n",
+                "page", "level", "json", "gzip", "saved", "deflate us/op", "inflate us/op");
+        rows.forEach(System.out::println);
+    }
+
+    private List<String> measure(String page, byte[] body) throws IOException {
+        List<String> rows = new ArrayList<>();
+        for (int level : new int[]{Deflater.BEST_SPEED, Deflater.DEFAULT_COMPRESSION}) {
+            byte[] compressed = gzip(body, level);
+            assertTrue(compressed.length < body.length, "gzip must shrink " + page);
+            double deflate = BenchmarkPages.cpuMicros(() -> gzip(body, level));
+            double inflate = BenchmarkPages.cpuMicros(() -> gunzip(compressed));
+            rows.add(String.format("%-24s %-6s %8d %8d %6.0f%% %14.2f %14.2f",
+                    page, level == Deflater.BEST_SPEED ? "1" : "6", body.length, compressed.length,
+                    100.0 * (body.length - compressed.length) / body.length, deflate, inflate));
+        }
+        return rows;
+    }
+
+    private static byte[] gzip(byte[] body, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new LevelGzipOutputStream(out, level)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return StreamUtils.copyToByteArray(in);
+        }
+    }
+
+    private static class LevelGzipOutputStream extends GZIPOutputStream {
+
+        LevelGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.wire;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Сравнение JSON, CBOR и Smile на внутреннем участке gateway → server для страниц
+ * GET /bookings/owner и GET /items (по 10 и 100 элементов): байты ответа, CPU сервера на сериализацию
+ * и CPU gateway на перекодирование в JSON для внешнего клиента (для JSON gateway отдает байты как есть).
+ * Запуск: mvn -P benchmark test -pl server -Dtest=WireFormatBenchmark
+ */
+@Tag("benchmark")
+class WireFormatBenchmark {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    void compareWireFormats() throws IOException {
+        List<String> rows = new ArrayList<>();
+        for (int size : new int[]{10, 100}) {
+            rows.addAll(measure("/bookings/owner size=" + size, BenchmarkPages.bookingsPage(size)));
+            rows.addAll(measure("/items size=" + size, BenchmarkPages.itemsPage(size)));
+        }
+        System.out.printf("%-24s %-6s %8s %14s %16s %12s%n",
+                "page", "format", "bytes", "server us/op", "gateway us/op", "total us/op");
+        rows.forEach(System.out::println);
+    }
+
+    private List<String> measure(String page, Object body) throws IOException {
+        ObjectMapper json = BenchmarkPages.mapper(null);
+        byte[] jsonBytes = json.writeValueAsBytes(body);
+        List<String> rows = new ArrayList<>();
+        double jsonServer = BenchmarkPages.cpuMicros(() -> json.writeValueAsBytes(body));
+        rows.add(row(page, "json", jsonBytes.length, jsonServer, 0));
+
+        for (JsonFactory factory : List.of(new CBORFactory(), new SmileFactory())) {
+            ObjectMapper binary = BenchmarkPages.mapper(factory);
+            byte[] binaryBytes = binary.writeValueAsBytes(body);
+            assertTrue(binaryBytes.length < jsonBytes.length, factory.getFormatName() + " must be smaller than JSON");
+            double server = BenchmarkPages.cpuMicros(() -> binary.writeValueAsBytes(body));
+            double gateway = BenchmarkPages.cpuMicros(() -> transcode(binaryBytes, factory));
+            rows.add(row(page, factory.getFormatName().toLowerCase(), binaryBytes.length, server, gateway));
+        }
+        return rows;
+    }
+
+    private static String row(String page, String format, int bytes, double server, double gateway) {
+        return String.format("%-24s %-6s %8d %14.2f %16.2f %12.2f", page, format, bytes, server, gateway,
+                server + gateway);
+    }
+
+    /**
+     * То же перекодирование потоком токенов, что выполняет gateway для двоичного ответа.
+     */
+    private byte[] transcode(byte[] source, JsonFactory from) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(source.length * 2);
+        try (JsonParser parser = from.createParser(source);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = UserController.class)
+@Import(WireFormatConfig.class)
+class WireFormatConfigTest {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    @MockBean
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    private final UserDto user = new UserDto(1L, "Mike", "mike@mail.com");
+
+    /**
+     * Method under test: {@link UserController#getUserById(Long)}
+     */
+    @Test
+    void getUserById_whenAcceptCbor_thenReturnsCbor() throws Exception {
+        when(userService.getUserById(1L)).thenReturn(user);
+
+        MockHttpServletResponse response = mvc.perform(get("/users/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, response.getContentType());
+        ObjectMapper cborMapper = objectMapperBuilder.factory(new CBORFactory()).build();
+        assertEquals(user, cborMapper.readValue(response.getContentAsByteArray(), UserDto.class));
+    }
+
+    /**
+     * Method under test: {@link UserController#creatUser(UserDto)}
+     */
+    @Test
+    void createUser_whenBodyIsSmile_thenReadsItAndAnswersSmile() throws Exception {
+        ObjectMapper smileMapper = objectMapperBuilder.factory(new SmileFactory()).build();
+        UserDto newUser = new UserDto(null, "Mike", "mike@mail.com");
+        when(userService.createUser(newUser)).thenReturn(user);
+
+        MockHttpServletResponse response = mvc.perform(post("/users")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(newUser)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertEquals(SMILE.toString(), response.getContentType());
+        assertEquals(user, smileMapper.readValue(response.getContentAsByteArray(), UserDto.class));
+    }
+
+    /**
+     * Method under test: {@link UserController#getUserById(Long)}
+     */
+    @Test
+    void getUserById_whenNoAccept_thenReturnsJson() throws Exception {
+        when(userService.getUserById(1L)).thenReturn(user);
+
+        MockHttpServletResponse response = mvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+        assertEquals(user, mapper.readValue(response.getContentAsString(), UserDto.class));
+    }
+}